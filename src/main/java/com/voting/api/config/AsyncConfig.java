@@ -0,0 +1,45 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${ai.executor.core-size:4}")
+    private int corePoolSize;
+    
+    @Value("${ai.executor.max-size:16}")
+    private int maxPoolSize;
+    
+    @Value("${ai.executor.queue-capacity:500}")
+    private int queueCapacity;
+    
+    /**
+     * Executor for AI work that must not run on request threads
+     * (background enhancement, concurrent provider calls). A saturated pool rejects new
+     * work rather than running it on the submitting thread; submitters handle the rejection.
+     */
+    @Bean(name = "aiTaskExecutor")
+    public ThreadPoolTaskExecutor aiTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-task-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
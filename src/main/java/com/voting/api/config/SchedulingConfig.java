@@ -0,0 +1,12 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
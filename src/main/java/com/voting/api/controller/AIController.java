@@ -4,24 +4,59 @@
 package com.voting.api.controller;
 
 import com.voting.api.dto.ApiResponse;
+import com.voting.application.usecase.GetInstantVoteInsightsUseCase;
 import com.voting.application.usecase.GetVoteInsightsUseCase;
-import lombok.RequiredArgsConstructor;
+import com.voting.application.usecase.StreamVoteInsightsUseCase;
+import com.voting.domain.valueobject.VoteInsights;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ai")
-@RequiredArgsConstructor
+@AllArgsConstructor
 @CrossOrigin(origins = "*")
+@Slf4j
 public class AIController {
     
+    private static final long STREAM_TIMEOUT_MILLIS = 60_000L;
+    
 	@Autowired
     private GetVoteInsightsUseCase getVoteInsightsUseCase;
+	@Autowired
+    private StreamVoteInsightsUseCase streamVoteInsightsUseCase;
+	@Autowired
+    private GetInstantVoteInsightsUseCase getInstantVoteInsightsUseCase;
     
+    /**
+     * Tally statistics computed locally, returned without waiting on a provider. The AI
+     * narrative is attached once it is ready; until then its status is PENDING.
+     */
     @GetMapping("/insights/{voteId}")
-    public ResponseEntity<ApiResponse<String>> getVoteInsights(@PathVariable Long voteId) {
+    public ResponseEntity<ApiResponse<VoteInsights>> getVoteInsights(@PathVariable Long voteId,
+                                                                     @RequestParam(defaultValue = "true") boolean narrate) {
+        try {
+            VoteInsights insights = getInstantVoteInsightsUseCase.execute(voteId, narrate);
+            return ResponseEntity.ok(ApiResponse.success("Vote insights computed", insights));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * The AI narrative on demand; waits for the provider.
+     */
+    @GetMapping("/insights/{voteId}/narrative")
+    public ResponseEntity<ApiResponse<String>> getVoteNarrative(@PathVariable Long voteId) {
         try {
             String insights = getVoteInsightsUseCase.execute(voteId);
             return ResponseEntity.ok(ApiResponse.success("AI insights generated", insights));
@@ -29,4 +64,52 @@ public class AIController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    /**
+     * Relays validated insight text as "token" events while the provider generates it,
+     * then ends with "done", "aborted" (security validation stopped the stream) or "error".
+     */
+    @GetMapping(value = "/insights/{voteId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamVoteInsights(@PathVariable Long voteId) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        
+        CompletableFuture<String> stream;
+        try {
+            stream = streamVoteInsightsUseCase.execute(voteId, chunk -> send(emitter, "token", chunk));
+        } catch (Exception e) {
+            finish(emitter, "error", e.getMessage());
+            return emitter;
+        }
+        
+        stream.whenComplete((insights, error) -> {
+            if (error == null) {
+                finish(emitter, "done", "");
+            } else if (error instanceof SecurityException) {
+                finish(emitter, "aborted", error.getMessage());
+            } else if (!stream.isCancelled()) {
+                finish(emitter, "error", error.getMessage());
+            }
+        });
+        // A client that goes away stops the provider stream
+        emitter.onTimeout(() -> stream.cancel(true));
+        emitter.onError(e -> stream.cancel(true));
+        return emitter;
+    }
+    
+    private static void send(SseEmitter emitter, String event, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static void finish(SseEmitter emitter, String event, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data != null ? data : ""));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Insights stream client already gone: {}", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,310 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the OpenAI and xAI chat-completion endpoints, active only with the
+ * "ai-stub" profile. Point a provider at {@code /ai-stub/{provider}/} and it answers in
+ * the same wire format, after a log-normally distributed delay, with injected 5xx errors
+ * and 429 rate limits, and token by token when the request asks for a stream.
+ * Settings are read from {@code ai.stub.<provider>.*} with {@code ai.stub.*} as fallback.
+ */
+@RestController
+@RequestMapping("/ai-stub/{provider}/v1")
+@Profile("ai-stub")
+@Slf4j
+public class AIStubController {
+
+    private static final Pattern POLL_LINE = Pattern.compile("(?m)^Poll (\\d+): (.*)$");
+
+	@Autowired
+    private Environment environment;
+	@Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, StubSettings> settings = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "ai-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Random random;
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @PostMapping(value = "/chat/completions", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Object chatCompletions(@PathVariable String provider, @RequestBody ChatRequest request) {
+        StubSettings stub = settings.computeIfAbsent(provider, this::loadSettings);
+        Random random = random();
+
+        double roll = random.nextDouble();
+        long latencyMillis = stub.sampleLatencyMillis(random);
+        String content = answer(request);
+
+        if (request.isStream()) {
+            return stream(stub, request, roll, latencyMillis, content);
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        scheduler.schedule(() -> response.complete(respond(stub, request, roll, content)),
+                latencyMillis, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    private ResponseEntity<Object> respond(StubSettings stub, ChatRequest request, double roll, String content) {
+        ResponseEntity<Object> failure = injectedFailure(stub, roll);
+        if (failure != null) {
+            return failure;
+        }
+
+        List<String> tokens = tokens(content, request.getMaxTokens());
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", String.join("", tokens));
+
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", finishReason(content, tokens));
+
+        Map<String, Object> usage = new LinkedHashMap<>();
+        int promptTokens = promptTokens(request);
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", tokens.size());
+        usage.put("total_tokens", promptTokens + tokens.size());
+
+        Map<String, Object> body = completion(request, "chat.completion");
+        body.put("choices", List.of(choice));
+        body.put("usage", usage);
+        return ResponseEntity.ok(body);
+    }
+
+    private Object stream(StubSettings stub, ChatRequest request, double roll, long latencyMillis, String content) {
+        // Failures are decided before the first token, as real providers reject streams up front
+        ResponseEntity<Object> failure = injectedFailure(stub, roll);
+        if (failure != null) {
+            CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+            scheduler.schedule(() -> response.complete(failure), latencyMillis, TimeUnit.MILLISECONDS);
+            return response;
+        }
+
+        List<String> tokens = tokens(content, request.getMaxTokens());
+        SseEmitter emitter = new SseEmitter(latencyMillis + stub.tokenInterval().toMillis() * (tokens.size() + 1) + 5_000L);
+        String finishReason = finishReason(content, tokens);
+        scheduler.schedule(() -> emitToken(emitter, request, tokens, 0, finishReason, stub.tokenInterval()),
+                latencyMillis, TimeUnit.MILLISECONDS);
+        return emitter;
+    }
+
+    private void emitToken(SseEmitter emitter, ChatRequest request, List<String> tokens, int index,
+                           String finishReason, Duration tokenInterval) {
+        try {
+            if (index < tokens.size()) {
+                emitter.send(SseEmitter.event().data(chunk(request, Map.of("content", tokens.get(index)), null)));
+                scheduler.schedule(() -> emitToken(emitter, request, tokens, index + 1, finishReason, tokenInterval),
+                        tokenInterval.toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                emitter.send(SseEmitter.event().data(chunk(request, Map.of(), finishReason)));
+                emitter.send(SseEmitter.event().data("[DONE]"));
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("AI stub stream client went away: {}", e.getMessage());
+        }
+    }
+
+    private String chunk(ChatRequest request, Map<String, Object> delta, String finishReason) throws JsonProcessingException {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+
+        Map<String, Object> body = completion(request, "chat.completion.chunk");
+        body.put("choices", List.of(choice));
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private static ResponseEntity<Object> injectedFailure(StubSettings stub, double roll) {
+        if (roll < stub.rateLimitRate()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(stub.retryAfter().toSeconds()))
+                    .body(error("Rate limit reached (injected by AI stub)", "rate_limit_exceeded"));
+        }
+        if (roll < stub.rateLimitRate() + stub.errorRate()) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(error("The server had an error (injected by AI stub)", "server_error"));
+        }
+        return null;
+    }
+
+    private static Map<String, Object> error(String message, String type) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("type", type);
+        error.put("code", type);
+        return Map.of("error", error);
+    }
+
+    private static Map<String, Object> completion(ChatRequest request, String object) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "chatcmpl-stub-" + UUID.randomUUID());
+        body.put("object", object);
+        body.put("created", System.currentTimeMillis() / 1000);
+        body.put("model", request.getModel());
+        return body;
+    }
+
+    /**
+     * Deterministic answer for the prompt. Batch prompts listing "Poll &lt;id&gt;: &lt;title&gt;"
+     * lines get one "### Poll &lt;id&gt;" section per poll so they parse like a real answer.
+     */
+    static String answer(ChatRequest request) {
+        String prompt = request.lastUserMessage();
+        Matcher matcher = POLL_LINE.matcher(prompt);
+        List<String> sections = new ArrayList<>();
+        while (matcher.find()) {
+            sections.add("### Poll " + matcher.group(1) + "\nVoters of \"" + matcher.group(2).trim()
+                    + "\" showed a clear preference with steady participation throughout the poll.\n");
+        }
+        if (sections.size() > 1 || prompt.contains("### Poll")) {
+            return String.join("\n", sections);
+        }
+        return "The results show a clear leading option with healthy participation. "
+                + "The remaining options split the rest of the vote evenly, which suggests "
+                + "a broad consensus rather than a polarised electorate.";
+    }
+
+    /**
+     * Splits text into word-sized tokens, keeping whitespace attached so that the
+     * concatenated stream equals the non-streamed content.
+     */
+    static List<String> tokens(String content, Integer maxTokens) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = Pattern.compile("\\s*\\S+").matcher(content);
+        int limit = maxTokens != null && maxTokens > 0 ? maxTokens : Integer.MAX_VALUE;
+        while (matcher.find() && tokens.size() < limit) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private static String finishReason(String content, List<String> tokens) {
+        return String.join("", tokens).length() < content.trim().length() ? "length" : "stop";
+    }
+
+    private static int promptTokens(ChatRequest request) {
+        return request.getMessages() == null ? 0 : request.getMessages().stream()
+                .mapToInt(message -> message.getContent() == null ? 0 : (message.getContent().length() + 3) / 4)
+                .sum();
+    }
+
+    private Random random() {
+        Random current = random;
+        if (current == null) {
+            synchronized (this) {
+                if (random == null) {
+                    Long seed = environment.getProperty("ai.stub.seed", Long.class);
+                    random = seed != null ? new Random(seed) : new Random();
+                }
+                current = random;
+            }
+        }
+        return current;
+    }
+
+    private StubSettings loadSettings(String provider) {
+        StubSettings stub = new StubSettings(
+                DurationStyle.detectAndParse(property(provider, "latency.median", "400ms")),
+                Double.parseDouble(property(provider, "latency.sigma", "0.5")),
+                DurationStyle.detectAndParse(property(provider, "latency.max", "30s")),
+                DurationStyle.detectAndParse(property(provider, "token-interval", "20ms")),
+                Double.parseDouble(property(provider, "error-rate", "0")),
+                Double.parseDouble(property(provider, "rate-limit-rate", "0")),
+                DurationStyle.detectAndParse(property(provider, "retry-after", "1s")));
+        log.info("AI stub for '{}': {}", provider, stub);
+        return stub;
+    }
+
+    private String property(String provider, String name, String defaultValue) {
+        String value = environment.getProperty("ai.stub." + provider + "." + name);
+        return value != null ? value : environment.getProperty("ai.stub." + name, defaultValue);
+    }
+
+    record StubSettings(Duration latencyMedian, double latencySigma, Duration latencyMax, Duration tokenInterval,
+                        double errorRate, double rateLimitRate, Duration retryAfter) {
+
+        /**
+         * Log-normal around the median: most calls are close to it, a few are much slower,
+         * which is the tail that hedging and deadlines have to cope with.
+         */
+        long sampleLatencyMillis(Random random) {
+            double millis = latencyMedian.toMillis() * Math.exp(latencySigma * random.nextGaussian());
+            return Math.min((long) millis, latencyMax.toMillis());
+        }
+    }
+
+    @Data
+    public static class ChatRequest {
+        private String model;
+        private List<Message> messages;
+        @JsonProperty("max_tokens")
+        private Integer maxTokens;
+        private Double temperature;
+        private boolean stream;
+
+        String lastUserMessage() {
+            if (messages == null) {
+                return "";
+            }
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                if ("user".equals(messages.get(i).getRole()) && messages.get(i).getContent() != null) {
+                    return messages.get(i).getContent();
+                }
+            }
+            return "";
+        }
+    }
+
+    @Data
+    public static class Message {
+        private String role;
+        private String content;
+    }
+}
@@ -7,7 +7,7 @@ import com.voting.api.dto.ApiResponse;
 import com.voting.api.dto.VoteRequest;
 import com.voting.application.service.SecureAIVoteAnalysisService;
 import com.voting.domain.port.PromptSecurityPort;
-import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.domain.valueobject.BatchSecurityCheckResult;
 import com.voting.infrastructure.security.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -17,6 +17,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 @RestController
 @RequestMapping("/api/secure/votes")
@@ -38,34 +41,24 @@ public class SecureVoteController {
             String token = extractToken(httpRequest);
             String userEmail = jwtUtil.extractEmail(token);
             log.info("Creating vote for user: {}", userEmail);
+            Long userId = extractUserId(userEmail);
             
-            // Validate vote title
-            SecurityCheckResult titleValidation = promptSecurityPort.validatePrompt(request.getTitle());
-            if (!titleValidation.isPassed()) {
-                log.warn("Vote title validation failed: {}", titleValidation.getSummary());
-                return handleSecurityFailure("Vote title contains invalid content", titleValidation);
-            }
-            
-            // Validate vote description
-            SecurityCheckResult descValidation = promptSecurityPort.validatePrompt(request.getDescription());
-            if (!descValidation.isPassed()) {
-                log.warn("Vote description validation failed: {}", descValidation.getSummary());
-                return handleSecurityFailure("Vote description contains invalid content", descValidation);
-            }
-            
-            // Validate all vote options
+            // Validate title, description and all options in one batch
+            List<String> fields = new ArrayList<>();
+            fields.add(request.getTitle());
+            fields.add(request.getDescription());
             if (request.getOptions() != null) {
-                for (int i = 0; i < request.getOptions().size(); i++) {
-                    String option = request.getOptions().get(i);
-                    SecurityCheckResult optionValidation = promptSecurityPort.validatePrompt(option);
-                    if (!optionValidation.isPassed()) {
-                        log.warn("Vote option {} validation failed: {}", i, optionValidation.getSummary());
-                        return handleSecurityFailure(
-                            String.format("Vote option %d contains invalid content", i),
-                            optionValidation
-                        );
-                    }
-                }
+                fields.addAll(request.getOptions());
+            }
+            BatchSecurityCheckResult validation = promptSecurityPort.validatePrompts(fields, userId, true);
+            if (!validation.isPassed()) {
+                int index = validation.firstFailedIndex();
+                BatchSecurityCheckResult.FieldVerdict failed = validation.getVerdicts().get(index);
+                log.warn("Vote field {} validation failed: {}", index, failed);
+                String message = index == 0 ? "Vote title contains invalid content"
+                    : index == 1 ? "Vote description contains invalid content"
+                    : String.format("Vote option %d contains invalid content", index - 2);
+                return handleSecurityFailure(message, failed);
             }
             
             // All security checks passed - proceed with vote creation
@@ -173,6 +166,9 @@ public class SecureVoteController {
                 .openAiSecurityScore(analysis.getOpenAiSecurityScore())
                 .grokSecurityScore(analysis.getGrokSecurityScore())
                 .allValidationsPassed(analysis.isAllPassed())
+                .openAiTimedOut(analysis.isOpenAiTimedOut())
+                .grokTimedOut(analysis.isGrokTimedOut())
+                .elapsedMillis(analysis.getElapsedMillis())
                 .riskLevel("LOW")
                 .build());
                 
@@ -197,7 +193,7 @@ public class SecureVoteController {
     }
     
     private ResponseEntity<ApiResponse<SecureVoteResponse>> handleSecurityFailure(
-            String message, SecurityCheckResult result) {
+            String message, BatchSecurityCheckResult.FieldVerdict verdict) {
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
             .body(ApiResponse.<SecureVoteResponse>builder()
@@ -250,6 +246,9 @@ public class SecureVoteController {
         private int openAiSecurityScore;
         private int grokSecurityScore;
         private boolean allValidationsPassed;
+        private boolean openAiTimedOut;
+        private boolean grokTimedOut;
+        private long elapsedMillis;
         private String errorMessage;
         private String riskLevel;
     }
@@ -0,0 +1,64 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.voting.api.dto.ApiResponse;
+import com.voting.infrastructure.security.SecurityAuditEvent;
+import com.voting.infrastructure.security.SecurityAuditStore;
+import com.voting.infrastructure.security.SecurityRoles;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/secure/audit")
+@AllArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class SecurityAuditController {
+    
+	@Autowired
+    private SecurityAuditStore securityAuditStore;
+	@Autowired
+    private SecurityRoles securityRoles;
+    
+    /**
+     * Security audit events, newest first. Every filter is optional; {@code from} and
+     * {@code to} are ISO-8601 instants and {@code limit} is capped at
+     * {@link SecurityAuditStore#MAX_QUERY_LIMIT}. Requires the admin or investigator role.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SecurityAuditEvent>>> queryAudit(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long voteId,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(defaultValue = "100") int limit,
+            HttpServletRequest httpRequest) {
+        try {
+            String userEmail = securityRoles.require(httpRequest, SecurityRoles.Role.ADMIN, SecurityRoles.Role.INVESTIGATOR);
+            log.info("Security audit queried by {}", userEmail);
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(e.getMessage()));
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("'from' must not be after 'to'"));
+        }
+        List<SecurityAuditEvent> events = securityAuditStore.query(from, to, userId, voteId, riskLevel, limit);
+        return ResponseEntity.ok(ApiResponse.success(events.size() + " audit event(s) found", events));
+    }
+}
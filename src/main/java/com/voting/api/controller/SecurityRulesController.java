@@ -0,0 +1,97 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.voting.api.dto.ApiResponse;
+import com.voting.infrastructure.security.SecurityRoles;
+import com.voting.infrastructure.security.ThreatRuleRegistry;
+import com.voting.infrastructure.security.ThreatRuleSet;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/secure/rules")
+@AllArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class SecurityRulesController {
+    
+	@Autowired
+    private ThreatRuleRegistry threatRuleRegistry;
+	@Autowired
+    private SecurityRoles securityRoles;
+    
+    /**
+     * The active threat rule set and how often each rule has matched since it was loaded.
+     * The hit counts are keyed by rule text, so this requires the admin role.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<RuleSetResponse>> getRules(HttpServletRequest httpRequest) {
+        ResponseEntity<ApiResponse<RuleSetResponse>> denied = requireAdmin(httpRequest);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(ApiResponse.success(toResponse(threatRuleRegistry.current())));
+    }
+    
+    /**
+     * Re-reads the rule file now instead of waiting for the next scheduled check. Requires the admin role.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponse<RuleSetResponse>> reloadRules(HttpServletRequest httpRequest) {
+        ResponseEntity<ApiResponse<RuleSetResponse>> denied = requireAdmin(httpRequest);
+        if (denied != null) {
+            return denied;
+        }
+        boolean reloaded = threatRuleRegistry.reloadIfChanged();
+        return ResponseEntity.ok(ApiResponse.success(reloaded ? "Threat rules reloaded" : "Threat rules unchanged",
+                toResponse(threatRuleRegistry.current())));
+    }
+    
+    private ResponseEntity<ApiResponse<RuleSetResponse>> requireAdmin(HttpServletRequest httpRequest) {
+        try {
+            String userEmail = securityRoles.require(httpRequest, SecurityRoles.Role.ADMIN);
+            log.info("Threat rules {} {} by {}", httpRequest.getMethod(), httpRequest.getRequestURI(), userEmail);
+            return null;
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponse.error(e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    private RuleSetResponse toResponse(ThreatRuleSet rules) {
+        return RuleSetResponse.builder()
+            .version(rules.getVersion())
+            .source(rules.getSource())
+            .loadedAt(rules.getLoadedAt())
+            .ruleCount(rules.getRuleCount())
+            .stateCount(rules.getStateCount())
+            .compileMillis(rules.getCompileTime().toMillis())
+            .hits(rules.getHitCounts())
+            .build();
+    }
+    
+    @lombok.Data
+    @lombok.Builder
+    public static class RuleSetResponse {
+        private String version;
+        private String source;
+        private Instant loadedAt;
+        private int ruleCount;
+        private int stateCount;
+        private long compileMillis;
+        private Map<String, Map<String, Long>> hits;
+    }
+}
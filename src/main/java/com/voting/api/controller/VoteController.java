@@ -135,12 +135,14 @@ public class VoteController {
                 .title(vote.getTitle())
                 .description(vote.getDescription())
                 .aiEnhancedDescription(vote.getAiEnhancedDescription())
+                .aiEnhancementStatus(vote.getAiEnhancementStatus() != null ? vote.getAiEnhancementStatus().name() : null)
                 .creatorName(vote.getCreator().getName())
                 .startDate(vote.getStartDate())
                 .endDate(vote.getEndDate())
                 .active(vote.getActive())
                 .open(vote.isOpen())
                 .createdAt(vote.getCreatedAt())
+                .possibleDuplicateIds(vote.getPossibleDuplicateIds())
                 .options(vote.getOptions().stream()
                         .map(this::mapToVoteRecord)
                         .collect(Collectors.toList()))
@@ -3,6 +3,7 @@
  */
 package com.voting.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -41,6 +42,12 @@ public class VoteResponse {
 	public void setAiEnhancedDescription(String aiEnhancedDescription) {
 		this.aiEnhancedDescription = aiEnhancedDescription;
 	}
+	public String getAiEnhancementStatus() {
+		return aiEnhancementStatus;
+	}
+	public void setAiEnhancementStatus(String aiEnhancementStatus) {
+		this.aiEnhancementStatus = aiEnhancementStatus;
+	}
 	public String getCreatorName() {
 		return creatorName;
 	}
@@ -83,9 +90,16 @@ public class VoteResponse {
 	public void setCreatedAt(LocalDateTime createdAt) {
 		this.createdAt = createdAt;
 	}
+	public List<Long> getPossibleDuplicateIds() {
+		return possibleDuplicateIds;
+	}
+	public void setPossibleDuplicateIds(List<Long> possibleDuplicateIds) {
+		this.possibleDuplicateIds = possibleDuplicateIds;
+	}
 	private String title;
     private String description;
     private String aiEnhancedDescription;
+    private String aiEnhancementStatus;
     private String creatorName;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
@@ -93,4 +107,6 @@ public class VoteResponse {
     private boolean open;
     private List<VoteOptionResponse> options;
     private LocalDateTime createdAt;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<Long> possibleDuplicateIds;
 }
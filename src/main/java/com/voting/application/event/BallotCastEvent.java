@@ -0,0 +1,21 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code CastVoteUseCase} once a ballot and its blockchain record are saved.
+ */
+@Data
+@AllArgsConstructor
+public class BallotCastEvent {
+    private Long voteId;
+    private Long voteOptionId;
+    private Long blockchainRecordId;
+    private LocalDateTime castAt;
+}
@@ -0,0 +1,18 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by {@code CreateVoteUseCase} when a poll was saved with AI enhancement requested.
+ */
+@Data
+@AllArgsConstructor
+public class VoteCreatedEvent {
+    private Long voteId;
+    private String title;
+    private String description;
+}
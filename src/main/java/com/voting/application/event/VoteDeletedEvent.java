@@ -0,0 +1,17 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published when a poll is deleted, so state kept per poll outside the database is dropped
+ * once the deletion commits.
+ */
+@Data
+@AllArgsConstructor
+public class VoteDeletedEvent {
+    private Long voteId;
+}
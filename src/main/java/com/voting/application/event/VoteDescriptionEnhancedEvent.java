@@ -0,0 +1,19 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.event;
+
+import com.voting.domain.model.AIEnhancementStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published once the background AI enhancement of a poll description has finished.
+ */
+@Data
+@AllArgsConstructor
+public class VoteDescriptionEnhancedEvent {
+    private Long voteId;
+    private AIEnhancementStatus status;
+    private String aiEnhancedDescription;
+}
@@ -0,0 +1,19 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.event;
+
+import com.voting.application.service.PollDuplicateIndex;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by {@code CreateVoteUseCase} for every poll it saves, with the signature it was
+ * checked for duplicates with, so the poll is indexed only once its transaction commits.
+ */
+@Data
+@AllArgsConstructor
+public class VoteSavedEvent {
+    private Long voteId;
+    private PollDuplicateIndex.Signature signature;
+}
@@ -5,8 +5,44 @@ package com.voting.application.service;
 
 import com.voting.domain.model.Vote;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface AIService {
     String enhanceVoteDescription(String title, String description);
     String analyzeVoteResults(Vote vote);
+    
+    /**
+     * Analysis of the vote's results. Unlike {@link #analyzeVoteResults} it never returns
+     * fallback text: it throws when no provider produced an analysis, so callers that keep
+     * the answer never keep an error message in its place.
+     */
     String generateVoteInsights(Long voteId);
+    
+    /**
+     * Completes with the enhanced description, or fails when no provider produced one;
+     * unlike {@link #enhanceVoteDescription} it never falls back to the original text.
+     */
+    CompletableFuture<String> requestEnhancement(String title, String description);
+    
+    /**
+     * Sends a ready-made prompt (e.g. a packed batch) and completes with the raw answer;
+     * fails instead of falling back, so callers can retry.
+     */
+    CompletableFuture<String> completePrompt(String prompt, int maxTokens, Duration timeout);
+    
+    /**
+     * Streams the analysis of the vote results, passing text to {@code onToken} as it is generated.
+     * The future completes with the full text; cancelling it stops the stream.
+     */
+    default CompletableFuture<String> streamVoteResults(Vote vote, Consumer<String> onToken) {
+        String analysis = analyzeVoteResults(vote);
+        onToken.accept(analysis);
+        return CompletableFuture.completedFuture(analysis);
+    }
+    
+    default String getProviderName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,116 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.model.Vote;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Packs several polls' results into one analysis prompt within a token budget and splits
+ * the answer back into per-poll sections. Token counts are estimated at four characters
+ * per token, which is close enough for English prompts to size batches.
+ */
+public class BatchPromptPacker {
+    
+    private static final Pattern SECTION_HEADER = Pattern.compile("(?m)^[ \\t]*#{1,6}[ \\t]*Poll[ \\t]+(\\d+)\\b.*$");
+    
+    private static final String INSTRUCTIONS =
+            "Analyze the results of each of the following closed polls.\n"
+            + "For every poll, start a section with a line \"### Poll <id>\" and follow it with "
+            + "2-3 sentences of insights about the voting pattern.\n\n";
+    
+    private final int promptTokenBudget;
+    private final int outputTokensPerPoll;
+    private final int maxPollsPerPrompt;
+    
+    public BatchPromptPacker(int promptTokenBudget, int outputTokensPerPoll, int maxPollsPerPrompt) {
+        this.promptTokenBudget = promptTokenBudget;
+        this.outputTokensPerPoll = outputTokensPerPoll;
+        this.maxPollsPerPrompt = maxPollsPerPrompt;
+    }
+    
+    /**
+     * Groups polls in order so that each group's prompt fits the budget. A poll that does
+     * not fit on its own still gets a group of its own.
+     */
+    public List<List<Vote>> pack(List<Vote> votes) {
+        List<List<Vote>> batches = new ArrayList<>();
+        List<Vote> current = new ArrayList<>();
+        int tokens = estimateTokens(INSTRUCTIONS);
+        
+        for (Vote vote : votes) {
+            int pollTokens = estimateTokens(describe(vote));
+            if (!current.isEmpty() && (tokens + pollTokens > promptTokenBudget || current.size() >= maxPollsPerPrompt)) {
+                batches.add(current);
+                current = new ArrayList<>();
+                tokens = estimateTokens(INSTRUCTIONS);
+            }
+            current.add(vote);
+            tokens += pollTokens;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+    
+    public String prompt(List<Vote> batch) {
+        StringBuilder prompt = new StringBuilder(INSTRUCTIONS);
+        batch.forEach(vote -> prompt.append(describe(vote)));
+        return prompt.toString();
+    }
+    
+    public int maxTokens(List<Vote> batch) {
+        return outputTokensPerPoll * batch.size();
+    }
+    
+    /**
+     * Splits the answer at its "### Poll &lt;id&gt;" headers; polls without a section are absent.
+     */
+    public Map<Long, String> parse(String response) {
+        Map<Long, String> sections = new HashMap<>();
+        if (response == null) {
+            return sections;
+        }
+        Matcher matcher = SECTION_HEADER.matcher(response);
+        Long voteId = null;
+        int start = 0;
+        while (matcher.find()) {
+            if (voteId != null) {
+                putSection(sections, voteId, response.substring(start, matcher.start()));
+            }
+            voteId = Long.parseLong(matcher.group(1));
+            start = matcher.end();
+        }
+        if (voteId != null) {
+            putSection(sections, voteId, response.substring(start));
+        }
+        return sections;
+    }
+    
+    static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+    
+    private static void putSection(Map<Long, String> sections, Long voteId, String text) {
+        String trimmed = text.trim();
+        if (!trimmed.isEmpty()) {
+            sections.put(voteId, trimmed);
+        }
+    }
+    
+    private static String describe(Vote vote) {
+        StringBuilder text = new StringBuilder();
+        text.append("Poll ").append(vote.getId()).append(": ").append(vote.getTitle()).append('\n');
+        vote.getOptions().forEach(option -> text.append(String.format("- %s: %d votes\n",
+                option.getOptionText(), option.getVoteCount())));
+        return text.append('\n').toString();
+    }
+}
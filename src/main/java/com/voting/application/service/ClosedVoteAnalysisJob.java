@@ -0,0 +1,195 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteAnalysis;
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.VoteAnalysisRepository;
+import com.voting.domain.port.VoteRepository;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Generates and stores AI analyses for polls that closed since the previous run.
+ * Polls are packed several to a prompt and at most {@code ai.batch.max-concurrent-calls}
+ * provider calls are in flight at once. The calls complete asynchronously on the AI
+ * providers' threads; the scheduler thread only dispatches them and waits, and no request
+ * thread is involved. Polls whose batch failed, whose section was missing or whose
+ * analysis was rejected as a critical threat are picked up again by the next run, up to
+ * {@code ai.batch.max-attempts} runs in all; after that the job gives up on them, so a poll
+ * that always fails neither costs a provider call every run nor holds the window open.
+ */
+@Component
+@ConditionalOnProperty(name = "ai.batch.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ClosedVoteAnalysisJob {
+    
+    private static final int MAX_ANALYSIS_LENGTH = 4000;
+    
+	@Autowired
+    private VoteRepository voteRepository;
+	@Autowired
+    private VoteAnalysisRepository voteAnalysisRepository;
+	@Autowired
+    private AIService aiService;
+	@Autowired
+    private PromptSecurityPort promptSecurityPort;
+    
+    @Value("${ai.batch.lookback:7d}")
+    private Duration lookback;
+    
+    @Value("${ai.batch.max-concurrent-calls:2}")
+    private int maxConcurrentCalls;
+    
+    @Value("${ai.batch.prompt-token-budget:3000}")
+    private int promptTokenBudget;
+    
+    @Value("${ai.batch.output-tokens-per-poll:150}")
+    private int outputTokensPerPoll;
+    
+    @Value("${ai.batch.max-polls-per-prompt:10}")
+    private int maxPollsPerPrompt;
+    
+    @Value("${ai.batch.call-timeout:60s}")
+    private Duration callTimeout;
+    
+    @Value("${ai.batch.max-attempts:3}")
+    private int maxAttempts = 3;
+    
+    private Clock clock = Clock.systemDefaultZone();
+    
+    private BatchPromptPacker packer;
+    
+    private LocalDateTime lastRun;
+    
+    // Polls that failed in an earlier run and are still inside the window
+    private final Map<Long, FailedPoll> failures = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        packer = new BatchPromptPacker(promptTokenBudget, outputTokensPerPoll, maxPollsPerPrompt);
+    }
+    
+    @Scheduled(initialDelayString = "${ai.batch.initial-delay:PT1M}", fixedDelayString = "${ai.batch.interval:PT5M}")
+    public void run() {
+        LocalDateTime until = LocalDateTime.now(clock);
+        LocalDateTime since = lastRun != null ? lastRun : until.minus(lookback);
+        
+        List<Vote> closed = new ArrayList<>(voteRepository.findClosedWithoutAnalysis(since, until));
+        closed.removeIf(vote -> exhausted(vote.getId()));
+        if (closed.isEmpty()) {
+            advanceTo(until);
+            return;
+        }
+        
+        List<List<Vote>> batches = packer.pack(closed);
+        log.info("Analyzing {} closed polls in {} prompts", closed.size(), batches.size());
+        
+        Map<Long, LocalDateTime> failed = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(maxConcurrentCalls);
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        try {
+            for (List<Vote> batch : batches) {
+                permits.acquire();
+                calls.add(aiService.completePrompt(packer.prompt(batch), packer.maxTokens(batch), callTimeout)
+                        .whenComplete((response, error) -> permits.release())
+                        .thenAccept(response -> store(batch, response, failed))
+                        .exceptionally(e -> {
+                            log.warn("Batch analysis of {} polls failed: {}", batch.size(), e.getMessage());
+                            batch.forEach(vote -> failed.put(vote.getId(), vote.getEndDate()));
+                            return null;
+                        }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        
+        failed.forEach((voteId, endDate) -> {
+            FailedPoll failure = failures.merge(voteId, new FailedPoll(endDate, 1),
+                    (previous, next) -> new FailedPoll(endDate, previous.attempts() + 1));
+            if (failure.attempts() >= maxAttempts) {
+                log.warn("Giving up on AI analysis of vote {} after {} attempts", voteId, failure.attempts());
+                failed.remove(voteId);
+            }
+        });
+        
+        // Keep failed polls inside the next run's window
+        advanceTo(failed.values().stream()
+                .min(Comparator.naturalOrder())
+                .map(endDate -> endDate.minusNanos(1))
+                .orElse(until));
+    }
+    
+    private boolean exhausted(Long voteId) {
+        FailedPoll failure = failures.get(voteId);
+        return failure != null && failure.attempts() >= maxAttempts;
+    }
+    
+    /**
+     * Moves the window start, forgetting the failures of polls that closed before it: the
+     * query will not return them again.
+     */
+    private void advanceTo(LocalDateTime next) {
+        lastRun = next;
+        failures.values().removeIf(failure -> failure.endDate() == null || !failure.endDate().isAfter(next));
+    }
+    
+    private void store(List<Vote> batch, String response, Map<Long, LocalDateTime> failed) {
+        Map<Long, String> sections = packer.parse(response);
+        for (Vote vote : batch) {
+            String analysis = sections.get(vote.getId());
+            if (analysis == null) {
+                failed.put(vote.getId(), vote.getEndDate());
+                continue;
+            }
+            
+            SecurityCheckResult validation = promptSecurityPort.validateVoteAnalysis(analysis, vote.getId());
+            if (!validation.isPassed() && validation.isCriticalThreat()) {
+                log.warn("Discarding AI analysis for vote {}: {}", vote.getId(), validation.getSummary());
+                failed.put(vote.getId(), vote.getEndDate());
+                continue;
+            }
+            
+            VoteAnalysis stored = voteAnalysisRepository.findByVoteId(vote.getId())
+                    .orElseGet(() -> VoteAnalysis.builder().voteId(vote.getId()).build());
+            String text = validation.sanitizedOr(analysis);
+            stored.setAnalysis(text.length() > MAX_ANALYSIS_LENGTH ? text.substring(0, MAX_ANALYSIS_LENGTH) : text);
+            stored.setProvider(aiService.getProviderName());
+            stored.setTallyVersion(tallyVersion(vote));
+            stored.setGeneratedAt(LocalDateTime.now(clock));
+            voteAnalysisRepository.save(stored);
+            failures.remove(vote.getId());
+        }
+    }
+    
+    private record FailedPoll(LocalDateTime endDate, int attempts) {
+    }
+    
+    private static long tallyVersion(Vote vote) {
+        return vote.getOptions().stream()
+                .mapToLong(option -> option.getVoteCount() != null ? option.getVoteCount() : 0)
+                .sum();
+    }
+}
@@ -0,0 +1,65 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.valueobject.VoteStatistics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decides whether a poll's tally has moved far enough from the tally an AI analysis was
+ * generated for to be worth a new provider call. Below these thresholds the previous
+ * analysis still describes the poll and is served as is.
+ */
+@Component
+public class MaterialChangePolicy {
+
+    @Value("${ai.regenerate.min-new-ballots:50}")
+    private long minNewBallots = 50;
+
+    @Value("${ai.regenerate.share-shift-points:5.0}")
+    private double shareShiftPoints = 5.0;
+
+    /**
+     * True when there is no baseline, the leader changed (a tie counts as no leader), at
+     * least {@code ai.regenerate.min-new-ballots} ballots were cast, or any option's share
+     * moved by {@code ai.regenerate.share-shift-points} percentage points or more.
+     */
+    public boolean requiresRegeneration(VoteStatistics baseline, VoteStatistics current) {
+        if (baseline == null) {
+            return true;
+        }
+        long newBallots = current.getTotalVotes() - baseline.getTotalVotes();
+        if (newBallots == 0) {
+            return false;
+        }
+        if (newBallots < 0 || newBallots >= minNewBallots) {
+            return true;
+        }
+        if (!Objects.equals(baseline.getLeaderOptionId(), current.getLeaderOptionId())) {
+            return true;
+        }
+        return maxShareShift(baseline, current) >= shareShiftPoints;
+    }
+
+    static double maxShareShift(VoteStatistics baseline, VoteStatistics current) {
+        Map<Long, Double> baselineShares = new HashMap<>();
+        if (baseline.getOptions() != null) {
+            baseline.getOptions().forEach(option -> baselineShares.put(option.getOptionId(), option.getShare()));
+        }
+        double maxShift = 0;
+        if (current.getOptions() != null) {
+            for (VoteStatistics.OptionShare option : current.getOptions()) {
+                double shift = Math.abs(option.getShare() - baselineShares.getOrDefault(option.getOptionId(), 0.0));
+                maxShift = Math.max(maxShift, shift);
+            }
+        }
+        return maxShift;
+    }
+}
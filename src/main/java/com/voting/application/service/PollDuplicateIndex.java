@@ -0,0 +1,292 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.application.event.VoteDeletedEvent;
+import com.voting.application.event.VoteSavedEvent;
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.VoteRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds polls whose title and description are near-duplicates of a new poll without
+ * scanning all polls. Each poll's text is cut into character shingles and summarized by a
+ * MinHash signature; the signature is split into bands, and polls sharing any band are the
+ * candidates. Candidates are kept when the fraction of equal signature values, an estimate
+ * of the shingle sets' Jaccard similarity, reaches {@code vote.duplicates.similarity-threshold}.
+ * <p>
+ * With b bands of r rows a pair of similarity s becomes a candidate with probability
+ * 1 - (1 - s^r)^b, which rises steeply around (1/b)^(1/r); the defaults of 16 bands of 4 rows
+ * put that at 0.5. A lookup costs one signature plus a hash lookup per band.
+ * The index is built from the repository at startup and kept current from the events of
+ * polls saved and deleted, applied after their transaction commits so a rolled-back poll
+ * never becomes a match.
+ */
+@Component
+@Slf4j
+public class PollDuplicateIndex {
+
+    private static final long MIX_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	@Autowired
+    private VoteRepository voteRepository;
+
+    @Value("${vote.duplicates.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${vote.duplicates.bands:16}")
+    private int bands = 16;
+
+    @Value("${vote.duplicates.rows-per-band:4}")
+    private int rowsPerBand = 4;
+
+    @Value("${vote.duplicates.shingle-size:3}")
+    private int shingleSize = 3;
+
+    @Value("${vote.duplicates.similarity-threshold:0.5}")
+    private double similarityThreshold = 0.5;
+
+    @Value("${vote.duplicates.max-results:5}")
+    private int maxResults = 5;
+
+    private volatile Index index = new Index(bands, rowsPerBand);
+
+    @PostConstruct
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Index rebuilt = new Index(bands, rowsPerBand);
+        for (Vote vote : voteRepository.findAll()) {
+            Signature signature = signature(vote.getTitle(), vote.getDescription());
+            if (vote.getId() != null && signature.hasText()) {
+                rebuilt.add(vote.getId(), signature.values);
+            }
+        }
+        index = rebuilt;
+        log.info("Indexed {} polls for duplicate detection in {} ms",
+                rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * MinHash signature of a poll's title and description, for {@link #findDuplicates} and
+     * {@link #add}. Case, punctuation and repeated whitespace do not change it.
+     */
+    public Signature signature(String title, String description) {
+        String text = (normalize(title) + " " + normalize(description)).strip();
+        int[] values = new int[bands * rowsPerBand];
+        Arrays.fill(values, Integer.MAX_VALUE);
+        int length = text.length();
+        // Text shorter than a shingle is one shingle
+        int size = Math.min(shingleSize, length);
+        for (int startIndex = 0; size > 0 && startIndex + size <= length; startIndex++) {
+            long shingle = 0;
+            for (int i = startIndex; i < startIndex + size; i++) {
+                shingle = shingle * 31 + text.charAt(i);
+            }
+            long base = mix(shingle);
+            for (int i = 0; i < values.length; i++) {
+                // h_i(x) = a_i * x + b_i, with odd a_i; the high half is the well-mixed part
+                int value = (int) (((2L * i + 1) * MIX_MULTIPLIER * base + mix(i)) >>> 33);
+                if (value < values[i]) {
+                    values[i] = value;
+                }
+            }
+        }
+        return new Signature(values, length > 0);
+    }
+
+    /**
+     * Ids of indexed polls similar to {@code signature}, most similar first, at most
+     * {@code vote.duplicates.max-results} of them.
+     */
+    public List<Long> findDuplicates(Signature signature) {
+        if (!enabled || !signature.hasText()) {
+            return List.of();
+        }
+        Index current = index;
+        List<Match> matches = new ArrayList<>();
+        for (Long candidate : current.candidates(signature.values)) {
+            int[] other = current.signatures.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            double similarity = similarity(signature.values, other);
+            if (similarity >= similarityThreshold) {
+                matches.add(new Match(candidate, similarity));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::voteId));
+        return matches.stream().limit(maxResults).map(Match::voteId).toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteSaved(VoteSavedEvent event) {
+        add(event.getVoteId(), event.getSignature());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteDeleted(VoteDeletedEvent event) {
+        remove(event.getVoteId());
+    }
+
+    public void add(Long voteId, Signature signature) {
+        if (enabled && voteId != null && signature.hasText()) {
+            index.add(voteId, signature.values);
+        }
+    }
+
+    public void remove(Long voteId) {
+        if (voteId != null) {
+            index.remove(voteId);
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        return normalized.toString().strip();
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer
+        long z = value + MIX_MULTIPLIER;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A poll's MinHash values; text without letters or digits has no signature and never matches.
+     */
+    public static final class Signature {
+
+        private final int[] values;
+        private final boolean hasText;
+
+        private Signature(int[] values, boolean hasText) {
+            this.values = values;
+            this.hasText = hasText;
+        }
+
+        public boolean hasText() {
+            return hasText;
+        }
+    }
+
+    private record Match(Long voteId, double similarity) {
+    }
+
+    /**
+     * Signatures and band buckets; replaced as a whole on rebuild.
+     */
+    private static final class Index {
+
+        private final int bands;
+        private final int rows;
+        private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+        // Per band: hash of the band's rows -> polls with those rows
+        private final List<Map<Long, Set<Long>>> buckets = new ArrayList<>();
+
+        Index(int bands, int rows) {
+            this.bands = bands;
+            this.rows = rows;
+            for (int band = 0; band < bands; band++) {
+                buckets.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        void add(Long voteId, int[] signature) {
+            signatures.put(voteId, signature);
+            for (int band = 0; band < bands; band++) {
+                // Inside compute, so a concurrent remove never drops a bucket this poll was just added to
+                buckets.get(band).compute(bandKey(signature, band), (key, bucket) -> {
+                    Set<Long> ids = bucket != null ? bucket : ConcurrentHashMap.newKeySet();
+                    ids.add(voteId);
+                    return ids;
+                });
+            }
+        }
+
+        void remove(Long voteId) {
+            int[] signature = signatures.remove(voteId);
+            if (signature == null) {
+                return;
+            }
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfPresent(bandKey(signature, band), (key, bucket) -> {
+                    bucket.remove(voteId);
+                    return bucket.isEmpty() ? null : bucket;
+                });
+            }
+        }
+
+        Set<Long> candidates(int[] signature) {
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                Set<Long> bucket = buckets.get(band).get(bandKey(signature, band));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            return candidates;
+        }
+
+        int size() {
+            return signatures.size();
+        }
+
+        private long bandKey(int[] signature, int band) {
+            // FNV-1a over the band's rows
+            long key = 0xCBF29CE484222325L;
+            for (int i = band * rows; i < (band + 1) * rows; i++) {
+                key = (key ^ signature[i]) * 0x100000001B3L;
+            }
+            return key;
+        }
+    }
+}
@@ -9,8 +9,18 @@ import com.voting.infrastructure.ai.OpenAIServiceImpl;
 import com.voting.infrastructure.ai.XAIServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -20,6 +30,13 @@ public class SecureAIVoteAnalysisService {
     private final OpenAIServiceImpl openAiService;
     private final XAIServiceImpl xAiService;
     
+    @Autowired
+    @Qualifier("aiTaskExecutor")
+    private Executor aiTaskExecutor;
+    
+    @Value("${ai.compare.timeout:30s}")
+    private Duration compareTimeout;
+    
     public String analyzeVoteWithOpenAI(String voteDescription, Long userId, Long voteId) {
         log.info("Analyzing vote {} for user {} with OpenAI", voteId, userId);
         
@@ -42,12 +59,10 @@ public class SecureAIVoteAnalysisService {
         }
         
         // Step 2: Use sanitized input if available
-        String inputToProcess = validationResult.getSanitizedInput() != null
-            ? validationResult.getSanitizedInput()
-            : voteDescription;
+        String inputToProcess = validationResult.sanitizedOr(voteDescription);
         
         // Step 3: Send to AI service
-        String aiResponse = openAiService.enhanceVoteDescription(inputToProcess);
+        String aiResponse = openAiService.analyzeVote(inputToProcess);
         
         // Step 4: Validate AI response
         SecurityCheckResult responseValidation = promptSecurityPort.validateVoteAnalysis(aiResponse, voteId);
@@ -61,7 +76,7 @@ public class SecureAIVoteAnalysisService {
         }
         
         // Step 5: Return validated response
-        return responseValidation.getSanitizedInput();
+        return responseValidation.sanitizedOr(aiResponse);
     }
     
     public String analyzeVoteWithGrok(String voteDescription, Long userId, Long voteId) {
@@ -77,9 +92,7 @@ public class SecureAIVoteAnalysisService {
             log.warn("Security warning during input validation: {}", validationResult.getSummary());
         }
         
-        String inputToProcess = validationResult.getSanitizedInput() != null
-            ? validationResult.getSanitizedInput()
-            : voteDescription;
+        String inputToProcess = validationResult.sanitizedOr(voteDescription);
         
         // Send to xAI service
         String grokResponse = xAiService.analyzeVote(inputToProcess);
@@ -94,7 +107,7 @@ public class SecureAIVoteAnalysisService {
             }
         }
         
-        return responseValidation.getSanitizedInput();
+        return responseValidation.sanitizedOr(grokResponse);
     }
     
     public ComparativeAnalysis compareAIAnalyses(String voteDescription, Long userId, Long voteId) {
@@ -106,26 +119,56 @@ public class SecureAIVoteAnalysisService {
             throw new SecurityException("Input contains critical security threats");
         }
         
-        String inputToProcess = validationResult.getSanitizedInput() != null
-            ? validationResult.getSanitizedInput()
-            : voteDescription;
+        String inputToProcess = validationResult.sanitizedOr(voteDescription);
+        
+        // Both providers and their response checks run side by side against one deadline
+        long started = System.nanoTime();
+        long deadline = started + compareTimeout.toNanos();
         
-        String openAiAnalysis = openAiService.enhanceVoteDescription(inputToProcess);
-        String grokAnalysis = xAiService.analyzeVote(inputToProcess);
+        CompletableFuture<String> openAiCall = openAiService.analyzeVoteAsync(inputToProcess);
+        CompletableFuture<String> grokCall = xAiService.analyzeVoteAsync(inputToProcess);
+        CompletableFuture<SecurityCheckResult> openAiFuture = openAiCall
+            .thenApplyAsync(analysis -> promptSecurityPort.validateVoteAnalysis(analysis, voteId), aiTaskExecutor);
+        CompletableFuture<SecurityCheckResult> grokFuture = grokCall
+            .thenApplyAsync(analysis -> promptSecurityPort.validateVoteAnalysis(analysis, voteId), aiTaskExecutor);
         
-        SecurityCheckResult openAiValidation = promptSecurityPort.validateVoteAnalysis(openAiAnalysis, voteId);
-        SecurityCheckResult grokValidation = promptSecurityPort.validateVoteAnalysis(grokAnalysis, voteId);
+        SecurityCheckResult openAiValidation = awaitUntil(openAiFuture, openAiCall, deadline, "OpenAI", voteId);
+        SecurityCheckResult grokValidation = awaitUntil(grokFuture, grokCall, deadline, "Grok", voteId);
         
         return ComparativeAnalysis.builder()
             .voteId(voteId)
-            .openAiAnalysis(openAiValidation.getSanitizedInput())
-            .grokAnalysis(grokValidation.getSanitizedInput())
-            .openAiSecurityScore(calculateSecurityScore(openAiValidation))
-            .grokSecurityScore(calculateSecurityScore(grokValidation))
-            .allPassed(openAiValidation.isPassed() && grokValidation.isPassed())
+            .openAiAnalysis(openAiValidation != null ? openAiValidation.sanitizedOr(openAiCall.getNow(null)) : null)
+            .grokAnalysis(grokValidation != null ? grokValidation.sanitizedOr(grokCall.getNow(null)) : null)
+            .openAiSecurityScore(openAiValidation != null ? calculateSecurityScore(openAiValidation) : 0)
+            .grokSecurityScore(grokValidation != null ? calculateSecurityScore(grokValidation) : 0)
+            .openAiTimedOut(openAiValidation == null)
+            .grokTimedOut(grokValidation == null)
+            .allPassed(openAiValidation != null && openAiValidation.isPassed()
+                && grokValidation != null && grokValidation.isPassed())
+            .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
             .build();
     }
     
+    /**
+     * Waits for a provider result until the shared deadline.
+     * Returns null (and cancels the provider call) when it did not finish in time or failed.
+     */
+    private SecurityCheckResult awaitUntil(CompletableFuture<SecurityCheckResult> future, CompletableFuture<String> call,
+                                           long deadline, String provider, Long voteId) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} analysis for vote {} missed the {} comparison deadline", provider, voteId, compareTimeout);
+        } catch (ExecutionException e) {
+            log.warn("{} analysis for vote {} failed: {}", provider, voteId, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        call.cancel(true);
+        future.cancel(true);
+        return null;
+    }
+    
     public boolean isSecurityHealthy() {
         return promptSecurityPort.isSecurityOperational();
     }
@@ -152,6 +195,9 @@ public class SecureAIVoteAnalysisService {
         private String grokAnalysis;
         private int openAiSecurityScore;
         private int grokSecurityScore;
+        private boolean openAiTimedOut;
+        private boolean grokTimedOut;
         private boolean allPassed;
+        private long elapsedMillis;
     }
 }
@@ -0,0 +1,258 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.application.event.BallotCastEvent;
+import com.voting.domain.model.BlockchainRecord;
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteOption;
+import com.voting.domain.port.BlockchainRepository;
+import com.voting.domain.port.VoteRepository;
+import com.voting.domain.valueobject.VoteStatistics;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps each poll's tally statistics in memory and updates them as ballots are cast, so
+ * that insight requests are answered without a provider call or a tally query.
+ * A poll is loaded from the repositories the first time it is asked for; after that every
+ * committed ballot costs O(1) and a snapshot costs O(options + turnout buckets).
+ * At most {@code ai.stats.max-polls} polls are kept; the least recently used one is
+ * dropped beyond that and loaded again when it is next asked for.
+ */
+@Component
+@Slf4j
+public class VoteStatisticsEngine {
+
+	@Autowired
+    private VoteRepository voteRepository;
+	@Autowired
+    private BlockchainRepository blockchainRepository;
+
+    @Value("${ai.stats.turnout-bucket:1h}")
+    private Duration turnoutBucket = Duration.ofHours(1);
+
+    @Value("${ai.stats.max-polls:1000}")
+    private int maxPolls = 1000;
+
+    private final ConcurrentHashMap<Long, PollTally> tallies = new ConcurrentHashMap<>();
+
+    public VoteStatistics snapshot(Long voteId) {
+        if (voteId == null) {
+            throw new IllegalArgumentException("Vote ID cannot be null");
+        }
+        PollTally tally = tallies.computeIfAbsent(voteId, this::load);
+        if (tally == null) {
+            throw new IllegalArgumentException("Vote not found");
+        }
+        tally.lastUsed = System.nanoTime();
+        if (tallies.size() > maxPolls) {
+            evictLeastRecentlyUsed();
+        }
+        return tally.snapshot();
+    }
+
+    /**
+     * Applies a committed ballot to a poll that is already loaded. A poll that is not loaded
+     * yet picks the ballot up from the repositories on its first snapshot.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBallotCast(BallotCastEvent event) {
+        // Waits for a concurrent first load of the same poll, whose snapshot may already include this ballot
+        tallies.computeIfPresent(event.getVoteId(), (voteId, tally) -> {
+            tally.recordCast(event.getVoteOptionId(), event.getBlockchainRecordId(), event.getCastAt());
+            return tally;
+        });
+    }
+
+    public void evict(Long voteId) {
+        tallies.remove(voteId);
+    }
+
+    int loadedPolls() {
+        return tallies.size();
+    }
+
+    private void evictLeastRecentlyUsed() {
+        // Only reached on a load past the limit, so a scan is cheaper than keeping an access order
+        while (tallies.size() > maxPolls) {
+            Map.Entry<Long, PollTally> eldest = null;
+            for (Map.Entry<Long, PollTally> entry : tallies.entrySet()) {
+                if (eldest == null || entry.getValue().lastUsed - eldest.getValue().lastUsed < 0) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null || !tallies.remove(eldest.getKey(), eldest.getValue())) {
+                return;
+            }
+            log.debug("Evicted tally statistics for vote {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * Counts come from the blockchain records, one per ballot, rather than from the options'
+     * vote counts: both are then taken from the same read, and since record ids increase,
+     * a later {@link BallotCastEvent} at or below the highest loaded id was already counted.
+     */
+    private PollTally load(Long voteId) {
+        Vote vote = voteRepository.findById(voteId).orElse(null);
+        if (vote == null) {
+            return null;
+        }
+
+        PollTally tally = new PollTally(voteId, vote.getTitle(), turnoutBucket.toMillis());
+        for (VoteOption option : vote.getOptions()) {
+            tally.addOption(option.getId(), option.getOptionText());
+        }
+        for (BlockchainRecord record : blockchainRepository.findByVoteId(voteId)) {
+            VoteOption option = record.getVoteOption();
+            tally.recordLoaded(option != null ? option.getId() : null, record.getId(), record.getTimestamp());
+        }
+        log.debug("Loaded tally statistics for vote {}", voteId);
+        return tally;
+    }
+
+    /**
+     * Running tally of one poll. Entropy is kept incrementally through the sum of n·ln(n)
+     * over the option counts: H = ln(N) - Σ n·ln(n) / N.
+     */
+    static class PollTally {
+
+        private final Long voteId;
+        private final String title;
+        private final long bucketMillis;
+        private final Map<Long, OptionCount> options = new LinkedHashMap<>();
+        private final TreeMap<Long, Long> turnout = new TreeMap<>();
+        private long loadedUpTo = Long.MIN_VALUE;
+        private long total;
+        private double sumNLogN;
+        private LocalDateTime lastBallotAt;
+        private volatile long lastUsed;
+
+        PollTally(Long voteId, String title, long bucketMillis) {
+            this.voteId = voteId;
+            this.title = title;
+            this.bucketMillis = Math.max(1, bucketMillis);
+        }
+
+        synchronized void addOption(Long optionId, String optionText) {
+            options.put(optionId, new OptionCount(optionText, 0));
+        }
+
+        synchronized void recordLoaded(Long optionId, Long recordId, LocalDateTime castAt) {
+            if (recordId != null) {
+                loadedUpTo = Math.max(loadedUpTo, recordId);
+            }
+            record(optionId, castAt);
+        }
+
+        synchronized void recordCast(Long optionId, Long recordId, LocalDateTime castAt) {
+            if (recordId != null && recordId <= loadedUpTo) {
+                // Already counted by the load
+                return;
+            }
+            record(optionId, castAt);
+        }
+
+        private void record(Long optionId, LocalDateTime castAt) {
+            OptionCount option = options.get(optionId);
+            if (option == null) {
+                return;
+            }
+            sumNLogN += nLogN(option.votes + 1) - nLogN(option.votes);
+            option.votes++;
+            total++;
+            addToTurnout(castAt);
+        }
+
+        synchronized VoteStatistics snapshot() {
+            List<VoteStatistics.OptionShare> shares = new ArrayList<>(options.size());
+            Long leaderId = null;
+            OptionCount leader = null;
+            long runnerUpVotes = 0;
+
+            for (Map.Entry<Long, OptionCount> entry : options.entrySet()) {
+                OptionCount option = entry.getValue();
+                shares.add(new VoteStatistics.OptionShare(entry.getKey(), option.text, option.votes, percent(option.votes)));
+                if (leader == null || option.votes > leader.votes) {
+                    runnerUpVotes = leader != null ? leader.votes : 0;
+                    leader = option;
+                    leaderId = entry.getKey();
+                } else if (option.votes > runnerUpVotes) {
+                    runnerUpVotes = option.votes;
+                }
+            }
+
+            long leaderVotes = leader != null ? leader.votes : 0;
+            boolean tie = options.size() > 1 && leaderVotes == runnerUpVotes;
+            double entropyNats = total > 0 ? Math.log(total) - sumNLogN / total : 0;
+            double entropyBits = Math.max(0, entropyNats / Math.log(2));
+            double maxBits = options.size() > 1 ? Math.log(options.size()) / Math.log(2) : 0;
+
+            List<VoteStatistics.TurnoutBucket> buckets = new ArrayList<>(turnout.size());
+            turnout.forEach((bucket, ballots) -> buckets.add(new VoteStatistics.TurnoutBucket(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket * bucketMillis), ZoneOffset.UTC), ballots)));
+
+            return VoteStatistics.builder()
+                    .voteId(voteId)
+                    .title(title)
+                    .totalVotes(total)
+                    .leaderOptionId(total > 0 && !tie ? leaderId : null)
+                    .leaderOptionText(total > 0 && !tie ? leader.text : null)
+                    .tie(total > 0 && tie)
+                    .marginVotes(leaderVotes - runnerUpVotes)
+                    .marginPoints(percent(leaderVotes) - percent(runnerUpVotes))
+                    .entropyBits(entropyBits)
+                    .normalizedEntropy(maxBits > 0 ? entropyBits / maxBits : 0)
+                    .options(shares)
+                    .turnout(buckets)
+                    .lastBallotAt(lastBallotAt)
+                    .build();
+        }
+
+        private void addToTurnout(LocalDateTime castAt) {
+            if (castAt == null) {
+                return;
+            }
+            long bucket = Math.floorDiv(castAt.toInstant(ZoneOffset.UTC).toEpochMilli(), bucketMillis);
+            turnout.merge(bucket, 1L, Long::sum);
+            if (lastBallotAt == null || castAt.isAfter(lastBallotAt)) {
+                lastBallotAt = castAt;
+            }
+        }
+
+        private double percent(long votes) {
+            return total > 0 ? 100.0 * votes / total : 0;
+        }
+
+        private static double nLogN(long n) {
+            return n > 0 ? n * Math.log(n) : 0;
+        }
+    }
+
+    private static final class OptionCount {
+        private final String text;
+        private long votes;
+
+        private OptionCount(String text, long votes) {
+            this.text = text;
+            this.votes = votes;
+        }
+    }
+}
@@ -3,6 +3,7 @@
  */
 package com.voting.application.usecase;
 
+import com.voting.application.event.BallotCastEvent;
 import com.voting.application.service.BlockchainService;
 import com.voting.domain.model.BlockchainRecord;
 import com.voting.domain.model.User;
@@ -17,11 +18,12 @@ import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-//@AllArgsConstructor
+@AllArgsConstructor
 @NoArgsConstructor
 public class CastVoteUseCase {
     
@@ -33,6 +35,8 @@ public class CastVoteUseCase {
     private BlockchainService blockchainService;
 	@Autowired
     private BlockchainRepository blockchainRepository;
+	@Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public BlockchainRecord execute(Long userId, Long voteId, Long voteOptionId) {
@@ -62,6 +66,8 @@ public class CastVoteUseCase {
         voteRepository.save(vote);
         
         BlockchainRecord blockchainRecord = blockchainService.createVoteBlock(user, vote, voteOption);
-        return blockchainRepository.save(blockchainRecord);
+        BlockchainRecord savedRecord = blockchainRepository.save(blockchainRecord);
+        eventPublisher.publishEvent(new BallotCastEvent(voteId, voteOptionId, savedRecord.getId(), savedRecord.getTimestamp()));
+        return savedRecord;
     }
 }
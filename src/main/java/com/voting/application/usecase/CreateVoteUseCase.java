@@ -3,15 +3,19 @@
  */
 package com.voting.application.usecase;
 
-import com.voting.application.service.AIService;
+import com.voting.application.event.VoteCreatedEvent;
+import com.voting.application.event.VoteSavedEvent;
+import com.voting.application.service.PollDuplicateIndex;
+import com.voting.domain.model.AIEnhancementStatus;
 import com.voting.domain.model.User;
 import com.voting.domain.model.Vote;
 import com.voting.domain.model.VoteOption;
 import com.voting.domain.port.UserRepository;
 import com.voting.domain.port.VoteRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +23,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class CreateVoteUseCase {
     
 	@Autowired
@@ -27,7 +31,9 @@ public class CreateVoteUseCase {
 	@Autowired
     private UserRepository userRepository;
 	@Autowired
-    private AIService aiService;
+    private ApplicationEventPublisher eventPublisher;
+	@Autowired
+    private PollDuplicateIndex duplicateIndex;
     
     @Transactional
     public Vote execute(Long creatorId, String title, String description, 
@@ -37,19 +43,13 @@ public class CreateVoteUseCase {
         User creator = userRepository.findById(creatorId)
                 .orElseThrow(() -> new IllegalArgumentException("Creator not found"));
         
-        String aiEnhancedDescription = null;
-        if (useAIEnhancement && description != null && !description.isEmpty()) {
-            try {
-                aiEnhancedDescription = aiService.enhanceVoteDescription(title, description);
-            } catch (Exception e) {
-                aiEnhancedDescription = null;
-            }
-        }
+        // Enhancement runs in the background once this transaction has committed
+        boolean enhance = useAIEnhancement && description != null && !description.isEmpty();
         
         Vote vote = Vote.builder()
                 .title(title)
                 .description(description)
-                .aiEnhancedDescription(aiEnhancedDescription)
+                .aiEnhancementStatus(enhance ? AIEnhancementStatus.PENDING : AIEnhancementStatus.NONE)
                 .creator(creator)
                 .startDate(startDate)
                 .endDate(endDate)
@@ -65,6 +65,19 @@ public class CreateVoteUseCase {
             vote.getOptions().add(option);
         }
         
-        return voteRepository.save(vote);
+        // Looked up before saving so the new poll does not match itself
+        PollDuplicateIndex.Signature signature = duplicateIndex.signature(title, description);
+        List<Long> possibleDuplicateIds = duplicateIndex.findDuplicates(signature);
+        
+        Vote saved = voteRepository.save(vote);
+        saved.setPossibleDuplicateIds(possibleDuplicateIds);
+        // Indexed after commit, so a rolled-back poll is never reported as a duplicate
+        eventPublisher.publishEvent(new VoteSavedEvent(saved.getId(), signature));
+        
+        if (enhance) {
+            eventPublisher.publishEvent(new VoteCreatedEvent(saved.getId(), title, description));
+        }
+        
+        return saved;
     }
 }
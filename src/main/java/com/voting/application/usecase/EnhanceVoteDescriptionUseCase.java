@@ -0,0 +1,74 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import com.voting.application.event.VoteCreatedEvent;
+import com.voting.application.event.VoteDescriptionEnhancedEvent;
+import com.voting.application.service.AIService;
+import com.voting.domain.model.AIEnhancementStatus;
+import com.voting.domain.port.VoteRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the AI description enhancement of a new poll after its creation has committed,
+ * so that poll creation never waits on the AI provider. When the AI executor is
+ * saturated the enhancement is marked failed instead of running on the committing thread.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class EnhanceVoteDescriptionUseCase {
+    
+	@Autowired
+    private VoteRepository voteRepository;
+	@Autowired
+    private AIService aiService;
+	@Autowired
+    private ApplicationEventPublisher eventPublisher;
+	@Autowired
+    @Qualifier("aiTaskExecutor")
+    private Executor aiTaskExecutor;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCreated(VoteCreatedEvent event) {
+        try {
+            aiTaskExecutor.execute(() -> execute(event.getVoteId(), event.getTitle(), event.getDescription()));
+        } catch (RejectedExecutionException e) {
+            log.warn("AI enhancement of vote {} rejected: AI executor saturated", event.getVoteId());
+            record(event.getVoteId(), null, AIEnhancementStatus.FAILED);
+        }
+    }
+    
+    public AIEnhancementStatus execute(Long voteId, String title, String description) {
+        String aiEnhancedDescription = null;
+        AIEnhancementStatus status;
+        try {
+            // Fails rather than falling back, so a failed enhancement is never stored as completed
+            aiEnhancedDescription = aiService.requestEnhancement(title, description).join();
+            status = AIEnhancementStatus.COMPLETED;
+        } catch (Exception e) {
+            log.warn("AI enhancement failed for vote {}: {}", voteId, e.getMessage());
+            status = AIEnhancementStatus.FAILED;
+        }
+        
+        record(voteId, aiEnhancedDescription, status);
+        return status;
+    }
+    
+    private void record(Long voteId, String aiEnhancedDescription, AIEnhancementStatus status) {
+        voteRepository.updateAiEnhancement(voteId, aiEnhancedDescription, status);
+        eventPublisher.publishEvent(new VoteDescriptionEnhancedEvent(voteId, status, aiEnhancedDescription));
+    }
+}
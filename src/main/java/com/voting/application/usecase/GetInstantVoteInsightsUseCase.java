@@ -0,0 +1,147 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import com.voting.application.service.MaterialChangePolicy;
+import com.voting.application.service.VoteStatisticsEngine;
+import com.voting.domain.valueobject.VoteInsights;
+import com.voting.domain.valueobject.VoteInsights.NarrativeStatus;
+import com.voting.domain.valueobject.VoteStatistics;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers insight requests from the local statistics engine without waiting on a provider.
+ * The AI narrative is generated in the background and attached to the response once it
+ * has completed; it is regenerated only when {@link MaterialChangePolicy} says the tally
+ * moved materially.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class GetInstantVoteInsightsUseCase {
+    
+	@Autowired
+    private VoteStatisticsEngine statisticsEngine;
+	@Autowired
+    private GetVoteInsightsUseCase getVoteInsightsUseCase;
+	@Autowired
+    private MaterialChangePolicy materialChangePolicy;
+    
+    // Narratives are kept for as many polls as the statistics engine keeps tallies
+    @Value("${ai.stats.max-polls:1000}")
+    private int maxPolls = 1000;
+    
+    private final Map<Long, Narrative> narratives = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Narrative> eldest) {
+            return size() > maxPolls;
+        }
+    });
+    
+    public VoteInsights execute(Long voteId, boolean narrate) {
+        VoteStatistics statistics = statisticsEngine.snapshot(voteId);
+        if (!narrate) {
+            return VoteInsights.builder()
+                    .statistics(statistics)
+                    .narrativeStatus(NarrativeStatus.NOT_REQUESTED)
+                    .build();
+        }
+        
+        Narrative narrative = narrative(voteId, statistics);
+        VoteInsights.VoteInsightsBuilder insights = VoteInsights.builder().statistics(statistics);
+        if (narrative.text.isDone() && !narrative.text.isCompletedExceptionally()) {
+            return insights.narrative(narrative.text.join())
+                    .narrativeStatus(NarrativeStatus.READY)
+                    .narrativeBallotsBehind(statistics.getTotalVotes() - narrative.tally.getTotalVotes())
+                    .build();
+        }
+        
+        // Until the new narrative is ready the previous one is the closest description there is
+        Narrative previous = narrative.previous;
+        if (previous != null) {
+            insights.narrative(previous.text.join())
+                    .narrativeBallotsBehind(statistics.getTotalVotes() - previous.tally.getTotalVotes());
+        }
+        if (!narrative.text.isDone()) {
+            return insights.narrativeStatus(NarrativeStatus.PENDING).build();
+        }
+        narrative.reported = true;
+        return insights.narrativeStatus(NarrativeStatus.UNAVAILABLE).build();
+    }
+    
+    /**
+     * The narrative that still describes this tally; a new one is started only when the
+     * tally changed materially since the last one. A failed narrative is reported once and
+     * retried on the following request.
+     */
+    private Narrative narrative(Long voteId, VoteStatistics statistics) {
+        while (true) {
+            Narrative current = narratives.get(voteId);
+            boolean failed = current != null && current.text.isCompletedExceptionally();
+            if (current != null && !(failed && current.reported)
+                    && !materialChangePolicy.requiresRegeneration(current.tally, statistics)) {
+                return current;
+            }
+            
+            Narrative fresh = new Narrative(statistics, new CompletableFuture<>(), current != null ? current.lastReady() : null);
+            boolean claimed = current == null
+                    ? narratives.putIfAbsent(voteId, fresh) == null
+                    : narratives.replace(voteId, current, fresh);
+            if (claimed) {
+                start(voteId, fresh.text);
+                return fresh;
+            }
+        }
+    }
+    
+    private void start(Long voteId, CompletableFuture<String> target) {
+        try {
+            getVoteInsightsUseCase.executeAsync(voteId).whenComplete((text, error) -> {
+                if (error != null) {
+                    log.warn("AI narrative for vote {} failed: {}", voteId, error.getMessage());
+                    target.completeExceptionally(error);
+                } else {
+                    target.complete(text);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("AI narrative for vote {} failed: {}", voteId, e.getMessage());
+            target.completeExceptionally(e);
+        }
+    }
+    
+    private static final class Narrative {
+        private final VoteStatistics tally;
+        private final CompletableFuture<String> text;
+        private final Narrative previous;
+        private volatile boolean reported;
+        
+        private Narrative(VoteStatistics tally, CompletableFuture<String> text, Narrative previous) {
+            this.tally = tally;
+            this.text = text;
+            this.previous = previous;
+        }
+        
+        /**
+         * This narrative if it is ready, else the one it replaces; never a chain of them.
+         */
+        Narrative lastReady() {
+            if (text.isDone() && !text.isCompletedExceptionally()) {
+                return previous == null ? this : new Narrative(tally, text, null);
+            }
+            return previous;
+        }
+    }
+}
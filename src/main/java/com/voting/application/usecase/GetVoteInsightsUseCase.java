@@ -4,21 +4,109 @@
 package com.voting.application.usecase;
 
 import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import com.voting.application.service.AIService;
+import com.voting.application.service.MaterialChangePolicy;
+import com.voting.application.service.SingleFlight;
+import com.voting.application.service.VoteStatisticsEngine;
+import com.voting.domain.model.VoteAnalysis;
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.VoteAnalysisRepository;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.domain.valueobject.VoteStatistics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @AllArgsConstructor
+@Slf4j
 public class GetVoteInsightsUseCase {
     
 	@Autowired
     private AIService aiService;
+	@Autowired
+    private VoteStatisticsEngine statisticsEngine;
+	@Autowired
+    private PromptSecurityPort promptSecurityPort;
+	@Autowired
+    private VoteAnalysisRepository voteAnalysisRepository;
+	@Autowired
+    private MaterialChangePolicy materialChangePolicy;
+    
+    // The last insights are kept for as many polls as the statistics engine keeps tallies
+    @Value("${ai.stats.max-polls:1000}")
+    private int maxPolls = 1000;
     
+    private final SingleFlight<InsightKey, String> inFlight = new SingleFlight<>();
+    private final Map<Long, Generated> latest = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Generated> eldest) {
+            return size() > maxPolls;
+        }
+    });
+    
+    /**
+     * Serves the stored analysis when the batch job has produced one, and the last generated
+     * analysis while the tally has not changed materially since. Otherwise concurrent requests
+     * for the same poll and tally share one provider call and one response validation.
+     */
     public String execute(Long voteId) {
-        return aiService.generateVoteInsights(voteId);
+        if (voteId != null) {
+            Optional<VoteAnalysis> stored = voteAnalysisRepository.findByVoteId(voteId);
+            if (stored.isPresent()) {
+                return stored.get().getAnalysis();
+            }
+        }
+        
+        VoteStatistics current = statisticsEngine.snapshot(voteId);
+        Generated previous = latest.get(voteId);
+        if (previous != null && !materialChangePolicy.requiresRegeneration(previous.statistics(), current)) {
+            return previous.insights();
+        }
+        
+        InsightKey key = new InsightKey(voteId, aiService.getProviderName(), current.getTotalVotes());
+        return inFlight.execute(key, () -> {
+            String insights = generate(voteId);
+            latest.put(voteId, new Generated(current, insights));
+            return insights;
+        });
+    }
+    
+    /**
+     * Same as {@link #execute(Long)} but off the calling thread, for callers that only
+     * attach the insights once they are ready.
+     */
+    @Async("aiTaskExecutor")
+    public CompletableFuture<String> executeAsync(Long voteId) {
+        return CompletableFuture.completedFuture(execute(voteId));
+    }
+    
+    private String generate(Long voteId) {
+        String insights = aiService.generateVoteInsights(voteId);
+        
+        SecurityCheckResult validation = promptSecurityPort.validateVoteAnalysis(insights, voteId);
+        if (!validation.isPassed()) {
+            log.warn("AI insights for vote {} failed validation: {}", voteId, validation.getSummary());
+            if (validation.isCriticalThreat()) {
+                throw new SecurityException("AI insights contain security threats");
+            }
+        }
+        return validation.sanitizedOr(insights);
+    }
+    
+    record InsightKey(Long voteId, String provider, long tallyVersion) {
+    }
+    
+    record Generated(VoteStatistics statistics, String insights) {
     }
 }
@@ -0,0 +1,131 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.voting.application.service.AIService;
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.SecurityScanSession;
+import com.voting.domain.port.VoteRepository;
+import com.voting.domain.valueobject.SecurityCheckResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Streams AI insights for a vote while validating the output as it grows. Each token is
+ * scanned once by an incremental security session, so validation stays linear in the output
+ * length. Text that a later token could still complete into a critical threat is held back
+ * until the scan has decided it, so a threat is caught before any of it reaches the client,
+ * and a critical finding aborts the provider stream.
+ */
+@Service
+@AllArgsConstructor
+@NoArgsConstructor
+@Slf4j
+public class StreamVoteInsightsUseCase {
+    
+	@Autowired
+    private AIService aiService;
+	@Autowired
+    private VoteRepository voteRepository;
+	@Autowired
+    private PromptSecurityPort promptSecurityPort;
+    
+    /**
+     * Returns a future of the full validated text; chunks reach {@code onChunk} as they pass
+     * validation. The future fails with {@link SecurityException} when the stream was aborted,
+     * and cancelling it stops the provider stream.
+     */
+    public CompletableFuture<String> execute(Long voteId, Consumer<String> onChunk) {
+        Vote vote = voteRepository.findById(voteId)
+                .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
+        
+        StreamValidator validator = new StreamValidator(voteId, onChunk);
+        CompletableFuture<String> stream = aiService.streamVoteResults(vote, validator::append);
+        
+        CompletableFuture<String> result = new CompletableFuture<>();
+        stream.whenComplete((insights, error) -> {
+            if (error != null) {
+                // An aborted, failed or cancelled stream still reports what the scan found
+                validator.close();
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            try {
+                validator.finish();
+                result.complete(insights);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((insights, error) -> {
+            if (result.isCancelled()) {
+                stream.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    private class StreamValidator {
+        
+        private final Long voteId;
+        private final Consumer<String> onChunk;
+        private final SecurityScanSession scan;
+        // Only the held-back tail that has not been sent yet
+        private final StringBuilder pending = new StringBuilder();
+        
+        StreamValidator(Long voteId, Consumer<String> onChunk) {
+            this.voteId = voteId;
+            this.onChunk = onChunk;
+            this.scan = promptSecurityPort.openVoteAnalysisScan(voteId);
+        }
+        
+        void append(String delta) {
+            SecurityCheckResult result = scan.append(delta);
+            abortIfCritical(result);
+            pending.append(delta);
+            emit(pending.length() - scan.getUndecidedLength());
+        }
+        
+        void finish() {
+            abortIfCritical(scan.finish());
+            emit(pending.length());
+        }
+        
+        /**
+         * Ends the scan without sending the held-back tail.
+         */
+        void close() {
+            try {
+                scan.finish();
+            } catch (RuntimeException e) {
+                log.warn("Could not finish security scan of AI insights stream for vote {}: {}", voteId, e.getMessage());
+            }
+        }
+        
+        private void abortIfCritical(SecurityCheckResult result) {
+            if (scan.isAborted()) {
+                log.warn("Aborting AI insights stream for vote {}: {}", voteId, result.getSummary());
+                throw new SecurityException("AI insights stream aborted: " + result.getLastError());
+            }
+        }
+        
+        private void emit(int length) {
+            if (length > 0) {
+                onChunk.accept(pending.substring(0, length));
+                pending.delete(0, length);
+            }
+        }
+    }
+}
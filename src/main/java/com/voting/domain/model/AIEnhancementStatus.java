@@ -0,0 +1,11 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.model;
+
+public enum AIEnhancementStatus {
+    NONE,
+    PENDING,
+    COMPLETED,
+    FAILED
+}
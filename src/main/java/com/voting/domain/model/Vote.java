@@ -105,6 +105,22 @@ public class Vote {
 		this.aiEnhancedDescription = aiEnhancedDescription;
 	}
 
+	public AIEnhancementStatus getAiEnhancementStatus() {
+		return aiEnhancementStatus;
+	}
+
+	public void setAiEnhancementStatus(AIEnhancementStatus aiEnhancementStatus) {
+		this.aiEnhancementStatus = aiEnhancementStatus;
+	}
+
+	public List<Long> getPossibleDuplicateIds() {
+		return possibleDuplicateIds;
+	}
+
+	public void setPossibleDuplicateIds(List<Long> possibleDuplicateIds) {
+		this.possibleDuplicateIds = possibleDuplicateIds;
+	}
+
 	@Column(nullable = false)
     private String title;
     
@@ -135,6 +151,15 @@ public class Vote {
     @Column(length = 2000)
     private String aiEnhancedDescription;
     
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private AIEnhancementStatus aiEnhancementStatus = AIEnhancementStatus.NONE;
+    
+    // Near-duplicate polls found when this poll was created; not persisted
+    @Transient
+    private List<Long> possibleDuplicateIds;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
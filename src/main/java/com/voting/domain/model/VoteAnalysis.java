@@ -0,0 +1,43 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored AI analysis of a poll's results, generated off the request path.
+ */
+@Entity
+@Table(name = "vote_analyses")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteAnalysis {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true)
+    private Long voteId;
+    
+    @Column(nullable = false, length = 4000)
+    private String analysis;
+    
+    @Column(length = 50)
+    private String provider;
+    
+    @Column(nullable = false)
+    private Long tallyVersion;
+    
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,16 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.port;
+
+import com.voting.domain.model.VoteAnalysis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JpaVoteAnalysisRepository extends JpaRepository<VoteAnalysis, Long> {
+    
+    Optional<VoteAnalysis> findByVoteId(Long voteId);
+}
@@ -3,14 +3,18 @@
  */
 package com.voting.domain.port;
 
+import com.voting.domain.model.AIEnhancementStatus;
 import com.voting.domain.model.Vote;
 
 import lombok.AllArgsConstructor;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,4 +24,12 @@ public interface JpaVoteRepository extends JpaRepository<Vote, Long> {
     List<Vote> findActiveVotes();
     
     List<Vote> findByCreatorId(Long creatorId);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Vote v SET v.aiEnhancedDescription = :aiEnhancedDescription, v.aiEnhancementStatus = :status WHERE v.id = :voteId")
+    int updateAiEnhancement(Long voteId, String aiEnhancedDescription, AIEnhancementStatus status);
+    
+    @Query("SELECT DISTINCT v FROM Vote v LEFT JOIN FETCH v.options WHERE v.endDate > :since AND v.endDate <= :until AND NOT EXISTS (SELECT a FROM VoteAnalysis a WHERE a.voteId = v.id)")
+    List<Vote> findClosedWithoutAnalysis(LocalDateTime since, LocalDateTime until);
 }
@@ -3,17 +3,38 @@
  */
 package com.voting.domain.port;
 
+import com.voting.domain.valueobject.BatchSecurityCheckResult;
 import com.voting.domain.valueobject.SecurityCheckResult;
 
+import java.util.List;
+
 public interface PromptSecurityPort {
    
     SecurityCheckResult validatePrompt(String userInput);
    
+    /**
+     * Validates several prompt fields, such as a poll's title, description and options, in
+     * one call, on behalf of {@code userId}. With {@code failFastOnCritical} the check stops
+     * at the first field with a critical threat.
+     */
+    BatchSecurityCheckResult validatePrompts(List<String> fields, Long userId, boolean failFastOnCritical);
+   
     SecurityCheckResult validateAIResponse(String aiOutput);
    
     SecurityCheckResult validateVoteDescription(String voteDescription, Long userId);
    
     SecurityCheckResult validateVoteAnalysis(String analysisOutput, Long voteId);
    
+    /**
+     * Starts an incremental check of an AI response delivered in chunks. Unlike
+     * {@link #validateAIResponse} it has no length limit, because it never holds the text.
+     */
+    SecurityScanSession openAIResponseScan();
+   
+    /**
+     * Incremental counterpart of {@link #validateVoteAnalysis} for streamed analyses.
+     */
+    SecurityScanSession openVoteAnalysisScan(Long voteId);
+   
     boolean isSecurityOperational();
 }
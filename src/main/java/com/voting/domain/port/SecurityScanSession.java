@@ -0,0 +1,39 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.port;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+
+/**
+ * Security check over text that arrives in pieces, such as a streamed AI response. Each
+ * chunk is scanned once, threats split across chunks are still found, and nothing but the
+ * scanner state is retained, so the cost is linear in the total length however many chunks
+ * there are. Not thread-safe; use one session per stream.
+ */
+public interface SecurityScanSession {
+    
+    /**
+     * Scans the next chunk and returns the verdict for everything appended so far. Once a
+     * critical threat is found the session is aborted and further chunks are not scanned.
+     */
+    SecurityCheckResult append(CharSequence chunk);
+    
+    /**
+     * Ends the session and returns the final verdict; records the check like the
+     * whole-text validations do.
+     */
+    SecurityCheckResult finish();
+    
+    /**
+     * True once a critical threat has been found.
+     */
+    boolean isAborted();
+    
+    /**
+     * How many of the last characters appended so far a later chunk could still turn into a
+     * critical threat; callers that relay the text hold these back. 0 when no match is in
+     * progress, and {@link Integer#MAX_VALUE} when the match in progress has no length bound.
+     */
+    int getUndecidedLength();
+}
@@ -0,0 +1,13 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.port;
+
+import com.voting.domain.model.VoteAnalysis;
+
+import java.util.Optional;
+
+public interface VoteAnalysisRepository {
+    VoteAnalysis save(VoteAnalysis analysis);
+    Optional<VoteAnalysis> findByVoteId(Long voteId);
+}
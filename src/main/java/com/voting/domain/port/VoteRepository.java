@@ -5,10 +5,15 @@ package com.voting.domain.port;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.voting.domain.model.AIEnhancementStatus;
 import com.voting.domain.model.Vote;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +26,13 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     @Query("SELECT v FROM Vote v WHERE v.active = true")
     List<Vote> findActiveVotes();
     List<Vote> findByCreatorId(Long creatorId);
+    
+    // Own transaction: also called from after-commit listeners, where the creating transaction is finished
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE Vote v SET v.aiEnhancedDescription = :aiEnhancedDescription, v.aiEnhancementStatus = :status WHERE v.id = :voteId")
+    int updateAiEnhancement(Long voteId, String aiEnhancedDescription, AIEnhancementStatus status);
+    
+    @Query("SELECT DISTINCT v FROM Vote v LEFT JOIN FETCH v.options WHERE v.endDate > :since AND v.endDate <= :until AND NOT EXISTS (SELECT a FROM VoteAnalysis a WHERE a.voteId = v.id)")
+    List<Vote> findClosedWithoutAnalysis(LocalDateTime since, LocalDateTime until);
 }
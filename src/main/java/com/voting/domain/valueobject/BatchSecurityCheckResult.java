@@ -0,0 +1,73 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of validating several fields in one call, with one verdict per checked field in
+ * the order the fields were given. When the check stopped early on a critical threat the
+ * remaining fields have no verdict.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchSecurityCheckResult {
+
+    private boolean passed;
+
+    private String checkId;
+
+    private LocalDateTime checkedAt;
+
+    private int fieldCount;
+
+    private boolean stoppedEarly;
+
+    private List<FieldVerdict> verdicts;
+
+    /**
+     * Index of the first field that failed, or -1 when every checked field passed.
+     */
+    public int firstFailedIndex() {
+        if (verdicts != null) {
+            for (int i = 0; i < verdicts.size(); i++) {
+                if (!verdicts.get(i).isPassed()) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class FieldVerdict {
+
+        public static final FieldVerdict PASSED = new FieldVerdict(true, "LOW", Map.of(), null);
+
+        private final boolean passed;
+
+        private final String riskLevel;
+
+        private final Map<String, String> detectedThreats;
+
+        private final String error;
+
+        public boolean isCriticalThreat() {
+            return "CRITICAL".equals(riskLevel);
+        }
+    }
+}
@@ -20,6 +20,12 @@ import java.util.Map;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class SecurityCheckResult {
     
+    /**
+     * Shared result for input that passed every check unchanged. It carries no check id,
+     * digest, timestamp, sanitized input or context, and cannot be modified.
+     */
+    public static final SecurityCheckResult CLEAN = new Clean();
+    
     private boolean passed;
     
     private String checkId;
@@ -64,6 +70,13 @@ public class SecurityCheckResult {
             .build();
     }
     
+    /**
+     * The sanitized input, or {@code checkedInput} when the check did not change it.
+     */
+    public String sanitizedOr(String checkedInput) {
+        return sanitizedInput != null ? sanitizedInput : checkedInput;
+    }
+    
     public void addThreat(String threatType, String description) {
         if (this.detectedThreats == null) {
             this.detectedThreats = new HashMap<>();
@@ -93,4 +106,76 @@ public class SecurityCheckResult {
             passed, riskLevel, threatCount, lastError != null ? lastError : "none"
         );
     }
+    
+    private static final class Clean extends SecurityCheckResult {
+        
+        private Clean() {
+            super(true, null, null, null, null, "LOW", 0, Map.of(), null, Map.of());
+        }
+        
+        @Override
+        public void setPassed(boolean passed) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setCheckId(String checkId) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setInputHash(String inputHash) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setCheckedAt(LocalDateTime checkedAt) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setLastError(String lastError) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setRiskLevel(String riskLevel) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setThreatCount(int threatCount) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setDetectedThreats(Map<String, String> detectedThreats) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setSanitizedInput(String sanitizedInput) {
+            throw immutable();
+        }
+        
+        @Override
+        public void setContext(Map<String, Object> context) {
+            throw immutable();
+        }
+        
+        @Override
+        public void addThreat(String threatType, String description) {
+            throw immutable();
+        }
+        
+        @Override
+        public void addContext(String key, Object value) {
+            throw immutable();
+        }
+        
+        
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("SecurityCheckResult.CLEAN is shared and cannot be modified");
+        }
+    }
 }
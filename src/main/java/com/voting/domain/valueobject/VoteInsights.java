@@ -0,0 +1,32 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Locally computed statistics of a poll, with the AI narrative attached once it is ready.
+ * While a narrative for a materially changed tally is PENDING the previous one is attached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteInsights {
+    private VoteStatistics statistics;
+    private String narrative;
+    private NarrativeStatus narrativeStatus;
+    /** Ballots cast since the tally the narrative was generated for. */
+    private long narrativeBallotsBehind;
+    
+    public enum NarrativeStatus {
+        NOT_REQUESTED,
+        PENDING,
+        READY,
+        UNAVAILABLE
+    }
+}
@@ -0,0 +1,57 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.domain.valueobject;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Descriptive statistics of a poll's tally: leader, margin over the runner-up, share per
+ * option, Shannon entropy of the distribution and ballots per time bucket.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteStatistics {
+    private Long voteId;
+    private String title;
+    private long totalVotes;
+    private Long leaderOptionId;
+    private String leaderOptionText;
+    private boolean tie;
+    private long marginVotes;
+    /** Difference between the two leading shares, in percentage points. */
+    private double marginPoints;
+    private double entropyBits;
+    /** Entropy divided by its maximum for the number of options: 0 is unanimous, 1 is an even split. */
+    private double normalizedEntropy;
+    private List<OptionShare> options;
+    private List<TurnoutBucket> turnout;
+    private LocalDateTime lastBallotAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OptionShare {
+        private Long optionId;
+        private String optionText;
+        private long votes;
+        /** Percentage of all ballots. */
+        private double share;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TurnoutBucket {
+        private LocalDateTime start;
+        private long ballots;
+    }
+}
@@ -0,0 +1,107 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.service.OpenAiService;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived HTTP plumbing shared by every AI provider call.
+ * One connection pool and dispatcher are created at startup so that
+ * TLS sessions and keep-alive connections are reused across requests.
+ */
+@Configuration
+@Slf4j
+public class AIClientConfig {
+
+    @Value("${openai.api.key:}")
+    private String openaiApiKey;
+
+    @Value("${openai.api.url:https://api.openai.com/}")
+    private String openaiApiUrl;
+
+    @Value("${ai.http.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${ai.http.keep-alive:5m}")
+    private Duration keepAlive;
+
+    @Value("${ai.http.max-requests:64}")
+    private int maxRequests;
+
+    @Value("${ai.http.max-requests-per-host:32}")
+    private int maxRequestsPerHost;
+
+    @Value("${ai.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${ai.http.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${ai.http.write-timeout:30s}")
+    private Duration writeTimeout;
+
+    @Bean(destroyMethod = "evictAll")
+    public ConnectionPool aiConnectionPool() {
+        return new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Bean(destroyMethod = "cancelAll")
+    public Dispatcher aiHttpDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return dispatcher;
+    }
+
+    @Bean
+    public OkHttpClient aiHttpClient(ConnectionPool aiConnectionPool, Dispatcher aiHttpDispatcher) {
+        log.info("Initializing shared AI HTTP client: maxIdle={}, keepAlive={}, connectTimeout={}, readTimeout={}, writeTimeout={}",
+            maxIdleConnections, keepAlive, connectTimeout, readTimeout, writeTimeout);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(aiConnectionPool)
+                .dispatcher(aiHttpDispatcher)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    @Bean
+    public OpenAiApi openAiApi(OkHttpClient aiHttpClient) {
+        // newBuilder() shares the pool and dispatcher of the base client
+        OkHttpClient client = aiHttpClient.newBuilder()
+                .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                        .header("Authorization", "Bearer " + openaiApiKey)
+                        .build()))
+                .build();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(openaiApiUrl)
+                .client(client)
+                .addConverterFactory(JacksonConverterFactory.create(OpenAiService.defaultObjectMapper()))
+                // Async adapter: calls are enqueued on the shared dispatcher instead of blocking the subscriber
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.createAsync())
+                .build();
+
+        return retrofit.create(OpenAiApi.class);
+    }
+}
@@ -0,0 +1,153 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import retrofit2.HttpException;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Usage and latency of AI provider calls, tagged by provider and operation, published
+ * through the actuator metrics endpoint:
+ * <ul>
+ *   <li>{@code ai.provider.latency} - time in the provider per call, with its outcome
+ *       (success, error, timeout, rate_limited, rejected, cancelled), as a histogram</li>
+ *   <li>{@code ai.provider.first-token} - time to the first streamed token</li>
+ *   <li>{@code ai.provider.tokens} - prompt and completion tokens reported by the provider</li>
+ *   <li>{@code ai.provider.fallbacks} - failures answered with a fallback instead of an error</li>
+ *   <li>{@code ai.cache.requests} - response cache lookups by result (hit, miss)</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class AIMetrics {
+
+	@Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Times the call from the moment it is made until its future completes.
+     */
+    public <T> CompletableFuture<T> timed(String provider, String operation, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            latency(provider, operation, outcome(e)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        future.whenComplete((result, error) ->
+                latency(provider, operation, outcome(error)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        return future;
+    }
+
+    public void recordFirstToken(String provider, String operation, long startNanos) {
+        Timer.builder("ai.provider.first-token")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokens(String provider, String operation, long promptTokens, long completionTokens) {
+        tokens(provider, operation, "prompt").increment(promptTokens);
+        tokens(provider, operation, "completion").increment(completionTokens);
+    }
+
+    public void recordCacheLookup(String provider, String operation, boolean hit) {
+        Counter.builder("ai.cache.requests")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("result", hit ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Counts a failure that the caller answered with a fallback value, and logs it so the
+     * cause is not lost with the exception.
+     */
+    public void recordFallback(String provider, String operation, Throwable cause) {
+        String outcome = cause != null ? outcome(cause) : "not_configured";
+        log.warn("AI {} {} fell back ({}): {}", provider, operation, outcome,
+                cause != null ? unwrap(cause).getMessage() : "API key not configured");
+        Counter.builder("ai.provider.fallbacks")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("reason", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = unwrap(error);
+        if (cause instanceof CancellationException) {
+            return "cancelled";
+        }
+        if (cause instanceof TimeoutException || cause instanceof InterruptedIOException) {
+            // OkHttp reports call and socket timeouts as InterruptedIOException subclasses
+            return "timeout";
+        }
+        if (cause instanceof AIProviderUnavailableException) {
+            return "rejected";
+        }
+        if (cause instanceof HttpException httpError && httpError.code() == 429
+                || cause.getCause() instanceof HttpException nested && nested.code() == 429
+                || cause.getMessage() != null && cause.getMessage().endsWith("HTTP 429")) {
+            return "rate_limited";
+        }
+        return "error";
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private Timer latency(String provider, String operation, String outcome) {
+        return Timer.builder("ai.provider.latency")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry);
+    }
+
+    private Counter tokens(String provider, String operation, String type) {
+        return Counter.builder("ai.provider.tokens")
+                .tag("provider", provider)
+                .tag("operation", operation)
+                .tag("type", type)
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+}
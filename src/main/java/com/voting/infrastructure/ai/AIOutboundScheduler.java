@@ -0,0 +1,387 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Paces outbound calls to each provider's request and token quotas instead of letting
+ * bursts run into 429s. Calls go out immediately while quota is left; otherwise they wait
+ * in a per-provider queue where interactive calls are sent before batch work. Batch calls
+ * are shed once too many of them are queued, and interactive calls displace queued batch
+ * calls when the queue is full. A 429 from the provider pauses its queue for Retry-After.
+ */
+@Component
+@Slf4j
+public class AIOutboundScheduler {
+
+	@Autowired
+    private MeterRegistry meterRegistry;
+	@Autowired
+    private Environment environment;
+
+    @Value("${ai.outbound.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.outbound.max-queue-depth:64}")
+    private int maxQueueDepth;
+
+    @Value("${ai.outbound.max-batch-queued:16}")
+    private int maxBatchQueued;
+
+    @Value("${ai.outbound.max-queue-wait:10s}")
+    private Duration maxQueueWait;
+
+    @Value("${ai.outbound.default-retry-after:10s}")
+    private Duration defaultRetryAfter;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-outbound");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        drainer.shutdownNow();
+    }
+
+    /**
+     * Sends the call once the provider's quota admits {@code estimatedTokens}. The returned
+     * future fails with {@link AIProviderUnavailableException} when the call is shed or
+     * waits longer than {@code ai.outbound.max-queue-wait}; cancelling it cancels the call.
+     */
+    public <T> CompletableFuture<T> submit(String provider, AIPriority priority, int estimatedTokens,
+                                           Supplier<CompletableFuture<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Lane lane = lanes.computeIfAbsent(provider, this::newLane);
+        long now = clock.millis();
+        Pending<T> pending = new Pending<>(priority, sequence.incrementAndGet(), estimatedTokens, call,
+                now, now + maxQueueWait.toMillis());
+
+        Pending<?> displaced = null;
+        boolean sendNow = false;
+        synchronized (lane) {
+            if (lane.queue.isEmpty() && lane.waitMillis(estimatedTokens, now) == 0) {
+                lane.consume(estimatedTokens, now);
+                lane.sent(pending, now);
+                sendNow = true;
+            } else {
+                if (priority == AIPriority.BATCH && lane.batchQueued >= maxBatchQueued) {
+                    return shed(lane, pending, "batch queue full");
+                }
+                if (lane.queue.size() >= maxQueueDepth) {
+                    displaced = priority == AIPriority.INTERACTIVE ? lane.removeNewestBatch() : null;
+                    if (displaced == null) {
+                        return shed(lane, pending, "queue full");
+                    }
+                }
+                lane.enqueue(pending);
+                scheduleDrain(lane, now);
+            }
+        }
+
+        if (displaced != null) {
+            lane.shed(displaced.priority).increment();
+            displaced.result.completeExceptionally(
+                    new AIProviderUnavailableException(provider, "rate limited: displaced by interactive call"));
+        }
+        if (sendNow) {
+            start(pending);
+        }
+        return pending.result;
+    }
+
+    /**
+     * Pauses the provider's queue after it answered 429; {@code retryAfter} may be null.
+     */
+    public void onRateLimited(String provider, Duration retryAfter) {
+        Lane lane = lanes.computeIfAbsent(provider, this::newLane);
+        Duration pause = retryAfter != null && !retryAfter.isNegative() ? retryAfter : defaultRetryAfter;
+        long now = clock.millis();
+        long until = now + pause.toMillis();
+        log.warn("AI provider {} rate limited us; pausing outbound calls for {}", provider, pause);
+        synchronized (lane) {
+            lane.requests.blockUntil(until);
+            lane.tokens.blockUntil(until);
+            scheduleDrain(lane, now);
+        }
+    }
+
+    public int queueDepth(String provider) {
+        Lane lane = lanes.get(provider);
+        if (lane == null) {
+            return 0;
+        }
+        synchronized (lane) {
+            return lane.queue.size();
+        }
+    }
+
+    /**
+     * Clock time of the next scheduled drain of the provider's queue, or -1 if none is scheduled.
+     */
+    long nextDrainAt(String provider) {
+        Lane lane = lanes.get(provider);
+        if (lane == null) {
+            return -1;
+        }
+        synchronized (lane) {
+            return lane.drain != null ? lane.drainAt : -1;
+        }
+    }
+
+    /**
+     * Sends every queued call the quota admits, in priority order, and schedules the next
+     * drain for when the head of the queue will fit or a queued call times out.
+     */
+    void drain(String provider) {
+        Lane lane = lanes.get(provider);
+        if (lane == null) {
+            return;
+        }
+
+        List<Pending<?>> ready = new ArrayList<>();
+        List<Pending<?>> expired = new ArrayList<>();
+        synchronized (lane) {
+            lane.drain = null;
+            long now = clock.millis();
+            for (Iterator<Pending<?>> it = lane.queue.iterator(); it.hasNext(); ) {
+                Pending<?> queued = it.next();
+                if (queued.result.isDone() || queued.deadline <= now) {
+                    it.remove();
+                    lane.dequeued(queued);
+                    if (!queued.result.isDone()) {
+                        expired.add(queued);
+                    }
+                }
+            }
+            while (!lane.queue.isEmpty() && lane.waitMillis(lane.queue.peek().tokens, now) == 0) {
+                Pending<?> head = lane.queue.poll();
+                lane.consume(head.tokens, now);
+                lane.dequeued(head);
+                lane.sent(head, now);
+                ready.add(head);
+            }
+            scheduleDrain(lane, now);
+        }
+
+        for (Pending<?> queued : expired) {
+            lane.shed(queued.priority).increment();
+            queued.result.completeExceptionally(new AIProviderUnavailableException(provider, "rate limited: queue wait exceeded"));
+        }
+        ready.forEach(this::start);
+    }
+
+    private <T> void start(Pending<T> pending) {
+        CompletableFuture<T> call;
+        try {
+            call = pending.call.get();
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+            return;
+        }
+        call.whenComplete((value, error) -> {
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+        // A caller that gives up, by cancelling or by completing the result itself, cancels the provider call too
+        pending.result.whenComplete((value, error) -> {
+            if (error != null) {
+                call.cancel(true);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> shed(Lane lane, Pending<T> pending, String reason) {
+        lane.shed(pending.priority).increment();
+        return CompletableFuture.failedFuture(new AIProviderUnavailableException(lane.provider, "rate limited: " + reason));
+    }
+
+    /**
+     * Makes sure a drain runs by the time the head of the queue fits the quota or the first
+     * queued call times out, whichever comes first, moving a later scheduled drain forward.
+     * Called with the lane locked.
+     */
+    private void scheduleDrain(Lane lane, long now) {
+        if (lane.queue.isEmpty()) {
+            return;
+        }
+        long earliestDeadline = Long.MAX_VALUE;
+        for (Pending<?> queued : lane.queue) {
+            earliestDeadline = Math.min(earliestDeadline, queued.deadline);
+        }
+        long delay = Math.max(1, Math.min(lane.waitMillis(lane.queue.peek().tokens, now), earliestDeadline - now));
+        if (lane.drain != null) {
+            if (lane.drainAt <= now + delay) {
+                return;
+            }
+            lane.drain.cancel(false);
+        }
+        lane.drainAt = now + delay;
+        lane.drain = drainer.schedule(() -> drain(lane.provider), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private Lane newLane(String provider) {
+        long now = clock.millis();
+        Lane lane = new Lane(provider,
+                new TokenBucket(limit(provider, "requests-per-minute"), now),
+                new TokenBucket(limit(provider, "tokens-per-minute"), now),
+                shedCounter(provider, AIPriority.INTERACTIVE),
+                shedCounter(provider, AIPriority.BATCH),
+                Timer.builder("ai.provider.queue.wait").tag("provider", provider).register(meterRegistry));
+        Gauge.builder("ai.provider.queue.depth", lane, l -> {
+                    synchronized (l) {
+                        return l.queue.size();
+                    }
+                })
+                .tag("provider", provider)
+                .register(meterRegistry);
+        return lane;
+    }
+
+    private Counter shedCounter(String provider, AIPriority priority) {
+        return Counter.builder("ai.provider.calls.shed")
+                .description("Calls dropped by the outbound scheduler: queue full, displaced or waited too long")
+                .tag("provider", provider)
+                .tag("priority", priority.name())
+                .register(meterRegistry);
+    }
+
+    private long limit(String provider, String name) {
+        String value = environment.getProperty("ai.outbound." + provider + "." + name);
+        return Long.parseLong(value != null ? value : environment.getProperty("ai.outbound." + name, "0"));
+    }
+
+    /**
+     * Prompt tokens at four characters per token plus the completion budget.
+     */
+    public static int estimateTokens(String prompt, int maxTokens) {
+        return (prompt.length() + 3) / 4 + maxTokens;
+    }
+
+    private static final class Lane {
+        private final String provider;
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+        private final Counter shedInteractive;
+        private final Counter shedBatch;
+        private final Timer queueWait;
+        private final PriorityQueue<Pending<?>> queue = new PriorityQueue<>(
+                Comparator.<Pending<?>, AIPriority>comparing(p -> p.priority).thenComparingLong(p -> p.sequence));
+        private int batchQueued;
+        private ScheduledFuture<?> drain;
+        private long drainAt;
+
+        private Lane(String provider, TokenBucket requests, TokenBucket tokens,
+                     Counter shedInteractive, Counter shedBatch, Timer queueWait) {
+            this.provider = provider;
+            this.requests = requests;
+            this.tokens = tokens;
+            this.shedInteractive = shedInteractive;
+            this.shedBatch = shedBatch;
+            this.queueWait = queueWait;
+        }
+
+        long waitMillis(int estimatedTokens, long now) {
+            return Math.max(requests.millisUntilAvailable(1, now), tokens.millisUntilAvailable(estimatedTokens, now));
+        }
+
+        void consume(int estimatedTokens, long now) {
+            requests.consume(1, now);
+            tokens.consume(estimatedTokens, now);
+        }
+
+        void enqueue(Pending<?> pending) {
+            queue.add(pending);
+            if (pending.priority == AIPriority.BATCH) {
+                batchQueued++;
+            }
+        }
+
+        void dequeued(Pending<?> pending) {
+            if (pending.priority == AIPriority.BATCH) {
+                batchQueued--;
+            }
+        }
+
+        void sent(Pending<?> pending, long now) {
+            queueWait.record(now - pending.enqueuedAt, TimeUnit.MILLISECONDS);
+        }
+
+        Pending<?> removeNewestBatch() {
+            Pending<?> newest = null;
+            for (Pending<?> queued : queue) {
+                if (queued.priority == AIPriority.BATCH && (newest == null || queued.sequence > newest.sequence)) {
+                    newest = queued;
+                }
+            }
+            if (newest != null) {
+                queue.remove(newest);
+                dequeued(newest);
+            }
+            return newest;
+        }
+
+        Counter shed(AIPriority priority) {
+            return priority == AIPriority.INTERACTIVE ? shedInteractive : shedBatch;
+        }
+    }
+
+    private static final class Pending<T> {
+        private final AIPriority priority;
+        private final long sequence;
+        private final int tokens;
+        private final Supplier<CompletableFuture<T>> call;
+        private final long enqueuedAt;
+        private final long deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Pending(AIPriority priority, long sequence, int tokens, Supplier<CompletableFuture<T>> call,
+                        long enqueuedAt, long deadline) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.tokens = tokens;
+            this.call = call;
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+        }
+    }
+}
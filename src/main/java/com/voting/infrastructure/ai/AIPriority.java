@@ -0,0 +1,14 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+/**
+ * Order in which queued provider calls are sent once quota is available.
+ */
+public enum AIPriority {
+    /** A user is waiting on the answer (insights, analyses, streams). */
+    INTERACTIVE,
+    /** Background work that can wait or be shed (description enhancement, batch analysis). */
+    BATCH
+}
@@ -0,0 +1,24 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.voting.domain.model.Vote;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Raw, fallback-free access to one AI provider, used by {@link RoutingAIService}.
+ * Futures fail when the provider does (including while it is unconfigured) and
+ * cancelling them cancels the underlying HTTP call.
+ */
+public interface AIProvider {
+    String getProviderName();
+    boolean isConfigured();
+    CompletableFuture<String> requestEnhancement(String title, String description);
+    CompletableFuture<String> requestAnalysis(Vote vote);
+    CompletableFuture<String> streamAnalysis(Vote vote, Consumer<String> onDelta);
+    CompletableFuture<String> requestCompletion(String prompt, int maxTokens, Duration timeout);
+}
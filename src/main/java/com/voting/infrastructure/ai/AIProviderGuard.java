@@ -0,0 +1,137 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-provider resilience around outbound AI calls: a circuit breaker, a bulkhead
+ * limiting concurrent calls and a hard deadline per call. Rejected calls fail
+ * immediately with {@link AIProviderUnavailableException} so callers can fall back
+ * without holding a thread.
+ */
+@Component
+@Slf4j
+public class AIProviderGuard {
+    
+	@Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${ai.guard.window-size:20}")
+    private int windowSize;
+    
+    @Value("${ai.guard.minimum-calls:10}")
+    private int minimumCalls;
+    
+    @Value("${ai.guard.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+    
+    @Value("${ai.guard.open-duration:30s}")
+    private Duration openDuration;
+    
+    @Value("${ai.guard.half-open-probes:2}")
+    private int halfOpenProbes;
+    
+    @Value("${ai.guard.max-concurrent-calls:16}")
+    private int maxConcurrentCalls;
+    
+    private Clock clock = Clock.systemUTC();
+    
+    private final ConcurrentHashMap<String, Guard> guards = new ConcurrentHashMap<>();
+    
+    /**
+     * Runs the call if the provider's circuit and bulkhead admit it and fails it
+     * once the deadline passes. The returned future is the call's own future, so
+     * a timeout reaches the adapter's cancellation hook.
+     */
+    public <T> CompletableFuture<T> call(String provider, Duration deadline, Supplier<CompletableFuture<T>> call) {
+        Guard guard = guards.computeIfAbsent(provider, this::newGuard);
+        
+        if (!guard.bulkhead.tryAcquire()) {
+            guard.rejectedBulkhead.increment();
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(provider, "bulkhead full"));
+        }
+        if (!guard.breaker.tryAcquirePermission()) {
+            guard.bulkhead.release();
+            guard.rejectedOpen.increment();
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(provider, "circuit open"));
+        }
+        
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            guard.bulkhead.release();
+            guard.breaker.onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        future.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> {
+            guard.bulkhead.release();
+            if (error == null) {
+                guard.breaker.onSuccess();
+            } else if (future.isCancelled()) {
+                // The caller gave up; that says nothing about the provider's health
+                guard.breaker.onIgnored();
+            } else {
+                guard.breaker.onFailure();
+            }
+        });
+        return future;
+    }
+    
+    public CircuitBreaker.State getState(String provider) {
+        return guards.computeIfAbsent(provider, this::newGuard).breaker.getState();
+    }
+    
+    private Guard newGuard(String provider) {
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDuration, halfOpenProbes, clock, (from, to) -> {
+                    log.warn("AI provider {} circuit {} -> {}", provider, from, to);
+                    Counter.builder("ai.provider.circuit.transitions")
+                            .tag("provider", provider)
+                            .tag("from", from.name())
+                            .tag("to", to.name())
+                            .register(meterRegistry)
+                            .increment();
+                });
+        Guard guard = new Guard(breaker, new Semaphore(maxConcurrentCalls),
+                rejectedCounter(provider, "circuit_open"), rejectedCounter(provider, "bulkhead_full"));
+        
+        Gauge.builder("ai.provider.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("ai.provider.bulkhead.available", guard.bulkhead, Semaphore::availablePermits)
+                .tag("provider", provider)
+                .register(meterRegistry);
+        return guard;
+    }
+    
+    private Counter rejectedCounter(String provider, String reason) {
+        return Counter.builder("ai.provider.calls.rejected")
+                .tag("provider", provider)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    private record Guard(CircuitBreaker breaker, Semaphore bulkhead, Counter rejectedOpen, Counter rejectedBulkhead) {
+    }
+}
@@ -0,0 +1,21 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+/**
+ * Raised without contacting the provider when its circuit is open or its bulkhead is full.
+ */
+public class AIProviderUnavailableException extends RuntimeException {
+    
+    private final String provider;
+    
+    public AIProviderUnavailableException(String provider, String reason) {
+        super("AI provider " + provider + " unavailable: " + reason);
+        this.provider = provider;
+    }
+    
+    public String getProvider() {
+        return provider;
+    }
+}
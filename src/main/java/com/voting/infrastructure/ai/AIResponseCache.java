@@ -0,0 +1,176 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content-addressed cache of AI provider responses.
+ * Entries are keyed by provider, model and the SHA-256 digest of the prompt,
+ * evicted in LRU order once {@code ai.cache.max-entries} is reached and
+ * expire after {@code ai.cache.ttl}.
+ */
+@Component
+@Slf4j
+public class AIResponseCache {
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${ai.cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${ai.cache.persistence.enabled:false}")
+    private boolean persistenceEnabled;
+
+    @Value("${ai.cache.persistence.file:data/ai-response-cache.json}")
+    private String persistenceFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Clock clock = Clock.systemUTC();
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    @PostConstruct
+    void load() {
+        if (!enabled || !persistenceEnabled) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Map<String, CacheEntry> stored = objectMapper.readValue(path.toFile(),
+                new TypeReference<HashMap<String, CacheEntry>>() {});
+            long now = clock.millis();
+            synchronized (entries) {
+                stored.forEach((key, entry) -> {
+                    if (entry.expiresAt() > now) {
+                        entries.put(key, entry);
+                    }
+                });
+            }
+            log.info("Loaded {} AI responses from {}", entries.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not load AI response cache from {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void persist() {
+        if (!enabled || !persistenceEnabled) {
+            return;
+        }
+        Path path = Paths.get(persistenceFile);
+        try {
+            Map<String, CacheEntry> snapshot;
+            synchronized (entries) {
+                snapshot = new HashMap<>(entries);
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Persisted {} AI responses to {}", snapshot.size(), path);
+        } catch (IOException e) {
+            log.warn("Could not persist AI response cache to {}: {}", path, e.getMessage());
+        }
+    }
+
+    public String get(String provider, String model, String prompt) {
+        if (!enabled) {
+            return null;
+        }
+        String key = key(provider, model, prompt);
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= clock.millis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    public void put(String provider, String model, String prompt, String response) {
+        if (!enabled || response == null) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(response, clock.millis() + ttl.toMillis());
+        synchronized (entries) {
+            entries.put(key(provider, model, prompt), entry);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String key(String provider, String model, String prompt) {
+        return provider + ":" + model + ":" + sha256(prompt);
+    }
+
+    private static String sha256(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexString = new StringBuilder();
+            for (byte b : hash) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) hexString.append('0');
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record CacheEntry(String value, long expiresAt) {
+    }
+}
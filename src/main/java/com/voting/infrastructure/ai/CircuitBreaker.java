@@ -0,0 +1,136 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * Count-based circuit breaker over a sliding window of the most recent calls.
+ * Opens when the failure rate in the window reaches the threshold, rejects calls
+ * while open, then lets a limited number of probe calls through (half-open):
+ * one probe failure re-opens it, enough probe successes close it.
+ */
+public class CircuitBreaker {
+    
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+    
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final Clock clock;
+    private final BiConsumer<State, State> onTransition;
+    
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+    
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+    
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenProbes, Clock clock,
+                          BiConsumer<State, State> onTransition) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+        this.onTransition = onTransition;
+        this.window = new boolean[windowSize];
+    }
+    
+    /**
+     * Returns true if a call may proceed; every permitted call must be followed by
+     * exactly one {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < openMillis) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+    
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+    
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && (double) failures / recorded >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+    
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+    
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.millis();
+        }
+        if (next == State.CLOSED) {
+            windowIndex = 0;
+            recorded = 0;
+            failures = 0;
+        }
+        onTransition.accept(previous, next);
+    }
+}
@@ -3,97 +3,202 @@
  */
 package com.voting.infrastructure.ai;
 
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
 import com.voting.application.service.AIService;
 import com.voting.domain.model.Vote;
 import com.voting.domain.port.VoteRepository;
+import io.reactivex.disposables.Disposable;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import retrofit2.HttpException;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
-public class OpenAIServiceImpl implements AIService {
+@Slf4j
+public class OpenAIServiceImpl implements AIService, AIProvider {
+    
+    private static final String PROVIDER = "openai";
     
 	@Autowired
     private VoteRepository voteRepository;
     
+	@Autowired
+    private AIResponseCache responseCache;
+    
+	@Autowired
+    private OpenAiApi openAiApi;
+    
+	@Autowired
+    private AIProviderGuard providerGuard;
+	@Autowired
+    private AIOutboundScheduler outboundScheduler;
+	@Autowired
+    private AIMetrics metrics;
+    
     @Value("${openai.api.key}")
     private String openaiApiKey;
     
+    @Value("${openai.api.model:gpt-3.5-turbo}")
+    private String model;
+    
+    @Value("${openai.api.timeout.enhance:15s}")
+    private Duration enhanceTimeout;
+    
+    @Value("${openai.api.timeout.analyze:30s}")
+    private Duration analyzeTimeout;
+    
+    @Override
+    public String getProviderName() {
+        return PROVIDER;
+    }
+    
+    @Override
+    public boolean isConfigured() {
+        return openaiApiKey != null && !openaiApiKey.isEmpty();
+    }
+    
     @Override
     public String enhanceVoteDescription(String title, String description) {
-        if (openaiApiKey == null || openaiApiKey.isEmpty()) {
+        if (!isConfigured()) {
             return description;
         }
         
         try {
-            OpenAiService service = new OpenAiService(openaiApiKey, Duration.ofSeconds(30));
-            
-            String prompt = String.format(
-                    "Enhance this voting poll description to be more engaging and clear:\n\nTitle: %s\nDescription: %s\n\nProvide an enhanced description that is clear, concise, and engaging.",
-                    title, description
-            );
-            
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model("gpt-3.5-turbo")
-                    .messages(List.of(new ChatMessage("user", prompt)))
-                    .maxTokens(200)
-                    .temperature(0.7)
-                    .build();
-            
-            String result = service.createChatCompletion(request)
-                    .getChoices().get(0).getMessage().getContent();
-            
-            service.shutdownExecutor();
-            return result;
+            return requestEnhancement(title, description).join();
         } catch (Exception e) {
+            metrics.recordFallback(PROVIDER, "enhance", e);
             return description;
         }
     }
     
+    @Override
+    public CompletableFuture<String> requestEnhancement(String title, String description) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
+        }
+        
+        String prompt = String.format(
+                "Enhance this voting poll description to be more engaging and clear:\n\nTitle: %s\nDescription: %s\n\nProvide an enhanced description that is clear, concise, and engaging.",
+                title, description
+        );
+        
+        return completeAsync("enhance", prompt, 200, enhanceTimeout, AIPriority.BATCH);
+    }
+    
     @Override
     public String analyzeVoteResults(Vote vote) {
-        if (openaiApiKey == null || openaiApiKey.isEmpty()) {
+        if (!isConfigured()) {
             return "AI analysis unavailable - API key not configured";
         }
         
         try {
-            OpenAiService service = new OpenAiService(openaiApiKey, Duration.ofSeconds(30));
-            
-            StringBuilder optionsData = new StringBuilder();
-            vote.getOptions().forEach(option -> 
-                    optionsData.append(String.format("- %s: %d votes\n", 
-                            option.getOptionText(), option.getVoteCount()))
-            );
-            
-            String prompt = String.format(
-                    "Analyze the following voting results:\n\nVote: %s\n\nResults:\n%s\nProvide insights about the voting patterns and what they might indicate.",
-                    vote.getTitle(), optionsData
-            );
-            
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model("gpt-3.5-turbo")
-                    .messages(List.of(new ChatMessage("user", prompt)))
-                    .maxTokens(300)
-                    .temperature(0.7)
-                    .build();
-            
-            String result = service.createChatCompletion(request)
-                    .getChoices().get(0).getMessage().getContent();
-            
-            service.shutdownExecutor();
-            return result;
+            return requestAnalysis(vote).join();
         } catch (Exception e) {
-            return "Error generating analysis: " + e.getMessage();
+            metrics.recordFallback(PROVIDER, "analyze", e);
+            return "Error generating analysis: " + rootMessage(e);
+        }
+    }
+    
+    @Override
+    public CompletableFuture<String> requestAnalysis(Vote vote) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
         }
+        
+        return completeAsync("analyze", analysisPrompt(vote), 300, analyzeTimeout, AIPriority.INTERACTIVE);
+    }
+    
+    @Override
+    public CompletableFuture<String> streamAnalysis(Vote vote, Consumer<String> onDelta) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
+        }
+        
+        String prompt = analysisPrompt(vote);
+        String cached = responseCache.get(PROVIDER, model, prompt);
+        metrics.recordCacheLookup(PROVIDER, "stream", cached != null);
+        if (cached != null) {
+            try {
+                onDelta.accept(cached);
+                return CompletableFuture.completedFuture(cached);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        
+        return outboundScheduler.submit(PROVIDER, AIPriority.INTERACTIVE, AIOutboundScheduler.estimateTokens(prompt, 300),
+                () -> providerGuard.call(PROVIDER, analyzeTimeout,
+                        () -> metrics.timed(PROVIDER, "stream", () -> executeStream(prompt, 300, onDelta))));
+    }
+    
+    @Override
+    public CompletableFuture<String> completePrompt(String prompt, int maxTokens, Duration timeout) {
+        return requestCompletion(prompt, maxTokens, timeout);
+    }
+    
+    @Override
+    public CompletableFuture<String> requestCompletion(String prompt, int maxTokens, Duration timeout) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
+        }
+        return completeAsync("complete", prompt, maxTokens, timeout, AIPriority.BATCH);
+    }
+    
+    private String analysisPrompt(Vote vote) {
+        StringBuilder optionsData = new StringBuilder();
+        vote.getOptions().forEach(option -> 
+                optionsData.append(String.format("- %s: %d votes\n", 
+                        option.getOptionText(), option.getVoteCount()))
+        );
+        
+        return String.format(
+                "Analyze the following voting results:\n\nVote: %s\n\nResults:\n%s\nProvide insights about the voting patterns and what they might indicate.",
+                vote.getTitle(), optionsData
+        );
+    }
+    
+    public String analyzeVote(String voteDescription) {
+        return analyzeVoteAsync(voteDescription).join();
+    }
+    
+    public CompletableFuture<String> analyzeVoteAsync(String voteDescription) {
+        if (!isConfigured()) {
+            return CompletableFuture.completedFuture("AI analysis unavailable - API key not configured");
+        }
+        
+        String prompt = String.format(
+                "Analyze the following voting poll:\n\n%s\n\nProvide insights.",
+                voteDescription
+        );
+        
+        CompletableFuture<String> call = completeAsync("analyze", prompt, 300, analyzeTimeout, AIPriority.INTERACTIVE);
+        CompletableFuture<String> result = call.exceptionally(e -> {
+            metrics.recordFallback(PROVIDER, "analyze", e);
+            return "Error generating analysis: " + rootMessage(e);
+        });
+        // A caller that cancels the fallback future or lets it time out cancels the call too
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                call.cancel(true);
+            }
+        });
+        return result;
     }
     
     @Override
@@ -107,6 +212,116 @@ public class OpenAIServiceImpl implements AIService {
 		}
 //                new IllegalArgumentException("Vote not found"));
         
-        return analyzeVoteResults(vote);
+        try {
+            return requestAnalysis(vote).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    private CompletableFuture<String> completeAsync(String operation, String prompt, int maxTokens, Duration timeout,
+                                                    AIPriority priority) {
+        String cached = responseCache.get(PROVIDER, model, prompt);
+        metrics.recordCacheLookup(PROVIDER, operation, cached != null);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        
+        return outboundScheduler.submit(PROVIDER, priority, AIOutboundScheduler.estimateTokens(prompt, maxTokens),
+                () -> providerGuard.call(PROVIDER, timeout,
+                        () -> metrics.timed(PROVIDER, operation, () -> execute(operation, prompt, maxTokens, timeout))));
+    }
+    
+    private CompletableFuture<String> execute(String operation, String prompt, int maxTokens, Duration timeout) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Disposable subscription = openAiApi.createChatCompletion(buildRequest(prompt, maxTokens))
+                .timeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .subscribe(response -> {
+                    if (response.getUsage() != null) {
+                        metrics.recordTokens(PROVIDER, operation,
+                                response.getUsage().getPromptTokens(), response.getUsage().getCompletionTokens());
+                    }
+                    String result = response.getChoices().get(0).getMessage().getContent();
+                    responseCache.put(PROVIDER, model, prompt, result);
+                    future.complete(result);
+                }, error -> {
+                    reportRateLimit(error);
+                    future.completeExceptionally(error);
+                });
+        
+        // Callers that give up (cancel or deadline) dispose the in-flight call
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                subscription.dispose();
+            }
+        });
+        return future;
+    }
+    
+    private CompletableFuture<String> executeStream(String prompt, int maxTokens, Consumer<String> onDelta) {
+        ChatCompletionRequest request = buildRequest(prompt, maxTokens);
+        request.setStream(true);
+        
+        StringBuilder text = new StringBuilder();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long started = System.nanoTime();
+        // A consumer that throws (e.g. a validation abort) ends the stream with that error
+        Disposable subscription = OpenAiService.stream(openAiApi.createChatCompletionStream(request), ChatCompletionChunk.class)
+                .subscribe(chunk -> {
+                    String delta = chunk.getChoices() == null || chunk.getChoices().isEmpty()
+                            || chunk.getChoices().get(0).getMessage() == null
+                            ? null : chunk.getChoices().get(0).getMessage().getContent();
+                    if (delta != null && !delta.isEmpty()) {
+                        if (text.length() == 0) {
+                            metrics.recordFirstToken(PROVIDER, "stream", started);
+                        }
+                        text.append(delta);
+                        onDelta.accept(delta);
+                    }
+                }, error -> {
+                    reportRateLimit(error);
+                    future.completeExceptionally(error);
+                }, () -> {
+                    String result = text.toString();
+                    responseCache.put(PROVIDER, model, prompt, result);
+                    future.complete(result);
+                });
+        
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                subscription.dispose();
+            }
+        });
+        return future;
+    }
+    
+    private void reportRateLimit(Throwable error) {
+        Throwable cause = error instanceof OpenAiHttpException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpException httpError && httpError.code() == 429) {
+            String retryAfter = httpError.response() != null ? httpError.response().headers().get("Retry-After") : null;
+            outboundScheduler.onRateLimited(PROVIDER, parseRetryAfter(retryAfter));
+        }
+    }
+    
+    static Duration parseRetryAfter(String header) {
+        try {
+            return header != null ? Duration.ofSeconds(Long.parseLong(header.trim())) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private ChatCompletionRequest buildRequest(String prompt, int maxTokens) {
+        return ChatCompletionRequest.builder()
+                .model(model)
+                .messages(List.of(new ChatMessage("user", prompt)))
+                .maxTokens(maxTokens)
+                .temperature(0.7)
+                .build();
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage();
     }
 }
@@ -0,0 +1,125 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency and error statistics over the last {@code windowSize} calls of one provider.
+ * A cancelled call's elapsed time is kept as a latency sample, since the call would have
+ * taken at least that long, but its outcome is unknown so it does not count towards the
+ * error rate.
+ */
+class ProviderLatencyStats {
+    
+    private final long[] latencies;
+    private final boolean[] failures;
+    private final boolean[] cancelled;
+    private int index;
+    private int count;
+    private int failureCount;
+    private int cancelledCount;
+    private long lastProbeAt = Long.MIN_VALUE;
+    
+    ProviderLatencyStats(int windowSize) {
+        this.latencies = new long[windowSize];
+        this.failures = new boolean[windowSize];
+        this.cancelled = new boolean[windowSize];
+    }
+    
+    synchronized void recordSuccess(long latencyMillis) {
+        record(latencyMillis, false, false);
+    }
+    
+    synchronized void recordFailure(long latencyMillis) {
+        record(latencyMillis, true, false);
+    }
+    
+    synchronized void recordCancelled(long elapsedMillis) {
+        record(elapsedMillis, false, true);
+    }
+    
+    /**
+     * Completed calls in the window; cancelled calls are not counted.
+     */
+    synchronized int samples() {
+        return count - cancelledCount;
+    }
+    
+    synchronized double errorRate() {
+        int completed = count - cancelledCount;
+        return completed == 0 ? 0 : (double) failureCount / completed;
+    }
+    
+    /**
+     * Claims a probe call for a provider that is excluded for its error rate: one per
+     * {@code intervalMillis}, the first an interval after it was first found excluded, so a
+     * provider that recovered is measured again without sending it more than a trickle of
+     * traffic while it has not.
+     */
+    synchronized boolean tryProbe(long nowMillis, long intervalMillis) {
+        if (lastProbeAt == Long.MIN_VALUE) {
+            lastProbeAt = nowMillis;
+            return false;
+        }
+        if (nowMillis - lastProbeAt < intervalMillis) {
+            return false;
+        }
+        lastProbeAt = nowMillis;
+        return true;
+    }
+    
+    /**
+     * Forgets the window, e.g. once a probe succeeded, so the provider is judged by its calls from now on.
+     */
+    synchronized void reset() {
+        index = 0;
+        count = 0;
+        failureCount = 0;
+        cancelledCount = 0;
+        lastProbeAt = Long.MIN_VALUE;
+    }
+    
+    /**
+     * Latency percentile of the successful calls in the window, or -1 if there are none.
+     */
+    synchronized long percentile(double percentile) {
+        long[] successful = new long[count - failureCount];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (!failures[i]) {
+                successful[n++] = latencies[i];
+            }
+        }
+        if (n == 0) {
+            return -1;
+        }
+        Arrays.sort(successful);
+        int rank = (int) Math.ceil(percentile * n) - 1;
+        return successful[Math.max(0, Math.min(n - 1, rank))];
+    }
+    
+    private void record(long latencyMillis, boolean failed, boolean wasCancelled) {
+        if (count == latencies.length) {
+            if (failures[index]) {
+                failureCount--;
+            }
+            if (cancelled[index]) {
+                cancelledCount--;
+            }
+        } else {
+            count++;
+        }
+        latencies[index] = latencyMillis;
+        failures[index] = failed;
+        cancelled[index] = wasCancelled;
+        if (failed) {
+            failureCount++;
+        }
+        if (wasCancelled) {
+            cancelledCount++;
+        }
+        index = (index + 1) % latencies.length;
+    }
+}
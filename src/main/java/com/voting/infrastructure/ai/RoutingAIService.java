@@ -0,0 +1,345 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.voting.application.service.AIService;
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.VoteRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link AIService} that sends each request to the currently fastest healthy provider.
+ * If that provider has not answered by its own p95 latency (or fails first), the same
+ * request is hedged to the runner-up; the first answer wins and the other call is cancelled.
+ * Streams are not hedged, since tokens already relayed cannot be taken back; a stream that
+ * fails before its first token moves on to the next provider instead.
+ */
+@Service
+@Primary
+@Slf4j
+public class RoutingAIService implements AIService {
+    
+    private static final String PROVIDER = "router";
+    
+	@Autowired
+    private List<AIProvider> providers;
+	@Autowired
+    private VoteRepository voteRepository;
+	@Autowired
+    private AIProviderGuard providerGuard;
+	@Autowired
+    private AIMetrics metrics;
+    
+    @Value("${ai.routing.window-size:100}")
+    private int windowSize;
+    
+    @Value("${ai.routing.min-samples:20}")
+    private int minSamples;
+    
+    @Value("${ai.routing.max-error-rate:0.5}")
+    private double maxErrorRate;
+    
+    @Value("${ai.routing.probe-interval:30s}")
+    private Duration probeInterval = Duration.ofSeconds(30);
+    
+    @Value("${ai.routing.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+    
+    @Value("${ai.routing.hedge.percentile:0.95}")
+    private double hedgePercentile;
+    
+    @Value("${ai.routing.hedge.default-delay:2s}")
+    private Duration defaultHedgeDelay;
+    
+    private Clock clock = Clock.systemUTC();
+    
+    private final ConcurrentHashMap<String, ProviderLatencyStats> stats = new ConcurrentHashMap<>();
+    
+    @Override
+    public String getProviderName() {
+        return PROVIDER;
+    }
+    
+    @Override
+    public String enhanceVoteDescription(String title, String description) {
+        try {
+            return route(provider -> provider.requestEnhancement(title, description)).join();
+        } catch (CompletionException e) {
+            metrics.recordFallback(PROVIDER, "enhance", e);
+            return description;
+        }
+    }
+    
+    @Override
+    public CompletableFuture<String> requestEnhancement(String title, String description) {
+        return route(provider -> provider.requestEnhancement(title, description));
+    }
+    
+    @Override
+    public String analyzeVoteResults(Vote vote) {
+        if (providers.stream().noneMatch(AIProvider::isConfigured)) {
+            return "AI analysis unavailable - API key not configured";
+        }
+        try {
+            return route(provider -> provider.requestAnalysis(vote)).join();
+        } catch (CompletionException e) {
+            metrics.recordFallback(PROVIDER, "analyze", e);
+            return "Error generating analysis: " + rootMessage(e);
+        }
+    }
+    
+    @Override
+    public CompletableFuture<String> streamVoteResults(Vote vote, Consumer<String> onToken) {
+        List<AIProvider> ranked = rank();
+        if (ranked.isEmpty()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "no provider configured"));
+        }
+        
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> current = new AtomicReference<>();
+        AtomicBoolean relayed = new AtomicBoolean();
+        Consumer<String> relay = token -> {
+            relayed.set(true);
+            onToken.accept(token);
+        };
+        stream(ranked, 0, vote, relay, relayed, result, current);
+        
+        result.whenComplete((value, error) -> {
+            CompletableFuture<String> attempt = current.get();
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    private void stream(List<AIProvider> ranked, int index, Vote vote, Consumer<String> relay, AtomicBoolean relayed,
+                        CompletableFuture<String> result, AtomicReference<CompletableFuture<String>> current) {
+        CompletableFuture<String> attempt = invoke(ranked.get(index), provider -> provider.streamAnalysis(vote, relay));
+        current.set(attempt);
+        attempt.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (!relayed.get() && index + 1 < ranked.size() && !result.isDone()
+                    && !(unwrap(error) instanceof SecurityException)) {
+                metrics.recordFallback(ranked.get(index).getProviderName(), "stream", error);
+                stream(ranked, index + 1, vote, relay, relayed, result, current);
+            } else {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+    }
+    
+    /**
+     * Batch work is never hedged: duplicating a large prompt costs more than the latency it saves.
+     */
+    @Override
+    public CompletableFuture<String> completePrompt(String prompt, int maxTokens, Duration timeout) {
+        return route(provider -> provider.requestCompletion(prompt, maxTokens, timeout), false);
+    }
+    
+    @Override
+    public String generateVoteInsights(Long voteId) {
+        Vote vote = voteRepository.findById(voteId)
+                .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
+        
+        try {
+            return route(provider -> provider.requestAnalysis(vote)).join();
+        } catch (CompletionException e) {
+            throw unwrapped(e);
+        }
+    }
+    
+    CompletableFuture<String> route(Function<AIProvider, CompletableFuture<String>> operation) {
+        return route(operation, hedgeEnabled);
+    }
+    
+    private CompletableFuture<String> route(Function<AIProvider, CompletableFuture<String>> operation, boolean hedge) {
+        List<AIProvider> ranked = rank();
+        if (ranked.isEmpty()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "no provider configured"));
+        }
+        if (!hedge || ranked.size() == 1) {
+            return invoke(ranked.get(0), operation);
+        }
+        return hedged(ranked.get(0), ranked.get(1), operation);
+    }
+    
+    private CompletableFuture<String> hedged(AIProvider primary, AIProvider secondary,
+                                             Function<AIProvider, CompletableFuture<String>> operation) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicBoolean hedgeStarted = new AtomicBoolean();
+        
+        Runnable hedge = () -> {
+            // Claiming the hedge and counting it as outstanding is one step: a primary that
+            // fails meanwhile waits here, so it never sees the hedge claimed but not counted
+            synchronized (hedgeStarted) {
+                if (result.isDone() || hedgeStarted.get()) {
+                    return;
+                }
+                hedgeStarted.set(true);
+                outstanding.incrementAndGet();
+            }
+            log.debug("Hedging AI request from {} to {}", primary.getProviderName(), secondary.getProviderName());
+            attempt(secondary, operation, result, attempts, outstanding, null);
+        };
+        
+        // A primary failure hedges immediately instead of waiting for the delay
+        attempt(primary, operation, result, attempts, outstanding, hedge);
+        if (!result.isDone()) {
+            CompletableFuture.delayedExecutor(hedgeDelay(primary), TimeUnit.MILLISECONDS).execute(hedge);
+        }
+        
+        // Outstanding attempts are cancelled, which also cancels their HTTP calls
+        result.whenComplete((value, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        return result;
+    }
+    
+    private void attempt(AIProvider provider, Function<AIProvider, CompletableFuture<String>> operation,
+                         CompletableFuture<String> result, List<CompletableFuture<String>> attempts,
+                         AtomicInteger outstanding, Runnable onFailure) {
+        CompletableFuture<String> future = invoke(provider, operation);
+        attempts.add(future);
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                // Cancel the loser before publishing the winner
+                attempts.forEach(other -> {
+                    if (other != future) {
+                        other.cancel(true);
+                    }
+                });
+                result.complete(value);
+                return;
+            }
+            if (onFailure != null) {
+                onFailure.run();
+            }
+            if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+    
+    private CompletableFuture<String> invoke(AIProvider provider, Function<AIProvider, CompletableFuture<String>> operation) {
+        ProviderLatencyStats providerStats = statsFor(provider);
+        long started = System.nanoTime();
+        CompletableFuture<String> future;
+        try {
+            future = operation.apply(provider);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        
+        CompletableFuture<String> call = future;
+        call.whenComplete((value, error) -> {
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (error == null) {
+                if (erroring(providerStats)) {
+                    // Only probes reach an excluded provider, so this one has recovered
+                    log.info("AI provider {} answered a probe, routing to it again", provider.getProviderName());
+                    providerStats.reset();
+                }
+                providerStats.recordSuccess(latency);
+            } else if (call.isCancelled()) {
+                // A hedge loser would have taken at least this long; leaving it out biases p95 downwards
+                providerStats.recordCancelled(latency);
+            } else {
+                providerStats.recordFailure(latency);
+            }
+        });
+        return call;
+    }
+    
+    /**
+     * Configured providers whose circuit is not open and whose error rate is acceptable,
+     * fastest median first. Providers without enough samples rank first so they get measured.
+     * A provider excluded for its error rate would stay excluded for good, since its window only
+     * moves when it is called; so once per {@code ai.routing.probe-interval} it is put first for
+     * one request, and hedging covers that request if the probe fails.
+     */
+    List<AIProvider> rank() {
+        List<AIProvider> configured = new ArrayList<>();
+        List<AIProvider> healthy = new ArrayList<>();
+        AIProvider probe = null;
+        for (AIProvider provider : providers) {
+            if (!provider.isConfigured()) {
+                continue;
+            }
+            configured.add(provider);
+            ProviderLatencyStats providerStats = statsFor(provider);
+            boolean circuitOpen = providerGuard.getState(provider.getProviderName()) == CircuitBreaker.State.OPEN;
+            if (circuitOpen) {
+                continue;
+            }
+            if (!erroring(providerStats)) {
+                healthy.add(provider);
+            } else if (probe == null && providerStats.tryProbe(clock.millis(), probeInterval.toMillis())) {
+                probe = provider;
+            }
+        }
+        
+        // With nobody healthy, keep trying in order and let the guards fail fast
+        List<AIProvider> candidates = healthy.isEmpty() ? configured : healthy;
+        candidates.sort(Comparator.comparingLong(this::expectedLatency));
+        if (probe != null) {
+            candidates.remove(probe);
+            candidates.add(0, probe);
+        }
+        return candidates;
+    }
+    
+    private boolean erroring(ProviderLatencyStats providerStats) {
+        return providerStats.samples() >= minSamples && providerStats.errorRate() > maxErrorRate;
+    }
+    
+    private long expectedLatency(AIProvider provider) {
+        ProviderLatencyStats providerStats = statsFor(provider);
+        return providerStats.samples() < minSamples ? 0 : Math.max(0, providerStats.percentile(0.5));
+    }
+    
+    private long hedgeDelay(AIProvider provider) {
+        ProviderLatencyStats providerStats = statsFor(provider);
+        long p95 = providerStats.samples() >= minSamples ? providerStats.percentile(hedgePercentile) : -1;
+        return p95 > 0 ? p95 : defaultHedgeDelay.toMillis();
+    }
+    
+    private ProviderLatencyStats statsFor(AIProvider provider) {
+        return stats.computeIfAbsent(provider.getProviderName(), name -> new ProviderLatencyStats(windowSize));
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+    
+    private static RuntimeException unwrapped(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+    
+    private static String rootMessage(Throwable e) {
+        return unwrap(e).getMessage();
+    }
+}
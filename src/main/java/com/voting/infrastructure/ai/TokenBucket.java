@@ -0,0 +1,64 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+/**
+ * Per-minute quota refilled continuously, as providers meter requests and tokens.
+ * A non-positive rate means unlimited. Not thread-safe; callers hold their own lock.
+ */
+class TokenBucket {
+    
+    private final double capacity;
+    private final double refillPerMilli;
+    private double available;
+    private long lastRefillMillis;
+    private long blockedUntilMillis;
+    
+    TokenBucket(long perMinute, long nowMillis) {
+        this.capacity = perMinute;
+        this.refillPerMilli = perMinute / 60_000.0;
+        this.available = perMinute;
+        this.lastRefillMillis = nowMillis;
+    }
+    
+    /**
+     * Milliseconds until {@code amount} can be consumed; amounts above the capacity only
+     * wait for a full bucket.
+     */
+    long millisUntilAvailable(double amount, long nowMillis) {
+        if (nowMillis < blockedUntilMillis) {
+            return blockedUntilMillis - nowMillis;
+        }
+        if (capacity <= 0) {
+            return 0;
+        }
+        refill(nowMillis);
+        double missing = Math.min(amount, capacity) - available;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerMilli);
+    }
+    
+    void consume(double amount, long nowMillis) {
+        if (capacity <= 0) {
+            return;
+        }
+        refill(nowMillis);
+        available -= Math.min(amount, capacity);
+    }
+    
+    /**
+     * Empties the bucket until the given time, after the provider answered 429.
+     */
+    void blockUntil(long untilMillis) {
+        blockedUntilMillis = Math.max(blockedUntilMillis, untilMillis);
+        available = 0;
+        lastRefillMillis = Math.max(lastRefillMillis, untilMillis);
+    }
+    
+    private void refill(long nowMillis) {
+        if (nowMillis > lastRefillMillis) {
+            available = Math.min(capacity, available + (nowMillis - lastRefillMillis) * refillPerMilli);
+            lastRefillMillis = nowMillis;
+        }
+    }
+}
@@ -3,115 +3,410 @@
  */
 package com.voting.infrastructure.ai;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.application.service.AIService;
 import com.voting.domain.model.Vote;
 import com.voting.domain.port.VoteRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service("xAIService")
 @RequiredArgsConstructor
-public class XAIServiceImpl {
-    
+@Slf4j
+public class XAIServiceImpl implements AIService, AIProvider {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final String PROVIDER = "xai";
+	
 	@Autowired
     private VoteRepository voteRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+	@Autowired
+    private OkHttpClient aiHttpClient;
+	@Autowired
+    private ObjectMapper objectMapper;
+	@Autowired
+    private AIResponseCache responseCache;
+	@Autowired
+    private AIProviderGuard providerGuard;
+	@Autowired
+    private AIOutboundScheduler outboundScheduler;
+	@Autowired
+    private AIMetrics metrics;
     
     @Value("${xai.api.key:#{null}}")
     private String xaiApiKey;
     
-//    @Value("${xai.api.url:https://api.x.ai/v1/chat/completions}")
-    @Value("${xai.api.url:#{null}}")
+    @Value("${xai.api.url:https://api.x.ai/v1/chat/completions}")
     private String xaiApiUrl;
     
+    @Value("${xai.api.model:grok-beta}")
+    private String model;
+    
+    @Value("${xai.api.connect-timeout:5s}")
+    private Duration connectTimeout;
+    
+    @Value("${xai.api.read-timeout:30s}")
+    private Duration readTimeout;
+    
+    @Value("${xai.api.timeout.enhance:15s}")
+    private Duration enhanceTimeout;
+    
+    @Value("${xai.api.timeout.analyze:30s}")
+    private Duration analyzeTimeout;
+    
+    private OkHttpClient httpClient;
+    
+    @PostConstruct
+    void init() {
+        // Shares the connection pool and dispatcher of the common AI client
+        httpClient = aiHttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
+    }
+    
+    @Override
+    public String getProviderName() {
+        return PROVIDER;
+    }
+    
+    @Override
+    public boolean isConfigured() {
+        return xaiApiKey != null && !xaiApiKey.isEmpty();
+    }
+    
+    @Override
     public String enhanceVoteDescription(String title, String description) {
-        if (xaiApiKey == null || xaiApiKey.isEmpty()) {
-            return description;
+        return enhanceVoteDescriptionAsync(title, description).join();
+    }
+    
+    public CompletableFuture<String> enhanceVoteDescriptionAsync(String title, String description) {
+        if (!isConfigured()) {
+            return CompletableFuture.completedFuture(description);
         }
         
-        try {
-            String prompt = String.format(
-                    "Enhance this voting poll description to be more engaging and clear:\n\nTitle: %s\nDescription: %s\n\nProvide an enhanced description.",
-                    title, description
-            );
-            
-            return callXAIApi(prompt);
-        } catch (Exception e) {
-            return description;
+        return withFallback(requestEnhancement(title, description), "enhance", e -> description);
+    }
+    
+    @Override
+    public CompletableFuture<String> requestEnhancement(String title, String description) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
         }
+        
+        String prompt = String.format(
+                "Enhance this voting poll description to be more engaging and clear:\n\nTitle: %s\nDescription: %s\n\nProvide an enhanced description.",
+                title, description
+        );
+        
+        return callXAIApi("enhance", prompt, 300, enhanceTimeout, AIPriority.BATCH);
     }
     
+    @Override
     public String analyzeVoteResults(Vote vote) {
-        if (xaiApiKey == null || xaiApiKey.isEmpty()) {
-            return "AI analysis unavailable - xAI API key not configured";
+        return analyzeVoteResultsAsync(vote).join();
+    }
+    
+    public CompletableFuture<String> analyzeVoteResultsAsync(Vote vote) {
+        if (!isConfigured()) {
+            return CompletableFuture.completedFuture("AI analysis unavailable - xAI API key not configured");
         }
         
-        try {
-            StringBuilder optionsData = new StringBuilder();
-            vote.getOptions().forEach(option -> 
-                    optionsData.append(String.format("- %s: %d votes\n", 
-                            option.getOptionText(), option.getVoteCount()))
-            );
-            
-            String prompt = String.format(
-                    "Analyze the following voting results:\n\nVote: %s\n\nResults:\n%s\nProvide insights.",
-                    vote.getTitle(), optionsData
-            );
-            
-            return callXAIApi(prompt);
-        } catch (Exception e) {
-            return "Error generating analysis: " + e.getMessage();
+        return withFallback(requestAnalysis(vote), "analyze", e -> "Error generating analysis: " + rootMessage(e));
+    }
+    
+    @Override
+    public CompletableFuture<String> requestAnalysis(Vote vote) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
+        }
+        
+        return callXAIApi("analyze", analysisPrompt(vote), 300, analyzeTimeout, AIPriority.INTERACTIVE);
+    }
+    
+    @Override
+    public CompletableFuture<String> streamAnalysis(Vote vote, Consumer<String> onDelta) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
+        }
+        
+        String prompt = analysisPrompt(vote);
+        String cached = responseCache.get(PROVIDER, model, prompt);
+        metrics.recordCacheLookup(PROVIDER, "stream", cached != null);
+        if (cached != null) {
+            try {
+                onDelta.accept(cached);
+                return CompletableFuture.completedFuture(cached);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        
+        return outboundScheduler.submit(PROVIDER, AIPriority.INTERACTIVE, AIOutboundScheduler.estimateTokens(prompt, 300),
+                () -> providerGuard.call(PROVIDER, analyzeTimeout,
+                        () -> metrics.timed(PROVIDER, "stream", () -> executeStream(prompt, 300, analyzeTimeout, onDelta))));
+    }
+    
+    @Override
+    public CompletableFuture<String> completePrompt(String prompt, int maxTokens, Duration timeout) {
+        return requestCompletion(prompt, maxTokens, timeout);
+    }
+    
+    @Override
+    public CompletableFuture<String> requestCompletion(String prompt, int maxTokens, Duration timeout) {
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(new AIProviderUnavailableException(PROVIDER, "API key not configured"));
         }
+        return callXAIApi("complete", prompt, maxTokens, timeout, AIPriority.BATCH);
+    }
+    
+    private String analysisPrompt(Vote vote) {
+        StringBuilder optionsData = new StringBuilder();
+        vote.getOptions().forEach(option ->
+                optionsData.append(String.format("- %s: %d votes\n",
+                        option.getOptionText(), option.getVoteCount()))
+        );
+        
+        return String.format(
+                "Analyze the following voting results:\n\nVote: %s\n\nResults:\n%s\nProvide insights.",
+                vote.getTitle(), optionsData
+        );
     }
     
+    public String analyzeVote(String voteDescription) {
+        return analyzeVoteAsync(voteDescription).join();
+    }
+    
+    public CompletableFuture<String> analyzeVoteAsync(String voteDescription) {
+        if (!isConfigured()) {
+            return CompletableFuture.completedFuture("AI analysis unavailable - xAI API key not configured");
+        }
+        
+        String prompt = String.format(
+                "Analyze the following voting poll:\n\n%s\n\nProvide insights.",
+                voteDescription
+        );
+        
+        return withFallback(callXAIApi("analyze", prompt, 300, analyzeTimeout, AIPriority.INTERACTIVE),
+                "analyze", e -> "Error generating analysis: " + rootMessage(e));
+    }
+    
+    @Override
     public String generateVoteInsights(Long voteId) {
         Vote vote = voteRepository.findById(voteId)
                 .orElseThrow(() -> new IllegalArgumentException("Vote not found"));
         
-        return analyzeVoteResults(vote);
+        try {
+            return requestAnalysis(vote).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
     }
     
-    private String callXAIApi(String prompt) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(xaiApiKey);
-        
-        Map<String, Object> message = new HashMap<>();
-        message.put("role", "user");
-        message.put("content", prompt);
+    /**
+     * Maps a failed call to a fallback value. The returned future is derived from the call,
+     * so a caller that cancels it or lets it time out cancels the HTTP call as well.
+     */
+    private CompletableFuture<String> withFallback(CompletableFuture<String> call, String operation,
+                                                   Function<Throwable, String> fallback) {
+        CompletableFuture<String> result = call.exceptionally(e -> {
+            metrics.recordFallback(PROVIDER, operation, e);
+            return fallback.apply(e);
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    private CompletableFuture<String> callXAIApi(String operation, String prompt, int maxTokens, Duration timeout,
+                                                 AIPriority priority) {
+        String cached = responseCache.get(PROVIDER, model, prompt);
+        metrics.recordCacheLookup(PROVIDER, operation, cached != null);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
         
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("messages", List.of(message));
-        requestBody.put("model", "grok-beta");
-        requestBody.put("temperature", 0.7);
-        requestBody.put("max_tokens", 300);
+        return outboundScheduler.submit(PROVIDER, priority, AIOutboundScheduler.estimateTokens(prompt, maxTokens),
+                () -> providerGuard.call(PROVIDER, timeout,
+                        () -> metrics.timed(PROVIDER, operation, () -> execute(operation, prompt, maxTokens, timeout))));
+    }
+    
+    private CompletableFuture<String> execute(String operation, String prompt, int maxTokens, Duration timeout) {
+        Request request;
+        try {
+            request = newRequest(prompt, maxTokens, null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
         
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        Call call = httpClient.newCall(request);
+        call.timeout().timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
         
-        ResponseEntity<Map> response = restTemplate.exchange(
-                xaiApiUrl,
-                HttpMethod.POST,
-                request,
-                Map.class
-        );
+        CompletableFuture<String> future = new CompletableFuture<>();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("xAI call failed: {}", e.getMessage());
+                future.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                    if (!response.isSuccessful() || responseBody == null) {
+                        if (response.code() == 429) {
+                            outboundScheduler.onRateLimited(PROVIDER, OpenAIServiceImpl.parseRetryAfter(response.header("Retry-After")));
+                        }
+                        throw new IOException("xAI API returned HTTP " + response.code());
+                    }
+                    XAIChatResponse chatResponse = objectMapper.readValue(responseBody.byteStream(), XAIChatResponse.class);
+                    recordUsage(operation, chatResponse.getUsage());
+                    String content = chatResponse.firstContent();
+                    if (content == null) {
+                        throw new IOException("Invalid response from xAI API");
+                    }
+                    responseCache.put(PROVIDER, model, prompt, content);
+                    future.complete(content);
+                } catch (Exception e) {
+                    log.warn("xAI response rejected: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            }
+        });
         
-        Map<String, Object> responseBody = response.getBody();
-        if (responseBody != null && responseBody.containsKey("choices")) {
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-            if (!choices.isEmpty()) {
-                Map<String, Object> message1 = (Map<String, Object>) choices.get(0).get("message");
-                return (String) message1.get("content");
+        // Callers that give up (cancel or deadline) release the connection immediately
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                call.cancel();
             }
+        });
+        return future;
+    }
+    
+    private CompletableFuture<String> executeStream(String prompt, int maxTokens, Duration timeout, Consumer<String> onDelta) {
+        Request request;
+        try {
+            request = newRequest(prompt, maxTokens, true);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
         }
         
-        throw new RuntimeException("Invalid response from xAI API");
+        Call call = httpClient.newCall(request);
+        call.timeout().timeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        
+        CompletableFuture<String> future = new CompletableFuture<>();
+        long started = System.nanoTime();
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("xAI stream failed: {}", e.getMessage());
+                future.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                    if (!response.isSuccessful() || responseBody == null) {
+                        if (response.code() == 429) {
+                            outboundScheduler.onRateLimited(PROVIDER, OpenAIServiceImpl.parseRetryAfter(response.header("Retry-After")));
+                        }
+                        throw new IOException("xAI API returned HTTP " + response.code());
+                    }
+                    // Server-sent events: one "data: {chunk}" line per delta, terminated by "data: [DONE]"
+                    BufferedSource source = responseBody.source();
+                    StringBuilder text = new StringBuilder();
+                    String line;
+                    while (!future.isDone() && (line = source.readUtf8Line()) != null) {
+                        if (!line.startsWith("data:")) {
+                            continue;
+                        }
+                        String data = line.substring(5).trim();
+                        if ("[DONE]".equals(data)) {
+                            break;
+                        }
+                        XAIChatResponse chunk = objectMapper.readValue(data, XAIChatResponse.class);
+                        // Usage, when the provider reports it for a stream, arrives on the last chunk
+                        recordUsage("stream", chunk.getUsage());
+                        String delta = chunk.firstDelta();
+                        if (delta != null && !delta.isEmpty()) {
+                            if (text.length() == 0) {
+                                metrics.recordFirstToken(PROVIDER, "stream", started);
+                            }
+                            text.append(delta);
+                            onDelta.accept(delta);
+                        }
+                    }
+                    String result = text.toString();
+                    responseCache.put(PROVIDER, model, prompt, result);
+                    future.complete(result);
+                } catch (Exception e) {
+                    if (!future.isDone()) {
+                        log.warn("xAI stream ended early: {}", e.getMessage());
+                    }
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+    
+    private Request newRequest(String prompt, int maxTokens, Boolean stream) throws JsonProcessingException {
+        XAIChatRequest body = XAIChatRequest.builder()
+                .model(model)
+                .messages(List.of(new XAIChatRequest.Message("user", prompt)))
+                .temperature(0.7)
+                .maxTokens(maxTokens)
+                .stream(stream)
+                .build();
+        
+        return new Request.Builder()
+                .url(xaiApiUrl)
+                .header("Authorization", "Bearer " + xaiApiKey)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(body), JSON))
+                .build();
+    }
+    
+    private void recordUsage(String operation, XAIChatResponse.Usage usage) {
+        if (usage != null) {
+            metrics.recordTokens(PROVIDER, operation, usage.getPromptTokens(), usage.getCompletionTokens());
+        }
+    }
+    
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage();
     }
 }
@@ -4,8 +4,20 @@
 package com.voting.infrastructure.persistence;
 
 import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.SecurityScanSession;
+import com.voting.domain.valueobject.BatchSecurityCheckResult;
 import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.infrastructure.security.SecurityAuditEvent;
+import com.voting.infrastructure.security.SecurityAuditWriter;
+import com.voting.infrastructure.security.SecurityScanMetrics;
+import com.voting.infrastructure.security.SecurityVerdictCache;
+import com.voting.infrastructure.security.ThreatCategory;
+import com.voting.infrastructure.security.ThreatMatch;
+import com.voting.infrastructure.security.ThreatRuleRegistry;
+import com.voting.infrastructure.security.ThreatRuleSet;
+import com.voting.infrastructure.security.ThreatScanner;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -13,9 +25,12 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 @Component
 @Slf4j
@@ -31,30 +46,15 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
     @Value("${security.upss.enable-audit:true}")
     private boolean auditLoggingEnabled;
     
-    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
-        "(?i)(SELECT|INSERT|UPDATE|DELETE|DROP|UNION|ALTER|EXEC|EXECUTE|SCRIPT|OR\\s+1\\s*=\\s*1)",
-        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-    );
-    
-    private static final Pattern CODE_EXECUTION_PATTERN = Pattern.compile(
-        "(?i)(eval|__import__|exec|system|os\\.system|subprocess|Popen|Runtime\\.getRuntime|ProcessBuilder)",
-        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-    );
-    
-    private static final Pattern SCRIPT_INJECTION_PATTERN = Pattern.compile(
-        "(?i)(<script|javascript:|onerror=|onload=|eval\\(|expression\\()",
-        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-    );
-    
-    private static final Pattern CMD_EXECUTION_PATTERN = Pattern.compile(
-        "(?i)(cmd\\.exe|/bin/bash|/bin/sh|powershell|bash -c)",
-        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
-    );
-    
-    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(
-        "(\\.\\\\/|\\.\\./|\\\\x2e\\\\x2e|%2e%2e)",
-        Pattern.CASE_INSENSITIVE
-    );
+    // Active rule set, compiled into one automaton; swapped when the rule file changes
+	@Autowired
+    private ThreatRuleRegistry ruleRegistry;
+	@Autowired
+    private SecurityVerdictCache verdictCache;
+	@Autowired
+    private SecurityAuditWriter auditWriter;
+	@Autowired
+    private SecurityScanMetrics scanMetrics;
     
     @Override
     public SecurityCheckResult validatePrompt(String userInput) {
@@ -66,12 +66,67 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
         }
         
         if (userInput == null || userInput.isEmpty()) {
-            return SecurityCheckResult.passed("");
+            return SecurityCheckResult.CLEAN;
         }
         
         return performSecurityCheck(userInput, "PROMPT", null, null);
     }
     
+    @Override
+    public BatchSecurityCheckResult validatePrompts(List<String> fields, Long userId, boolean failFastOnCritical) {
+        int fieldCount = fields != null ? fields.size() : 0;
+        log.debug("Validating {} prompt fields for user: {}", fieldCount, userId);
+        
+        List<BatchSecurityCheckResult.FieldVerdict> verdicts = new ArrayList<>(fieldCount);
+        boolean passed = true;
+        boolean stoppedEarly = false;
+        if (!upssEnabled) {
+            log.warn("UPSS security is disabled");
+            verdicts.addAll(Collections.nCopies(fieldCount, BatchSecurityCheckResult.FieldVerdict.PASSED));
+        } else {
+            // One rule set for the whole batch; clean fields share a single passed verdict
+            long start = System.nanoTime();
+            ThreatRuleSet rules = ruleRegistry.current();
+            int checkedLength = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                String field = fields.get(i);
+                checkedLength += field != null ? field.length() : 0;
+                long fieldStart = System.nanoTime();
+                BatchSecurityCheckResult.FieldVerdict verdict = checkField(rules, field);
+                long elapsed = System.nanoTime() - fieldStart;
+                if (scanMetrics.isSlow(elapsed)) {
+                    // Identified by digest only, like single checks
+                    scanMetrics.recordSlowScan("PROMPT_BATCH", field.length(), elapsed, calculateChecksum(field));
+                }
+                verdicts.add(verdict);
+                passed &= verdict.isPassed();
+                if (failFastOnCritical && verdict.isCriticalThreat()) {
+                    stoppedEarly = i + 1 < fieldCount;
+                    break;
+                }
+            }
+            scanMetrics.recordScan("PROMPT_BATCH", passed, checkedLength, System.nanoTime() - start);
+        }
+        
+        BatchSecurityCheckResult result = BatchSecurityCheckResult.builder()
+            .passed(passed)
+            .checkId(generateCheckId())
+            .checkedAt(LocalDateTime.now())
+            .fieldCount(fieldCount)
+            .stoppedEarly(stoppedEarly)
+            .verdicts(verdicts)
+            .build();
+        
+        if (auditLoggingEnabled && !passed) {
+            for (BatchSecurityCheckResult.FieldVerdict verdict : verdicts) {
+                if (!verdict.isPassed()) {
+                    auditWriter.publish(SecurityAuditEvent.of(verdict, "PROMPT_BATCH", result.getCheckId(), userId));
+                }
+            }
+        }
+        return result;
+    }
+    
     @Override
     public SecurityCheckResult validateAIResponse(String aiOutput) {
         log.debug("Validating AI response output");
@@ -81,7 +136,7 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
         }
         
         if (aiOutput == null || aiOutput.isEmpty()) {
-            return SecurityCheckResult.passed("");
+            return SecurityCheckResult.CLEAN;
         }
         
         return performSecurityCheck(aiOutput, "AI_OUTPUT", null, null);
@@ -96,13 +151,13 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
         }
         
         if (voteDescription == null || voteDescription.isEmpty()) {
-            return SecurityCheckResult.passed("");
+            return SecurityCheckResult.CLEAN;
         }
         
         SecurityCheckResult result = performSecurityCheck(voteDescription, "VOTE_DESCRIPTION", userId, null);
         
         if (auditLoggingEnabled) {
-            auditLog(userId, "VOTE_DESCRIPTION_CHECK", result.isPassed() ? "PASSED" : "FAILED", result.getRiskLevel());
+            auditLog(userId, null, "VOTE_DESCRIPTION_CHECK", result);
         }
         
         return result;
@@ -117,114 +172,199 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
         }
         
         if (analysisOutput == null || analysisOutput.isEmpty()) {
-            return SecurityCheckResult.passed("");
+            return SecurityCheckResult.CLEAN;
         }
         
         SecurityCheckResult result = performSecurityCheck(analysisOutput, "VOTE_ANALYSIS", null, voteId);
         
         if (auditLoggingEnabled) {
-            auditLog(null, "VOTE_ANALYSIS_CHECK", result.isPassed() ? "PASSED" : "FAILED", result.getRiskLevel());
+            auditLog(null, voteId, "VOTE_ANALYSIS_CHECK", result);
         }
         
         return result;
     }
     
+    @Override
+    public SecurityScanSession openAIResponseScan() {
+        return new StreamingCheck("AI_OUTPUT", null);
+    }
+    
+    @Override
+    public SecurityScanSession openVoteAnalysisScan(Long voteId) {
+        return new StreamingCheck("VOTE_ANALYSIS", voteId);
+    }
+    
     @Override
     public boolean isSecurityOperational() {
         return upssEnabled;
     }
     
     private SecurityCheckResult performSecurityCheck(String input, String checkType, Long userId, Long voteId) {
-        SecurityCheckResult.SecurityCheckResultBuilder resultBuilder = SecurityCheckResult.builder()
-            .checkId(generateCheckId())
-            .inputHash(calculateChecksum(input))
-            .checkedAt(LocalDateTime.now())
-            .sanitizedInput(input)
-            .detectedThreats(new HashMap<>())
-            .context(new HashMap<>());
+        long start = System.nanoTime();
+        SecurityCheckResult result = checkContent(input, checkType, userId, voteId);
+        long elapsed = System.nanoTime() - start;
+        scanMetrics.recordScan(checkType, result.isPassed(), input.length(), elapsed);
+        if (scanMetrics.isSlow(elapsed)) {
+            // Identified by digest only; the content may be sensitive
+            scanMetrics.recordSlowScan(checkType, input.length(), elapsed,
+                result.getInputHash() != null ? result.getInputHash() : calculateChecksum(input));
+        }
+        return result;
+    }
+    
+    /**
+     * Clean input, the common case, returns the shared {@link SecurityCheckResult#CLEAN}
+     * after one allocation-free scan. The digest, verdict cache and a full result with
+     * context are only paid for when the input is too long or has threats.
+     */
+    private SecurityCheckResult checkContent(String input, String checkType, Long userId, Long voteId) {
+        ThreatRuleSet rules = ruleRegistry.current();
+        ThreatScanner scanner = rules.getScanner();
         
-        // 1. Check input length
+        // 1. Fast path: within limits and no threat category matched
+        if (input.length() <= maxInputLength && scanner.scanCategories(input) == 0) {
+            if (auditLoggingEnabled && log.isDebugEnabled()) {
+                log.debug("SECURITY_EVENT: type={}, passed=true, riskLevel=LOW, userId={}, voteId={}",
+                    checkType, userId, voteId);
+            }
+            return SecurityCheckResult.CLEAN;
+        }
+        String inputHash = calculateChecksum(input);
+        
+        // 2. Check input length
         if (input.length() > maxInputLength) {
             String error = String.format("Input exceeds maximum length: %d > %d", input.length(), maxInputLength);
             log.warn("Security check failed - {}", error);
-            resultBuilder.passed(false)
+            return SecurityCheckResult.builder()
+                .checkId(generateCheckId())
+                .inputHash(inputHash)
+                .checkedAt(LocalDateTime.now())
+                .sanitizedInput(input)
+                .detectedThreats(new HashMap<>())
+                .context(new HashMap<>())
+                .passed(false)
                 .lastError(error)
                 .riskLevel("HIGH")
-                .threatCount(1);
-            return resultBuilder.build();
+                .threatCount(1)
+                .build();
         }
         
-        // 2. Initialize threat tracking
+        // 3. Reuse the verdict for identical content checked against the same rules
+        SecurityCheckResult verdict = verdictCache.get(checkType, inputHash, scanner.getVersion());
+        if (verdict == null) {
+            verdict = scanForThreats(scanner, input, checkType);
+            verdictCache.put(checkType, inputHash, scanner.getVersion(), verdict);
+        }
+        recordRuleHits(rules, verdict);
+        
+        // Build result; the cached verdict is shared, so its maps are copied
+        SecurityCheckResult result = SecurityCheckResult.builder()
+            .checkId(generateCheckId())
+            .inputHash(inputHash)
+            .checkedAt(LocalDateTime.now())
+            .sanitizedInput(input)
+            .passed(verdict.isPassed())
+            .threatCount(verdict.getThreatCount())
+            .detectedThreats(new HashMap<>(verdict.getDetectedThreats()))
+            .riskLevel(verdict.getRiskLevel())
+            .lastError(verdict.getLastError())
+            .context(new HashMap<>(verdict.getContext()))
+            .build();
+        
+        // Add context
+        result.addContext("checkType", checkType);
+        result.addContext("userId", userId);
+        result.addContext("voteId", voteId);
+        result.addContext("inputLength", input.length());
+        
+        logSecurityEvent(result, checkType, userId, voteId);
+        
+        return result;
+    }
+    
+    private SecurityCheckResult scanForThreats(ThreatScanner scanner, String input, String checkType) {
+        // Initialize threat tracking
         Map<String, String> threats = new HashMap<>();
+        Map<String, Object> context = new HashMap<>();
         int threatCount = 0;
         String riskLevel = "LOW";
         boolean hasThreat = false;
         
-        // 3. Detect SQL injection
-        if (SQL_INJECTION_PATTERN.matcher(input).find()) {
-            threats.put("SQL_INJECTION", "SQL injection pattern detected");
+        // Detect every threat category in a single scan
+        Map<ThreatCategory, ThreatMatch> matches = scanner.scan(input);
+        Map<String, Integer> threatOffsets = new HashMap<>();
+        for (ThreatMatch match : matches.values()) {
+            ThreatCategory category = match.getCategory();
+            threats.put(category.name(), category.getDescription());
+            threatOffsets.put(category.name(), match.getEnd());
             threatCount++;
             hasThreat = true;
-            riskLevel = "HIGH";
-            log.warn("SQL injection detected in {}", checkType);
+            riskLevel = category.getRiskLevel();
+            log.warn("{} detected in {} (rule '{}' ending at {})", category.getLabel(), checkType, match.getRule(), match.getEnd());
         }
-        
-        // 4. Detect code execution attempts
-        if (CODE_EXECUTION_PATTERN.matcher(input).find()) {
-            threats.put("CODE_EXECUTION", "Code execution pattern detected");
-            threatCount++;
-            hasThreat = true;
-            riskLevel = "CRITICAL";
-            log.warn("Code execution attempt detected in {}", checkType);
+        if (hasThreat) {
+            context.put("threatOffsets", threatOffsets);
+            context.put("threatRules", threatRules(matches));
         }
         
-        // 5. Detect script injection
-        if (SCRIPT_INJECTION_PATTERN.matcher(input).find()) {
-            threats.put("SCRIPT_INJECTION", "Script injection pattern detected");
-            threatCount++;
-            hasThreat = true;
-            riskLevel = "HIGH";
-            log.warn("Script injection detected in {}", checkType);
+        return SecurityCheckResult.builder()
+            .passed(!hasThreat)
+            .threatCount(threatCount)
+            .detectedThreats(threats)
+            .riskLevel(riskLevel)
+            .lastError(hasThreat ? String.format("Security threats detected: %d threat(s)", threatCount) : null)
+            .context(context)
+            .build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void recordRuleHits(ThreatRuleSet rules, SecurityCheckResult verdict) {
+        // Counted per check, so verdicts answered from the cache count too
+        Object matched = verdict.getContext().get("threatRules");
+        if (matched instanceof Map) {
+            ((Map<String, List<String>>) matched).forEach((category, matchedRules) ->
+                matchedRules.forEach(rule -> recordRuleHit(rules, ThreatCategory.valueOf(category), rule)));
         }
-        
-        // 6. Detect command execution
-        if (CMD_EXECUTION_PATTERN.matcher(input).find()) {
-            threats.put("COMMAND_EXECUTION", "Command execution pattern detected");
-            threatCount++;
-            hasThreat = true;
-            riskLevel = "CRITICAL";
-            log.warn("Command execution attempt detected in {}", checkType);
+    }
+    
+    /**
+     * Every rule that matched, by category name.
+     */
+    private static Map<String, List<String>> threatRules(Map<ThreatCategory, ThreatMatch> matches) {
+        Map<String, List<String>> threatRules = new HashMap<>();
+        matches.forEach((category, match) -> threatRules.put(category.name(), List.copyOf(match.getRules())));
+        return threatRules;
+    }
+    
+    private void recordRuleHit(ThreatRuleSet rules, ThreatCategory category, String rule) {
+        rules.recordHit(category, rule);
+        scanMetrics.recordRuleMatch(rules, category, rule);
+    }
+    
+    private BatchSecurityCheckResult.FieldVerdict checkField(ThreatRuleSet rules, String field) {
+        if (field == null || field.isEmpty()) {
+            return BatchSecurityCheckResult.FieldVerdict.PASSED;
         }
-        
-        // 7. Detect path traversal
-        if (PATH_TRAVERSAL_PATTERN.matcher(input).find()) {
-            threats.put("PATH_TRAVERSAL", "Path traversal pattern detected");
-            threatCount++;
-            hasThreat = true;
-            riskLevel = "HIGH";
-            log.warn("Path traversal attempt detected in {}", checkType);
+        if (field.length() > maxInputLength) {
+            return new BatchSecurityCheckResult.FieldVerdict(false, "HIGH", Map.of(),
+                String.format("Input exceeds maximum length: %d > %d", field.length(), maxInputLength));
         }
-        // TODO: Cover others
-        // Build result
-        resultBuilder.passed(!hasThreat)
-            .threatCount(threatCount)
-            .detectedThreats(threats)
-            .riskLevel(riskLevel);
         
-        if (hasThreat) {
-            resultBuilder.lastError(String.format("Security threats detected: %d threat(s)", threatCount));
+        ThreatScanner scanner = rules.getScanner();
+        if (scanner.scanCategories(field) == 0) {
+            return BatchSecurityCheckResult.FieldVerdict.PASSED;
         }
-        
-        // Add context
-        SecurityCheckResult result = resultBuilder.build();
-        result.addContext("checkType", checkType);
-        result.addContext("userId", userId);
-        result.addContext("voteId", voteId);
-        result.addContext("inputLength", input.length());
-        
-        logSecurityEvent(result, checkType, userId, voteId);
-        
-        return result;
+        // Rare threat path: rescan to learn which rules fired
+        Map<String, String> threats = new LinkedHashMap<>();
+        String riskLevel = "LOW";
+        for (ThreatMatch match : scanner.scan(field).values()) {
+            ThreatCategory category = match.getCategory();
+            threats.put(category.name(), category.getDescription());
+            riskLevel = category.getRiskLevel();
+            match.getRules().forEach(rule -> recordRuleHit(rules, category, rule));
+        }
+        return new BatchSecurityCheckResult.FieldVerdict(false, riskLevel, threats,
+            String.format("Security threats detected: %d threat(s)", threats.size()));
     }
     
     private String calculateChecksum(String input) {
@@ -253,17 +393,135 @@ public class UPSSSecurityAdapter implements PromptSecurityPort {
             return;
         }
         
-        if (!result.isPassed()) {
-            log.warn("SECURITY_EVENT: type={}, passed={}, riskLevel={}, threats={}, userId={}, voteId={}, error={}",
-                checkType, result.isPassed(), result.getRiskLevel(), result.getThreatCount(), userId, voteId, result.getLastError());
-        } else {
-            log.debug("SECURITY_EVENT: type={}, passed={}, riskLevel={}, userId={}, voteId={}",
-                checkType, result.isPassed(), result.getRiskLevel(), userId, voteId);
-        }
+        // Written to the audit file by a background thread
+        auditWriter.publish(SecurityAuditEvent.of(result, checkType, userId, voteId));
+    }
+    
+    private void auditLog(Long userId, Long voteId, String action, SecurityCheckResult result) {
+        auditWriter.publish(SecurityAuditEvent.audit(action, result.isPassed(), result.getRiskLevel(), userId, voteId));
     }
     
-    private void auditLog(Long userId, String action, String result, String riskLevel) {
-        log.info("AUDIT_LOG: action={}, result={}, riskLevel={}, userId={}, timestamp={}",
-            action, result, riskLevel, userId, LocalDateTime.now());
+    /**
+     * Scans chunks as they arrive with one automaton session; the result stays the shared
+     * {@link SecurityCheckResult#CLEAN} until a threat appears, and is rebuilt only when a new
+     * threat category is found.
+     */
+    private class StreamingCheck implements SecurityScanSession {
+        
+        private final String checkType;
+        private final Long voteId;
+        private final ThreatRuleSet rules;
+        private final ThreatScanner.Session session;
+        private final int criticalMatchLength;
+        private SecurityCheckResult result = SecurityCheckResult.CLEAN;
+        private int reported;
+        private long scanNanos;
+        private boolean aborted;
+        private boolean finished;
+        
+        StreamingCheck(String checkType, Long voteId) {
+            this.checkType = checkType;
+            this.voteId = voteId;
+            // The whole stream is checked against the rule set active when it started
+            this.rules = ruleRegistry.current();
+            this.session = rules.getScanner().newSession();
+            int longest = 0;
+            for (ThreatCategory category : ThreatCategory.values()) {
+                if ("CRITICAL".equals(category.getRiskLevel())) {
+                    longest = Math.max(longest, rules.getScanner().longestMatch(category));
+                }
+            }
+            this.criticalMatchLength = longest;
+        }
+        
+        @Override
+        public SecurityCheckResult append(CharSequence chunk) {
+            if (!upssEnabled || aborted || finished || chunk == null) {
+                return result;
+            }
+            long start = System.nanoTime();
+            int found = session.feed(chunk);
+            scanNanos += System.nanoTime() - start;
+            if (found != reported) {
+                reported = found;
+                result = threatResult();
+            }
+            return result;
+        }
+        
+        @Override
+        public SecurityCheckResult finish() {
+            if (finished) {
+                return result;
+            }
+            finished = true;
+            scanMetrics.recordScan(checkType + "_STREAM", result.isPassed(), session.getPosition(), scanNanos);
+            // Clean streams stay unlogged, like clean whole-text checks
+            if (result != SecurityCheckResult.CLEAN) {
+                // Counted once the stream is over, so rules of a category found earlier count too
+                session.getMatches().forEach((category, match) ->
+                    match.getRules().forEach(rule -> recordRuleHit(rules, category, rule)));
+                result.addContext("threatRules", threatRules(session.getMatches()));
+                result.addContext("inputLength", session.getPosition());
+                logSecurityEvent(result, checkType, null, voteId);
+            }
+            if (auditLoggingEnabled && "VOTE_ANALYSIS".equals(checkType)) {
+                auditLog(null, voteId, "VOTE_ANALYSIS_CHECK", result);
+            }
+            return result;
+        }
+        
+        @Override
+        public boolean isAborted() {
+            return aborted;
+        }
+        
+        /**
+         * Bounded by the longest critical rule of the set; with a whitespace run in one, text
+         * is held until the scanner is back in its start state.
+         */
+        @Override
+        public int getUndecidedLength() {
+            if (!upssEnabled || finished || session.isAtStart()) {
+                return 0;
+            }
+            return criticalMatchLength;
+        }
+        
+        private SecurityCheckResult threatResult() {
+            Map<String, String> threats = new HashMap<>();
+            Map<String, Integer> threatOffsets = new HashMap<>();
+            String riskLevel = "LOW";
+            for (ThreatMatch match : session.getMatches().values()) {
+                ThreatCategory category = match.getCategory();
+                threats.put(category.name(), category.getDescription());
+                threatOffsets.put(category.name(), match.getEnd());
+                riskLevel = category.getRiskLevel();
+                if ("CRITICAL".equals(category.getRiskLevel())) {
+                    aborted = true;
+                }
+                if (!result.getDetectedThreats().containsKey(category.name())) {
+                    log.warn("{} detected in streamed {} (rule '{}' ending at {})",
+                        category.getLabel(), checkType, match.getRule(), match.getEnd());
+                }
+            }
+            
+            SecurityCheckResult threat = SecurityCheckResult.builder()
+                .checkId(result == SecurityCheckResult.CLEAN ? generateCheckId() : result.getCheckId())
+                .checkedAt(LocalDateTime.now())
+                .passed(false)
+                .threatCount(threats.size())
+                .detectedThreats(threats)
+                .riskLevel(riskLevel)
+                .lastError(String.format("Security threats detected: %d threat(s)", threats.size()))
+                .context(new HashMap<>())
+                .build();
+            threat.addContext("checkType", checkType);
+            threat.addContext("voteId", voteId);
+            threat.addContext("streamed", true);
+            threat.addContext("threatOffsets", threatOffsets);
+            threat.addContext("threatRules", threatRules(session.getMatches()));
+            return threat;
+        }
     }
 }
@@ -0,0 +1,33 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.persistence;
+
+import com.voting.domain.model.VoteAnalysis;
+import com.voting.domain.port.JpaVoteAnalysisRepository;
+import com.voting.domain.port.VoteAnalysisRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class VoteAnalysisRepositoryAdapter implements VoteAnalysisRepository {
+    
+	@Autowired
+    private JpaVoteAnalysisRepository jpaVoteAnalysisRepository;
+    
+    @Override
+    public VoteAnalysis save(VoteAnalysis analysis) {
+        return jpaVoteAnalysisRepository.save(analysis);
+    }
+    
+    @Override
+    public Optional<VoteAnalysis> findByVoteId(Long voteId) {
+        return jpaVoteAnalysisRepository.findByVoteId(voteId);
+    }
+}
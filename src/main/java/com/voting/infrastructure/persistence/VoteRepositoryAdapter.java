@@ -3,6 +3,7 @@
  */
 package com.voting.infrastructure.persistence;
 
+import com.voting.domain.model.AIEnhancementStatus;
 import com.voting.domain.model.Vote;
 import com.voting.domain.port.JpaVoteRepository;
 import com.voting.domain.port.VoteRepository;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -51,6 +53,16 @@ public class VoteRepositoryAdapter implements VoteRepository {
     public List<Vote> findByCreatorId(Long creatorId) {
         return jpaVoteRepository.findByCreatorId(creatorId);
     }
+    
+    @Override
+    public int updateAiEnhancement(Long voteId, String aiEnhancedDescription, AIEnhancementStatus status) {
+        return jpaVoteRepository.updateAiEnhancement(voteId, aiEnhancedDescription, status);
+    }
+    
+    @Override
+    public List<Vote> findClosedWithoutAnalysis(LocalDateTime since, LocalDateTime until) {
+        return jpaVoteRepository.findClosedWithoutAnalysis(since, until);
+    }
 
 	@Override
 	public void flush() {
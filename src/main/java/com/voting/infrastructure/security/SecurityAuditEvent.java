@@ -0,0 +1,47 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.voting.domain.valueobject.BatchSecurityCheckResult;
+import com.voting.domain.valueobject.SecurityCheckResult;
+
+import java.util.List;
+
+/**
+ * One line of the security audit file.
+ *
+ * @param timestamp   epoch milliseconds when the event was raised
+ * @param kind        {@code SECURITY_EVENT} for a check result, {@code AUDIT} for an audited action
+ * @param action      check type (PROMPT, VOTE_DESCRIPTION, ...) or audited action
+ * @param threats     names of the threat categories found, empty when none
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SecurityAuditEvent(long timestamp, String kind, String action, boolean passed, String riskLevel,
+                                 int threatCount, List<String> threats, Long userId, Long voteId,
+                                 String checkId, String inputHash, String error) {
+
+    public static final String SECURITY_EVENT = "SECURITY_EVENT";
+    public static final String AUDIT = "AUDIT";
+
+    public static SecurityAuditEvent of(SecurityCheckResult result, String checkType, Long userId, Long voteId) {
+        List<String> threats = result.getDetectedThreats() != null
+                ? List.copyOf(result.getDetectedThreats().keySet()) : List.of();
+        return new SecurityAuditEvent(System.currentTimeMillis(), SECURITY_EVENT, checkType, result.isPassed(),
+                result.getRiskLevel(), result.getThreatCount(), threats, userId, voteId,
+                result.getCheckId(), result.getInputHash(), result.getLastError());
+    }
+
+    public static SecurityAuditEvent of(BatchSecurityCheckResult.FieldVerdict verdict, String checkType, String checkId,
+                                        Long userId) {
+        return new SecurityAuditEvent(System.currentTimeMillis(), SECURITY_EVENT, checkType, verdict.isPassed(),
+                verdict.getRiskLevel(), verdict.getDetectedThreats().size(), List.copyOf(verdict.getDetectedThreats().keySet()),
+                userId, null, checkId, null, verdict.getError());
+    }
+
+    public static SecurityAuditEvent audit(String action, boolean passed, String riskLevel, Long userId, Long voteId) {
+        return new SecurityAuditEvent(System.currentTimeMillis(), AUDIT, action, passed, riskLevel,
+                0, List.of(), userId, voteId, null, null, null);
+    }
+}
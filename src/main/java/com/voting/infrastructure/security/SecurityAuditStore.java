@@ -0,0 +1,411 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store for security audit events, split into time partitions. Each partition
+ * is one or more JSON-lines segment files under {@code security.upss.audit.dir}; a segment
+ * is closed when the partition interval ends or it reaches {@code rotate-max-bytes}.
+ * <p>
+ * Every segment keeps in-memory postings of record numbers by user, vote and risk level, plus
+ * the byte offset of each record, so a query only reads the segments whose time range
+ * overlaps the request and, inside them, only the records that match the most selective
+ * filter. The postings are rebuilt from the segment files on startup.
+ * <p>
+ * Each time a segment is opened, closed segments whose newest event is older than
+ * {@code security.upss.audit.retention} are deleted along with their postings; a zero
+ * retention keeps every segment.
+ * <p>
+ * Appends come from the single audit writer thread; queries may run concurrently.
+ */
+@Component
+@Slf4j
+public class SecurityAuditStore {
+
+    public static final int MAX_QUERY_LIMIT = 1000;
+
+    private static final String PREFIX = "audit-";
+    private static final String EXTENSION = ".jsonl";
+    private static final DateTimeFormatter PARTITION_NAME =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmm'Z'").withZone(ZoneOffset.UTC);
+
+    @Value("${security.upss.audit.dir:data/security-audit}")
+    private String dir = "data/security-audit";
+
+    @Value("${security.upss.audit.partition-interval:1h}")
+    private Duration partitionInterval = Duration.ofHours(1);
+
+    @Value("${security.upss.audit.rotate-max-bytes:67108864}")
+    private long rotateMaxBytes = 64L * 1024 * 1024;
+
+    @Value("${security.upss.audit.retention:30d}")
+    private Duration retention = Duration.ofDays(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Oldest first; the last one is the segment being appended to
+    private final List<Segment> segments = new ArrayList<>();
+
+    private Clock clock = Clock.systemUTC();
+
+    // Writer thread only
+    private OutputStream out;
+    private boolean loaded;
+
+    @PostConstruct
+    void load() {
+        Path directory = Paths.get(dir);
+        if (!Files.isDirectory(directory)) {
+            loaded = true;
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(EXTENSION);
+            }).sorted().toList();
+        } catch (IOException e) {
+            log.warn("Could not list security audit partitions in {}: {}", dir, e.getMessage());
+            loaded = true;
+            return;
+        }
+        List<Segment> found = new ArrayList<>();
+        for (Path file : files) {
+            try {
+                found.add(index(file));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable security audit segment {}: {}", file, e.getMessage());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            segments.addAll(found);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loaded = true;
+        log.info("Loaded {} security audit segment(s) from {}", found.size(), dir);
+    }
+
+    @PreDestroy
+    void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Could not close security audit segment in {}: {}", dir, e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Appends a batch and makes it visible to queries. Called by the audit writer thread only.
+     */
+    void append(List<SecurityAuditEvent> batch) throws IOException {
+        if (!loaded) {
+            load();
+        }
+        long partition = partitionOf(clock.millis());
+        Segment current = current();
+        // Segments from before a restart or a failed write are never appended to again
+        if (current == null || out == null || current.partition != partition || current.bytes >= rotateMaxBytes) {
+            current = openSegment(partition);
+        }
+
+        long offset = current.bytes;
+        long[] offsets = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] line = objectMapper.writeValueAsBytes(batch.get(i));
+            out.write(line);
+            out.write('\n');
+            offsets[i] = offset;
+            offset += line.length + 1;
+        }
+        out.flush();
+
+        // Index only after the bytes are on disk so a concurrent query never reads a partial line
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                current.add(batch.get(i), offsets[i]);
+            }
+            current.bytes = offset;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Events matching every given filter, newest first. Null filters match anything.
+     */
+    public List<SecurityAuditEvent> query(Instant from, Instant to, Long userId, Long voteId,
+                                          String riskLevel, int limit) {
+        long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        int max = Math.max(1, Math.min(limit, MAX_QUERY_LIMIT));
+
+        // Pick candidates under the lock, read them without it
+        List<Candidates> plan = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Segment segment = segments.get(i);
+                if (segment.count > 0 && segment.maxTimestamp >= fromMillis && segment.minTimestamp <= toMillis) {
+                    plan.add(segment.candidates(userId, voteId, riskLevel));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SecurityAuditEvent> results = new ArrayList<>();
+        for (Candidates candidates : plan) {
+            try (FileChannel channel = FileChannel.open(candidates.file, StandardOpenOption.READ)) {
+                for (int i = candidates.starts.length - 1; i >= 0 && results.size() < max; i--) {
+                    SecurityAuditEvent event = read(channel, candidates.starts[i], candidates.ends[i]);
+                    if (event != null && event.timestamp() >= fromMillis && event.timestamp() <= toMillis
+                            && matches(event, userId, voteId, riskLevel)) {
+                        results.add(event);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not read security audit segment {}: {}", candidates.file, e.getMessage());
+            }
+            if (results.size() >= max) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment current() {
+        lock.readLock().lock();
+        try {
+            return segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment openSegment(long partition) throws IOException {
+        close();
+        Path directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        String base = PREFIX + PARTITION_NAME.format(Instant.ofEpochMilli(partition * partitionInterval.toMillis()));
+        Path file = directory.resolve(base + EXTENSION);
+        for (int i = 1; Files.exists(file); i++) {
+            file = directory.resolve(base + "-" + i + EXTENSION);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW));
+        Segment segment = new Segment(file, partition);
+        List<Segment> expired = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            segments.add(segment);
+            if (retention.isPositive()) {
+                long cutoff = clock.millis() - retention.toMillis();
+                // The new segment is last and never expires here; empty segments have no newest event
+                for (Iterator<Segment> it = segments.subList(0, segments.size() - 1).iterator(); it.hasNext(); ) {
+                    Segment old = it.next();
+                    if (old.maxTimestamp < cutoff) {
+                        it.remove();
+                        expired.add(old);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Segment old : expired) {
+            try {
+                Files.deleteIfExists(old.file);
+            } catch (IOException e) {
+                log.warn("Could not delete expired security audit segment {}: {}", old.file, e.getMessage());
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Dropped {} security audit segment(s) older than {}", expired.size(), retention);
+        }
+        return segment;
+    }
+
+    private Segment index(Path file) throws IOException {
+        Segment segment = new Segment(file, -1);
+        long offset = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long next = offset + line.getBytes(StandardCharsets.UTF_8).length + 1;
+                try {
+                    segment.add(objectMapper.readValue(line, SecurityAuditEvent.class), offset);
+                } catch (IOException e) {
+                    // A line cut short by a crash; later lines are still usable
+                    log.debug("Skipping malformed audit line in {} at {}", file, offset);
+                }
+                offset = next;
+            }
+        }
+        segment.bytes = offset;
+        if (segment.count > 0) {
+            segment.partition = partitionOf(segment.minTimestamp);
+        }
+        return segment;
+    }
+
+    private SecurityAuditEvent read(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return objectMapper.readValue(buffer.array(), 0, buffer.limit(), SecurityAuditEvent.class);
+    }
+
+    private long partitionOf(long timestamp) {
+        return Math.floorDiv(timestamp, partitionInterval.toMillis());
+    }
+
+    private static boolean matches(SecurityAuditEvent event, Long userId, Long voteId, String riskLevel) {
+        return (userId == null || userId.equals(event.userId()))
+                && (voteId == null || voteId.equals(event.voteId()))
+                && (riskLevel == null || riskLevel.equalsIgnoreCase(event.riskLevel()));
+    }
+
+    /**
+     * Byte ranges of the records to read from one segment, oldest first, without newlines.
+     */
+    private record Candidates(Path file, long[] starts, long[] ends) {
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private long partition;
+        private long bytes;
+        private int count;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private long[] offsets = new long[64];
+        private final Map<Long, Postings> byUser = new HashMap<>();
+        private final Map<Long, Postings> byVote = new HashMap<>();
+        private final Map<String, Postings> byRisk = new HashMap<>();
+
+        private Segment(Path file, long partition) {
+            this.file = file;
+            this.partition = partition;
+        }
+
+        private void add(SecurityAuditEvent event, long offset) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count] = offset;
+            if (event.userId() != null) {
+                byUser.computeIfAbsent(event.userId(), key -> new Postings()).add(count);
+            }
+            if (event.voteId() != null) {
+                byVote.computeIfAbsent(event.voteId(), key -> new Postings()).add(count);
+            }
+            if (event.riskLevel() != null) {
+                byRisk.computeIfAbsent(event.riskLevel().toUpperCase(), key -> new Postings()).add(count);
+            }
+            minTimestamp = Math.min(minTimestamp, event.timestamp());
+            maxTimestamp = Math.max(maxTimestamp, event.timestamp());
+            count++;
+        }
+
+        private Candidates candidates(Long userId, Long voteId, String riskLevel) {
+            // The shortest postings list bounds the reads; the other filters are checked per record
+            Postings best = null;
+            if (userId != null) {
+                best = shorter(best, byUser.get(userId));
+            }
+            if (voteId != null) {
+                best = shorter(best, byVote.get(voteId));
+            }
+            if (riskLevel != null) {
+                best = shorter(best, byRisk.get(riskLevel.toUpperCase()));
+            }
+            int size = best != null ? best.size : count;
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                int record = best != null ? best.records[i] : i;
+                starts[i] = offsets[record];
+                ends[i] = (record + 1 < count ? offsets[record + 1] : bytes) - 1;
+            }
+            return new Candidates(file, starts, ends);
+        }
+
+        private static Postings shorter(Postings current, Postings candidate) {
+            if (candidate == null) {
+                return Postings.EMPTY;
+            }
+            return current == null || candidate.size < current.size ? candidate : current;
+        }
+    }
+
+    private static final class Postings {
+
+        private static final Postings EMPTY = new Postings();
+
+        private int[] records = new int[4];
+        private int size;
+
+        private void add(int record) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+            }
+            records[size++] = record;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes security audit events off the request thread. Callers publish into a bounded
+ * lock-free ring buffer; a single background thread drains it in batches and appends them
+ * to the {@link SecurityAuditStore}. When the buffer is full the {@code security.upss.audit.overflow-policy} decides:
+ * {@code DROP} discards the event and counts it, {@code BLOCK} waits up to
+ * {@code security.upss.audit.block-timeout} for room and then drops it.
+ */
+@Component
+@Slf4j
+public class SecurityAuditWriter {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    @Value("${security.upss.enable-audit:true}")
+    private boolean enabled = true;
+
+    @Value("${security.upss.audit.buffer-size:8192}")
+    private int bufferSize = 8192;
+
+    @Value("${security.upss.audit.batch-size:256}")
+    private int batchSize = 256;
+
+    @Value("${security.upss.audit.flush-interval:200ms}")
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    @Value("${security.upss.audit.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    @Value("${security.upss.audit.block-timeout:50ms}")
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+	@Autowired
+    private SecurityAuditStore store;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private AuditRingBuffer<SecurityAuditEvent> buffer;
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new AuditRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1);
+        running = true;
+        Thread thread = new Thread(this::run, "security-audit");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    /**
+     * Queues the event for the audit file; never blocks longer than the block timeout.
+     * Returns false when the event was dropped.
+     */
+    public boolean publish(SecurityAuditEvent event) {
+        AuditRingBuffer<SecurityAuditEvent> queue = buffer;
+        if (queue == null) {
+            return false;
+        }
+        if (queue.offer(event)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeout.toNanos();
+            do {
+                // Wake the writer so it makes room, then back off briefly
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(50_000);
+                if (queue.offer(event)) {
+                    return true;
+                }
+            } while (System.nanoTime() < deadline && running);
+        }
+        long total = dropped.incrementAndGet();
+        if (Long.bitCount(total) == 1) {
+            // Logs at 1, 2, 4, 8 ... drops so a flood cannot flood the log too
+            log.warn("Security audit buffer full; {} event(s) dropped so far", total);
+        }
+        return false;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public int queueDepth() {
+        AuditRingBuffer<SecurityAuditEvent> queue = buffer;
+        return queue != null ? queue.size() : 0;
+    }
+
+    private void run() {
+        List<SecurityAuditEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                batch.clear();
+                buffer.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(flushInterval.toNanos());
+                    continue;
+                }
+                write(batch);
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    void write(List<SecurityAuditEvent> batch) {
+        try {
+            store.append(batch);
+            written.addAndGet(batch.size());
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("Could not write {} security audit event(s): {}", batch.size(), e.getMessage());
+            store.close();
+        }
+    }
+}
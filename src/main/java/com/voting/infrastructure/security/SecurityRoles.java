@@ -0,0 +1,81 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Grants the security operations roles that may read the audit log and manage threat rules.
+ * Users have no roles in the database, so they are granted by email: {@code security.roles.admins}
+ * and {@code security.roles.investigators} are comma-separated lists, empty by default, so
+ * nobody holds a role until it is configured.
+ */
+@Component
+@Slf4j
+public class SecurityRoles {
+
+    public enum Role {
+        ADMIN,
+        INVESTIGATOR
+    }
+
+	@Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${security.roles.admins:}")
+    private List<String> admins = List.of();
+
+    @Value("${security.roles.investigators:}")
+    private List<String> investigators = List.of();
+
+    /**
+     * Email of the caller whose bearer token is valid and who holds one of {@code allowed}.
+     *
+     * @throws SecurityException if the token is missing, malformed, forged or expired
+     * @throws AccessDeniedException if the caller holds none of the roles
+     */
+    public String require(HttpServletRequest request, Role... allowed) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new SecurityException("Missing or invalid Authorization header");
+        }
+        String email;
+        try {
+            email = jwtUtil.extractEmail(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new SecurityException("Invalid or expired token");
+        }
+        if (email == null) {
+            throw new SecurityException("Invalid or expired token");
+        }
+        for (Role role : allowed) {
+            if (holders(role).contains(email.toLowerCase(Locale.ROOT))) {
+                return email;
+            }
+        }
+        log.warn("Denied {} to {}: requires one of {}", request.getRequestURI(), email, List.of(allowed));
+        throw new AccessDeniedException("Requires one of the roles " + List.of(allowed));
+    }
+
+    private Set<String> holders(Role role) {
+        List<String> emails = role == Role.ADMIN ? admins : investigators;
+        return emails.stream()
+                .map(String::strip)
+                .filter(email -> !email.isEmpty())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,157 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of security checks, published through the actuator metrics endpoint:
+ * <ul>
+ *   <li>{@code security.scan.duration} - time per check by {@code checkType} and
+ *       {@code result} (passed, failed), as a histogram</li>
+ *   <li>{@code security.scan.length} - characters checked per check</li>
+ *   <li>{@code security.scan.slow} - checks slower than {@code security.upss.metrics.slow-scan-threshold}</li>
+ *   <li>{@code security.rule.matches} - matches of the active rule set by {@code category} and
+ *       {@code rule}, the rule's index within its category as listed by {@link ThreatRuleSet#getHitCounts()};
+ *       reset when the rules are reloaded</li>
+ *   <li>{@code security.rules.states}, {@code security.rules.count} and
+ *       {@code security.rules.compile-time} - size and build time of the active automaton</li>
+ * </ul>
+ * All rules run in one automaton pass, so a check costs the same whichever rules match and
+ * there is no per-rule scan time to measure. A costly rule shows up as automaton growth
+ * instead, and a scan-time regression shows up in the duration histogram and the slow log.
+ */
+@Component
+@Slf4j
+public class SecurityScanMetrics {
+
+    private static final String[] RESULTS = {"passed", "failed"};
+
+	@Autowired
+    private MeterRegistry meterRegistry;
+	@Autowired
+    private ThreatRuleRegistry ruleRegistry;
+
+    @Value("${security.upss.metrics.slow-scan-threshold:5ms}")
+    private Duration slowScanThreshold = Duration.ofMillis(5);
+
+    // Meters per check type, looked up without allocating on the clean path
+    private final Map<String, ScanMeters> meters = new ConcurrentHashMap<>();
+
+    // Match counters of one rule set, dropped with it; rule text never becomes a tag
+    private RuleMeters ruleMeters;
+
+    @PostConstruct
+    void registerRuleGauges() {
+        Gauge.builder("security.rules.states", ruleRegistry, registry -> registry.current().getStateCount())
+                .description("States in the active threat automaton")
+                .register(meterRegistry);
+        Gauge.builder("security.rules.count", ruleRegistry, registry -> registry.current().getRuleCount())
+                .register(meterRegistry);
+        Gauge.builder("security.rules.compile-time", ruleRegistry,
+                        registry -> registry.current().getCompileTime().toNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public void recordScan(String checkType, boolean passed, int length, long nanos) {
+        ScanMeters scan = meters.get(checkType);
+        if (scan == null) {
+            scan = meters.computeIfAbsent(checkType, this::newScanMeters);
+        }
+        scan.durations[passed ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+        scan.length.record(length);
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos > slowScanThreshold.toNanos();
+    }
+
+    /**
+     * Logs a slow check by the digest of its input, never the input itself.
+     */
+    public void recordSlowScan(String checkType, int length, long nanos, String inputDigest) {
+        log.warn("SLOW_SECURITY_SCAN: type={}, length={}, elapsedMicros={}, digest={}, rules={}",
+                checkType, length, TimeUnit.NANOSECONDS.toMicros(nanos), inputDigest, ruleRegistry.current().getVersion());
+        meters.computeIfAbsent(checkType, this::newScanMeters).slow.increment();
+    }
+
+    /**
+     * Counts a match of a rule of {@code rules}. Only matches against the active set are
+     * metered, so a check that outlived a reload cannot bring back the old set's meters.
+     */
+    public synchronized void recordRuleMatch(ThreatRuleSet rules, ThreatCategory category, String rule) {
+        int index = rules.ruleIndex(category, rule);
+        if (index < 0 || rules != ruleRegistry.current()) {
+            return;
+        }
+        if (ruleMeters == null || ruleMeters.rules() != rules) {
+            removeRuleMeters();
+            ruleMeters = new RuleMeters(rules, new HashMap<>());
+        }
+        ruleMeters.counters().computeIfAbsent(category.name() + ":" + index, key -> Counter.builder("security.rule.matches")
+                        .tag("category", category.name())
+                        .tag("rule", String.valueOf(index))
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    @EventListener
+    public synchronized void onRulesReloaded(ThreatRulesReloadedEvent event) {
+        if (ruleMeters != null && ruleMeters.rules() == event.previous()) {
+            removeRuleMeters();
+        }
+    }
+
+    private void removeRuleMeters() {
+        if (ruleMeters != null) {
+            ruleMeters.counters().values().forEach(meterRegistry::remove);
+            ruleMeters = null;
+        }
+    }
+
+    private ScanMeters newScanMeters(String checkType) {
+        Timer[] durations = new Timer[RESULTS.length];
+        for (int i = 0; i < RESULTS.length; i++) {
+            durations[i] = Timer.builder("security.scan.duration")
+                    .tag("checkType", checkType)
+                    .tag("result", RESULTS[i])
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofMillis(100))
+                    .register(meterRegistry);
+        }
+        DistributionSummary length = DistributionSummary.builder("security.scan.length")
+                .tag("checkType", checkType)
+                .baseUnit("characters")
+                .register(meterRegistry);
+        Counter slow = Counter.builder("security.scan.slow")
+                .tag("checkType", checkType)
+                .register(meterRegistry);
+        return new ScanMeters(durations, length, slow);
+    }
+
+    private record ScanMeters(Timer[] durations, DistributionSummary length, Counter slow) {
+    }
+
+    private record RuleMeters(ThreatRuleSet rules, Map<String, Counter> counters) {
+    }
+}
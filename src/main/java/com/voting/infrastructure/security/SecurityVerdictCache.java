@@ -0,0 +1,75 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Security check verdicts keyed by check type, SHA-256 digest of the checked content and
+ * the version of the threat rules that produced them, so content that was already found to
+ * carry threats is not scanned and assembled again. Clean content never gets here: its
+ * allocation-free scan is cheaper than the digest. Evicted in LRU order once
+ * {@code security.upss.verdict-cache.max-entries} is reached; entries for an older rule
+ * set are never returned and age out, and {@link #clear()} drops them at once.
+ * <p>
+ * Cached results are shared: callers copy what they hand out rather than mutate them.
+ */
+@Component
+public class SecurityVerdictCache {
+
+    @Value("${security.upss.verdict-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${security.upss.verdict-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private final LinkedHashMap<String, SecurityCheckResult> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SecurityCheckResult> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public SecurityCheckResult get(String checkType, String contentDigest, String ruleSetVersion) {
+        if (!enabled) {
+            return null;
+        }
+        String key = key(checkType, contentDigest, ruleSetVersion);
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public void put(String checkType, String contentDigest, String ruleSetVersion, SecurityCheckResult verdict) {
+        if (!enabled || verdict == null) {
+            return;
+        }
+        String key = key(checkType, contentDigest, ruleSetVersion);
+        synchronized (entries) {
+            entries.put(key, verdict);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String key(String checkType, String contentDigest, String ruleSetVersion) {
+        return checkType + ":" + ruleSetVersion + ":" + contentDigest;
+    }
+}
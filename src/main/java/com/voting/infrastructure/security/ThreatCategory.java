@@ -0,0 +1,57 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import java.util.List;
+
+/**
+ * Threat classes the prompt security check looks for, in the order they are evaluated,
+ * with the rules that detect them. Rules are matched ASCII case-insensitively anywhere in
+ * the input; see {@link ThreatScanner} for the rule syntax.
+ */
+public enum ThreatCategory {
+
+    SQL_INJECTION("SQL injection", "HIGH",
+            "select", "insert", "update", "delete", "drop", "union", "alter", "exec", "execute", "script",
+            "or\\s+1\\s*=\\s*1"),
+
+    CODE_EXECUTION("Code execution", "CRITICAL",
+            "eval", "__import__", "exec", "system", "os.system", "subprocess", "popen", "runtime.getruntime",
+            "processbuilder"),
+
+    SCRIPT_INJECTION("Script injection", "HIGH",
+            "<script", "javascript:", "onerror=", "onload=", "eval(", "expression("),
+
+    COMMAND_EXECUTION("Command execution", "CRITICAL",
+            "cmd.exe", "/bin/bash", "/bin/sh", "powershell", "bash -c"),
+
+    PATH_TRAVERSAL("Path traversal", "HIGH",
+            ".\\\\/", "../", "\\\\x2e\\\\x2e", "%2e%2e");
+
+    private final String label;
+    private final String riskLevel;
+    private final List<String> defaultRules;
+
+    ThreatCategory(String label, String riskLevel, String... defaultRules) {
+        this.label = label;
+        this.riskLevel = riskLevel;
+        this.defaultRules = List.of(defaultRules);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getRiskLevel() {
+        return riskLevel;
+    }
+
+    public String getDescription() {
+        return label + " pattern detected";
+    }
+
+    public List<String> getDefaultRules() {
+        return defaultRules;
+    }
+}
@@ -0,0 +1,46 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches of a threat category in a scanned input: the rule that matched first, the offset
+ * just past its last matched character, and every distinct rule of the category that matched,
+ * first one included, in the order they were found.
+ */
+@Getter
+@ToString
+public class ThreatMatch {
+
+    private final ThreatCategory category;
+
+    private final String rule;
+
+    private final int end;
+
+    private final List<String> rules = new ArrayList<>(1);
+
+    public ThreatMatch(ThreatCategory category, String rule, int end) {
+        this.category = category;
+        this.rule = rule;
+        this.end = end;
+        rules.add(rule);
+    }
+
+    public List<String> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    void addRule(String text) {
+        if (!rules.contains(text)) {
+            rules.add(text);
+        }
+    }
+}
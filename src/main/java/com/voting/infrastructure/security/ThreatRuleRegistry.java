@@ -0,0 +1,111 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * Holds the active {@link ThreatRuleSet}. With {@code security.upss.rules.file} set, the rules
+ * are read from that file and reloaded whenever it changes; otherwise the built-in rules are
+ * used. A new set is compiled off to the side and published with a single volatile write, so
+ * checks already running finish against the set they started with. A file that fails to
+ * parse is logged and the previous set stays active.
+ */
+@Component
+@Slf4j
+public class ThreatRuleRegistry {
+
+    @Value("${security.upss.rules.file:}")
+    private String file = "";
+
+	@Autowired
+    private SecurityVerdictCache verdictCache;
+	@Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile ThreatRuleSet current = ThreatRuleSet.defaults();
+
+    // Change detection; only touched by the reload schedule
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    @PostConstruct
+    void init() {
+        if (!file.isBlank()) {
+            reloadIfChanged();
+        }
+        log.info("Threat rules active: version={}, rules={}, source={}",
+                current.getVersion(), current.getRuleCount(), current.getSource());
+    }
+
+    public ThreatRuleSet current() {
+        return current;
+    }
+
+    /**
+     * Re-reads the rule file if its timestamp or size changed. Returns true when a new rule
+     * set was activated.
+     */
+    @Scheduled(initialDelayString = "${security.upss.rules.reload-interval:PT10S}",
+            fixedDelayString = "${security.upss.rules.reload-interval:PT10S}")
+    public synchronized boolean reloadIfChanged() {
+        if (file.isBlank()) {
+            return false;
+        }
+        Path path = Paths.get(file);
+        FileTime modified;
+        long size;
+        try {
+            modified = Files.getLastModifiedTime(path);
+            size = Files.size(path);
+        } catch (IOException e) {
+            // Logged once until the file becomes readable again
+            if (lastSize != -2) {
+                log.error("Threat rule file {} is not readable, keeping version {}: {}",
+                        file, current.getVersion(), e.getMessage());
+                lastSize = -2;
+            }
+            return false;
+        }
+        if (modified.equals(lastModified) && size == lastSize) {
+            return false;
+        }
+        lastModified = modified;
+        lastSize = size;
+
+        ThreatRuleSet loaded;
+        try {
+            loaded = ThreatRuleSet.parse(Files.readAllLines(path, StandardCharsets.UTF_8), path.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Threat rule file {} rejected, keeping version {}: {}", file, current.getVersion(), e.getMessage());
+            return false;
+        }
+        if (loaded.getVersion().equals(current.getVersion())) {
+            return false;
+        }
+        ThreatRuleSet previous = current;
+        current = loaded;
+        // Verdicts are keyed by version so stale ones never match; this just frees them
+        verdictCache.clear();
+        log.info("Threat rules reloaded: version {} -> {}, rules={}, source={}",
+                previous.getVersion(), loaded.getVersion(), loaded.getRuleCount(), loaded.getSource());
+        eventPublisher.publishEvent(new ThreatRulesReloadedEvent(previous, loaded));
+        return true;
+    }
+}
@@ -0,0 +1,173 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A compiled set of threat rules with its version, where it came from, and how often each
+ * rule has fired. Immutable apart from the hit counters, so a check that picked up one set
+ * finishes against it even if a newer set is swapped in meanwhile.
+ * <p>
+ * Rule files hold one {@code CATEGORY=rule} per line, where CATEGORY is a
+ * {@link ThreatCategory} name and the rule uses the {@link ThreatScanner} syntax. Blank lines
+ * and lines starting with {@code #} are ignored. A category with no lines is not checked.
+ */
+public final class ThreatRuleSet {
+
+    private final ThreatScanner scanner;
+    private final String source;
+    private final Instant loadedAt;
+    private final Duration compileTime;
+    // Category -> rule -> hits, in file order
+    private final Map<ThreatCategory, Map<String, AtomicLong>> hits;
+
+    private ThreatRuleSet(Map<ThreatCategory, List<String>> rules, String source, Instant loadedAt) {
+        long start = System.nanoTime();
+        this.scanner = ThreatScanner.compile(rules);
+        this.compileTime = Duration.ofNanos(System.nanoTime() - start);
+        this.source = source;
+        this.loadedAt = loadedAt;
+        Map<ThreatCategory, Map<String, AtomicLong>> counters = new EnumMap<>(ThreatCategory.class);
+        rules.forEach((category, texts) -> {
+            Map<String, AtomicLong> perRule = new LinkedHashMap<>();
+            texts.forEach(text -> perRule.put(text, new AtomicLong()));
+            counters.put(category, Collections.unmodifiableMap(perRule));
+        });
+        this.hits = Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * The rules built into {@link ThreatCategory}.
+     */
+    public static ThreatRuleSet defaults() {
+        Map<ThreatCategory, List<String>> rules = new EnumMap<>(ThreatCategory.class);
+        for (ThreatCategory category : ThreatCategory.values()) {
+            rules.put(category, category.getDefaultRules());
+        }
+        return new ThreatRuleSet(rules, "built-in", Instant.now());
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the offending line if a category is unknown,
+     *                                  a rule does not compile, or the file has no rules
+     */
+    public static ThreatRuleSet parse(List<String> lines, String source) {
+        Map<ThreatCategory, List<String>> rules = new EnumMap<>(ThreatCategory.class);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(source + ":" + (i + 1) + ": expected CATEGORY=rule");
+            }
+            String name = line.substring(0, separator).strip();
+            String rule = line.substring(separator + 1).strip();
+            ThreatCategory category;
+            try {
+                category = ThreatCategory.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ":" + (i + 1) + ": unknown threat category " + name);
+            }
+            try {
+                ThreatScanner.compile(Map.of(category, List.of(rule)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ":" + (i + 1) + ": " + e.getMessage());
+            }
+            List<String> texts = rules.computeIfAbsent(category, key -> new ArrayList<>());
+            if (!texts.contains(rule)) {
+                texts.add(rule);
+            }
+        }
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException(source + ": no threat rules defined");
+        }
+        return new ThreatRuleSet(rules, source, Instant.now());
+    }
+
+    public ThreatScanner getScanner() {
+        return scanner;
+    }
+
+    public String getVersion() {
+        return scanner.getVersion();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Time taken to build the automaton. Growth here, or in {@link #getStateCount()}, is
+     * how an expensive rule shows up; scanning cost itself does not depend on the rules.
+     */
+    public Duration getCompileTime() {
+        return compileTime;
+    }
+
+    public int getStateCount() {
+        return scanner.stateCount();
+    }
+
+    public int getRuleCount() {
+        return hits.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Position of {@code rule} among its category's rules in declaration order, as listed by
+     * {@link #getHitCounts()}, or -1 if this set does not contain it.
+     */
+    public int ruleIndex(ThreatCategory category, String rule) {
+        Map<String, AtomicLong> perRule = hits.get(category);
+        if (perRule == null) {
+            return -1;
+        }
+        int index = 0;
+        for (String text : perRule.keySet()) {
+            if (text.equals(rule)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Counts a match of {@code rule}; rules this set does not contain are ignored.
+     */
+    public void recordHit(ThreatCategory category, String rule) {
+        Map<String, AtomicLong> perRule = hits.get(category);
+        AtomicLong counter = perRule != null ? perRule.get(rule) : null;
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Current hit count of every rule, grouped by category in declaration order.
+     */
+    public Map<String, Map<String, Long>> getHitCounts() {
+        Map<String, Map<String, Long>> snapshot = new LinkedHashMap<>();
+        hits.forEach((category, perRule) -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            perRule.forEach((rule, counter) -> counts.put(rule, counter.get()));
+            snapshot.put(category.name(), counts);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,10 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+/**
+ * Published by {@link ThreatRuleRegistry} after {@code current} replaced {@code previous}.
+ */
+public record ThreatRulesReloadedEvent(ThreatRuleSet previous, ThreatRuleSet current) {
+}
@@ -0,0 +1,410 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds every threat category in an input in one left-to-right pass. All rules are compiled
+ * into a single deterministic automaton - the table form of an Aho-Corasick matcher - so
+ * each input character costs one table lookup however many rules there are.
+ * <p>
+ * Rules are literal text matched ASCII case-insensitively, with two escapes: {@code \s+} and
+ * {@code \s*} match runs of whitespace (as {@code \s} does in {@link java.util.regex.Pattern}),
+ * and a doubled backslash matches a backslash. Instances are immutable and thread-safe.
+ */
+public final class ThreatScanner {
+
+    // Input symbols: lower-cased ASCII, plus one symbol for every non-ASCII character
+    private static final int OTHER = 128;
+    private static final int ALPHABET = 129;
+
+    private static final int WS_ONE = -1;
+    private static final int WS_ANY = -2;
+
+    private final int[] transitions;
+    private final Rule[][] accepts;
+    private final int[] acceptMasks;
+    private final int allCategories;
+    private final int[] longestMatches;
+    private final String version;
+
+    private ThreatScanner(int[] transitions, Rule[][] accepts, int[] longestMatches, String version) {
+        this.transitions = transitions;
+        this.accepts = accepts;
+        this.longestMatches = longestMatches;
+        this.version = version;
+        this.acceptMasks = new int[accepts.length];
+        int all = 0;
+        for (int state = 0; state < accepts.length; state++) {
+            if (accepts[state] != null) {
+                for (Rule rule : accepts[state]) {
+                    acceptMasks[state] |= 1 << rule.category.ordinal();
+                }
+            }
+            all |= acceptMasks[state];
+        }
+        this.allCategories = all;
+    }
+
+    public static ThreatScanner defaults() {
+        Map<ThreatCategory, List<String>> rules = new EnumMap<>(ThreatCategory.class);
+        for (ThreatCategory category : ThreatCategory.values()) {
+            rules.put(category, category.getDefaultRules());
+        }
+        return compile(rules);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a rule is empty, contains non-ASCII characters
+     *                                  or an unknown escape
+     */
+    public static ThreatScanner compile(Map<ThreatCategory, List<String>> rules) {
+        List<Rule> compiled = new ArrayList<>();
+        int[] longestMatches = new int[ThreatCategory.values().length];
+        int positions = 0;
+        for (Map.Entry<ThreatCategory, List<String>> entry : rules.entrySet()) {
+            for (String text : entry.getValue()) {
+                Rule rule = new Rule(entry.getKey(), text, parse(text), positions);
+                compiled.add(rule);
+                positions += rule.elements.length + 1;
+                int ordinal = entry.getKey().ordinal();
+                longestMatches[ordinal] = Math.max(longestMatches[ordinal], rule.longestMatch());
+            }
+        }
+        return new Builder(compiled, positions).build(longestMatches, version(compiled));
+    }
+
+    /**
+     * Digest of the compiled rules; two scanners with the same version report the same
+     * threats for every input.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Length of the longest text a rule of the category can match: 0 if the category has no
+     * rules, {@link Integer#MAX_VALUE} if a rule has a {@code \s+} or {@code \s*} run.
+     */
+    public int longestMatch(ThreatCategory category) {
+        return longestMatches[category.ordinal()];
+    }
+
+    /**
+     * Categories found in the input, in declaration order, each with its first match and
+     * every rule of the category that matched anywhere in the input.
+     */
+    public Map<ThreatCategory, ThreatMatch> scan(CharSequence input) {
+        Map<ThreatCategory, ThreatMatch> found = new EnumMap<>(ThreatCategory.class);
+        int state = 0;
+        for (int i = 0, length = input.length(); i < length; i++) {
+            state = transitions[state * ALPHABET + symbol(input.charAt(i))];
+            Rule[] hits = accepts[state];
+            if (hits != null) {
+                record(found, hits, i + 1);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Categories found in the input as a bit set of {@link ThreatCategory#ordinal()}s.
+     * Allocates nothing, for callers that only need to know what matched.
+     */
+    public int scanCategories(CharSequence input) {
+        int found = 0;
+        int state = 0;
+        for (int i = 0, length = input.length(); i < length; i++) {
+            state = transitions[state * ALPHABET + symbol(input.charAt(i))];
+            found |= acceptMasks[state];
+            if (found == allCategories) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Starts an incremental scan for input that arrives in chunks.
+     */
+    public Session newSession() {
+        return new Session();
+    }
+
+    int stateCount() {
+        return accepts.length;
+    }
+
+    private static void record(Map<ThreatCategory, ThreatMatch> found, Rule[] hits, int end) {
+        for (Rule hit : hits) {
+            ThreatMatch match = found.get(hit.category);
+            if (match == null) {
+                found.put(hit.category, new ThreatMatch(hit.category, hit.text, end));
+            } else {
+                match.addRule(hit.text);
+            }
+        }
+    }
+
+    private static int symbol(char c) {
+        if (c >= 128) {
+            return OTHER;
+        }
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static boolean isWhitespace(int symbol) {
+        return symbol == ' ' || symbol == '\t' || symbol == '\n' || symbol == 0x0B || symbol == '\f' || symbol == '\r';
+    }
+
+    private static String version(List<Rule> rules) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Rule rule : rules) {
+                digest.update((rule.category.name() + '\u0000' + rule.text + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = digest.digest();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static int[] parse(String text) {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 128) {
+                throw new IllegalArgumentException("Threat rule must be ASCII: " + text);
+            }
+            if (c != '\\') {
+                elements.add(symbol(c));
+                continue;
+            }
+            String escape = i + 1 < text.length() ? text.substring(i + 1, Math.min(i + 3, text.length())) : "";
+            if (escape.startsWith("\\")) {
+                elements.add((int) '\\');
+                i += 1;
+            } else if (escape.equals("s+")) {
+                elements.add(WS_ONE);
+                elements.add(WS_ANY);
+                i += 2;
+            } else if (escape.equals("s*")) {
+                elements.add(WS_ANY);
+                i += 2;
+            } else {
+                throw new IllegalArgumentException("Unsupported escape in threat rule: " + text);
+            }
+        }
+        if (elements.isEmpty() || elements.stream().allMatch(e -> e == WS_ANY)) {
+            throw new IllegalArgumentException("Threat rule matches empty input: " + text);
+        }
+        return elements.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Incremental scan over a sequence of chunks. The automaton state is kept between
+     * {@link #feed} calls, so a match split across chunks is found just as in one
+     * {@link #scan}, and memory stays constant: the state, the position and at most one
+     * match per category, holding at most every rule of the category. Not thread-safe; use
+     * one session per stream.
+     */
+    public final class Session {
+
+        private final Map<ThreatCategory, ThreatMatch> matches = new EnumMap<>(ThreatCategory.class);
+        private int state;
+        private int found;
+        private int position;
+
+        private Session() {
+        }
+
+        /**
+         * Scans the next chunk and returns every category found so far as a bit set of
+         * {@link ThreatCategory#ordinal()}s. Allocates only when a rule matches for the first time.
+         */
+        public int feed(CharSequence chunk) {
+            int current = state;
+            for (int i = 0, length = chunk.length(); i < length; i++) {
+                current = transitions[current * ALPHABET + symbol(chunk.charAt(i))];
+                if (acceptMasks[current] != 0) {
+                    found |= acceptMasks[current];
+                    record(matches, accepts[current], position + i + 1);
+                }
+            }
+            state = current;
+            position += chunk.length();
+            return found;
+        }
+
+        public int getCategories() {
+            return found;
+        }
+
+        /**
+         * True when no rule has a match in progress, so no later chunk can complete a match
+         * that includes any of the text fed so far.
+         */
+        public boolean isAtStart() {
+            return state == 0;
+        }
+
+        /**
+         * Matches of each category found so far, in declaration order.
+         */
+        public Map<ThreatCategory, ThreatMatch> getMatches() {
+            return Collections.unmodifiableMap(matches);
+        }
+
+        /**
+         * Characters fed so far.
+         */
+        public int getPosition() {
+            return position;
+        }
+    }
+
+    private static final class Rule {
+        private final ThreatCategory category;
+        private final String text;
+        private final int[] elements;
+        // Position ids base .. base + elements.length; the last one means "matched"
+        private final int base;
+
+        private Rule(ThreatCategory category, String text, int[] elements, int base) {
+            this.category = category;
+            this.text = text;
+            this.elements = elements;
+            this.base = base;
+        }
+
+        private int longestMatch() {
+            for (int element : elements) {
+                if (element == WS_ANY) {
+                    return Integer.MAX_VALUE;
+                }
+            }
+            return elements.length;
+        }
+    }
+
+    /**
+     * Subset construction over the rules' positions. A DFA state is the set of rule
+     * positions reachable after the input so far, always including every rule's start
+     * because a match may begin at any offset.
+     */
+    private static final class Builder {
+        private final List<Rule> rules;
+        private final Rule[] ruleAt;
+        private final int[] offsetAt;
+        private final BitSet start;
+
+        private Builder(List<Rule> rules, int positions) {
+            this.rules = rules;
+            this.ruleAt = new Rule[positions];
+            this.offsetAt = new int[positions];
+            for (Rule rule : rules) {
+                for (int i = 0; i <= rule.elements.length; i++) {
+                    ruleAt[rule.base + i] = rule;
+                    offsetAt[rule.base + i] = i;
+                }
+            }
+            this.start = new BitSet(positions);
+            for (Rule rule : rules) {
+                addWithClosure(start, rule.base);
+            }
+        }
+
+        private ThreatScanner build(int[] longestMatches, String version) {
+            Map<BitSet, Integer> ids = new HashMap<>();
+            List<BitSet> states = new ArrayList<>();
+            Queue<Integer> pending = new ArrayDeque<>();
+            ids.put(start, 0);
+            states.add(start);
+            pending.add(0);
+
+            List<int[]> rows = new ArrayList<>();
+            while (!pending.isEmpty()) {
+                int id = pending.poll();
+                BitSet state = states.get(id);
+                int[] row = new int[ALPHABET];
+                for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                    BitSet next = step(state, symbol);
+                    Integer nextId = ids.get(next);
+                    if (nextId == null) {
+                        nextId = states.size();
+                        ids.put(next, nextId);
+                        states.add(next);
+                        pending.add(nextId);
+                    }
+                    row[symbol] = nextId;
+                }
+                // States are numbered in the order they are dequeued
+                rows.add(row);
+            }
+
+            int[] transitions = new int[states.size() * ALPHABET];
+            Rule[][] accepts = new Rule[states.size()][];
+            for (int id = 0; id < states.size(); id++) {
+                System.arraycopy(rows.get(id), 0, transitions, id * ALPHABET, ALPHABET);
+                accepts[id] = accepting(states.get(id));
+            }
+            return new ThreatScanner(transitions, accepts, longestMatches, version);
+        }
+
+        private BitSet step(BitSet state, int symbol) {
+            BitSet next = (BitSet) start.clone();
+            for (int position = state.nextSetBit(0); position >= 0; position = state.nextSetBit(position + 1)) {
+                Rule rule = ruleAt[position];
+                int offset = offsetAt[position];
+                if (offset == rule.elements.length) {
+                    continue;
+                }
+                int element = rule.elements[offset];
+                if (element == symbol || element == WS_ONE && isWhitespace(symbol)) {
+                    addWithClosure(next, position + 1);
+                } else if (element == WS_ANY && isWhitespace(symbol)) {
+                    addWithClosure(next, position);
+                }
+            }
+            return next;
+        }
+
+        private void addWithClosure(BitSet set, int position) {
+            set.set(position);
+            // An optional whitespace run can also be skipped
+            while (offsetAt[position] < ruleAt[position].elements.length
+                    && ruleAt[position].elements[offsetAt[position]] == WS_ANY) {
+                position++;
+                set.set(position);
+            }
+        }
+
+        private Rule[] accepting(BitSet state) {
+            List<Rule> matched = new ArrayList<>();
+            for (Rule rule : rules) {
+                if (state.get(rule.base + rule.elements.length)) {
+                    matched.add(rule);
+                }
+            }
+            return matched.isEmpty() ? null : matched.toArray(new Rule[0]);
+        }
+    }
+}
@@ -4,7 +4,11 @@
 package com.voting.api.controller;
 
 import com.voting.api.dto.ApiResponse;
+import com.voting.application.usecase.GetInstantVoteInsightsUseCase;
 import com.voting.application.usecase.GetVoteInsightsUseCase;
+import com.voting.application.usecase.StreamVoteInsightsUseCase;
+import com.voting.domain.valueobject.VoteInsights;
+import com.voting.domain.valueobject.VoteStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,21 +28,53 @@ class AIControllerTest {
     @Mock
     private GetVoteInsightsUseCase getVoteInsightsUseCase;
     
+    @Mock
+    private StreamVoteInsightsUseCase streamVoteInsightsUseCase;
+    
+    @Mock
+    private GetInstantVoteInsightsUseCase getInstantVoteInsightsUseCase;
+    
     private AIController aiController;
     
     @BeforeEach
     void setUp() {
-        aiController = new AIController(getVoteInsightsUseCase);
+        aiController = new AIController(getVoteInsightsUseCase, streamVoteInsightsUseCase, getInstantVoteInsightsUseCase);
+    }
+    
+    @Test
+    void testGetVoteInsights_ReturnsStatisticsWithoutWaitingForNarrative() {
+        VoteInsights insights = VoteInsights.builder()
+                .statistics(VoteStatistics.builder().voteId(1L).totalVotes(12).leaderOptionText("Option A").build())
+                .narrativeStatus(VoteInsights.NarrativeStatus.PENDING)
+                .build();
+        when(getInstantVoteInsightsUseCase.execute(1L, true)).thenReturn(insights);
+        
+        ResponseEntity<ApiResponse<VoteInsights>> response = aiController.getVoteInsights(1L, true);
+        
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(12, response.getBody().getData().getStatistics().getTotalVotes());
+        assertEquals(VoteInsights.NarrativeStatus.PENDING, response.getBody().getData().getNarrativeStatus());
+        verify(getVoteInsightsUseCase, never()).execute(anyLong());
     }
     
     @Test
-    void testGetVoteInsights_Success() {
+    void testGetVoteInsights_VoteNotFound() {
+        when(getInstantVoteInsightsUseCase.execute(999L, false)).thenThrow(new IllegalArgumentException("Vote not found"));
+        
+        ResponseEntity<ApiResponse<VoteInsights>> response = aiController.getVoteInsights(999L, false);
+        
+        assertEquals(400, response.getStatusCode().value());
+        assertTrue(response.getBody().getMessage().contains("Vote not found"));
+    }
+    
+    @Test
+    void testGetVoteNarrative_Success() {
         Long voteId = 1L;
         String expectedInsights = "AI analysis shows or indicates positive reception.";
         
         when(getVoteInsightsUseCase.execute(voteId)).thenReturn(expectedInsights);
         
-        ResponseEntity<ApiResponse<String>> response = aiController.getVoteInsights(voteId);
+        ResponseEntity<ApiResponse<String>> response = aiController.getVoteNarrative(voteId);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCode().value());
@@ -47,13 +84,13 @@ class AIControllerTest {
     }
     
     @Test
-    void testGetVoteInsights_VoteNotFound() {
+    void testGetVoteNarrative_VoteNotFound() {
         Long voteId = 999L;
         String errorMessage = "Vote not found";
         
         when(getVoteInsightsUseCase.execute(voteId)).thenThrow(new IllegalArgumentException(errorMessage));
         
-        ResponseEntity<ApiResponse<String>> response = aiController.getVoteInsights(voteId);
+        ResponseEntity<ApiResponse<String>> response = aiController.getVoteNarrative(voteId);
         
         assertNotNull(response);
         assertEquals(400, response.getStatusCode().value());
@@ -62,14 +99,14 @@ class AIControllerTest {
     }
     
     @Test
-    void testGetVoteInsights_AIServiceError() {
+    void testGetVoteNarrative_AIServiceError() {
         Long voteId = 1L;
         String errorMessage = "AI Service temporarily unavailable";
         
         when(getVoteInsightsUseCase.execute(voteId))
                 .thenThrow(new RuntimeException(errorMessage));
         
-        ResponseEntity<ApiResponse<String>> response = aiController.getVoteInsights(voteId);
+        ResponseEntity<ApiResponse<String>> response = aiController.getVoteNarrative(voteId);
         
         assertNotNull(response);
         assertEquals(400, response.getStatusCode().value());
@@ -77,7 +114,7 @@ class AIControllerTest {
     }
     
     @Test
-    void testGetVoteInsights_WithComplexAnalysis() {
+    void testGetVoteNarrative_WithComplexAnalysis() {
         Long voteId = 2L;
         String complexInsights = "Predictive analysis: Option 2 trending up 15% in last hour. "
                 + "Network analysis shows influencers favoring Option 3. "
@@ -85,7 +122,7 @@ class AIControllerTest {
         
         when(getVoteInsightsUseCase.execute(voteId)).thenReturn(complexInsights);
         
-        ResponseEntity<ApiResponse<String>> response = aiController.getVoteInsights(voteId);
+        ResponseEntity<ApiResponse<String>> response = aiController.getVoteNarrative(voteId);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCode().value());
@@ -95,11 +132,11 @@ class AIControllerTest {
     }
     
     @Test
-    void testGetVoteInsights_NullVoteId() {
+    void testGetVoteNarrative_NullVoteId() {
         when(getVoteInsightsUseCase.execute(null))
                 .thenThrow(new IllegalArgumentException("Vote ID cannot be null"));
         
-        ResponseEntity<ApiResponse<String>> response = aiController.getVoteInsights(null);
+        ResponseEntity<ApiResponse<String>> response = aiController.getVoteNarrative(null);
         
         assertNotNull(response);
         assertEquals(400, response.getStatusCode().value());
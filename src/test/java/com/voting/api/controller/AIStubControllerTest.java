@@ -0,0 +1,130 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.voting.application.service.BatchPromptPacker;
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIStubControllerTest {
+    
+    private MockEnvironment environment;
+    
+    private AIStubController controller;
+    
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("ai.stub.seed", "7")
+                .withProperty("ai.stub.latency.median", "1ms")
+                .withProperty("ai.stub.latency.sigma", "0");
+        controller = new AIStubController();
+        ReflectionTestUtils.setField(controller, "environment", environment);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+    }
+    
+    @Test
+    void testChatCompletions_ReturnsOpenAIShape() throws Exception {
+        ResponseEntity<Object> response = complete("openai", request("Analyze the following voting results", 300));
+        
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals("chat.completion", body.get("object"));
+        Map<?, ?> choice = (Map<?, ?>) ((List<?>) body.get("choices")).get(0);
+        assertEquals("stop", choice.get("finish_reason"));
+        assertFalse(((String) ((Map<?, ?>) choice.get("message")).get("content")).isBlank());
+        assertNotNull(body.get("usage"));
+    }
+    
+    @Test
+    void testChatCompletions_TruncatesAtMaxTokens() throws Exception {
+        ResponseEntity<Object> response = complete("openai", request("Analyze", 3));
+        
+        Map<?, ?> choice = (Map<?, ?>) ((List<?>) ((Map<?, ?>) response.getBody()).get("choices")).get(0);
+        assertEquals("length", choice.get("finish_reason"));
+        assertEquals(3, ((Map<?, ?>) ((Map<?, ?>) response.getBody()).get("usage")).get("completion_tokens"));
+    }
+    
+    @Test
+    void testChatCompletions_InjectsRateLimits() throws Exception {
+        environment.setProperty("ai.stub.xai.rate-limit-rate", "1.0");
+        
+        ResponseEntity<Object> limited = complete("xai", request("Analyze", 300));
+        ResponseEntity<Object> other = complete("openai", request("Analyze", 300));
+        
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        assertEquals("1", limited.getHeaders().getFirst("Retry-After"));
+        assertEquals(HttpStatus.OK, other.getStatusCode());
+    }
+    
+    @Test
+    void testChatCompletions_InjectsServerErrors() throws Exception {
+        environment.setProperty("ai.stub.error-rate", "1.0");
+        
+        ResponseEntity<Object> response = complete("openai", request("Analyze", 300));
+        
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertTrue(((Map<?, ?>) response.getBody()).containsKey("error"));
+    }
+    
+    @Test
+    void testAnswer_BatchPromptParsesPerPoll() {
+        BatchPromptPacker packer = new BatchPromptPacker(10_000, 150, 10);
+        List<Vote> batch = List.of(vote(4L), vote(9L));
+        
+        String answer = AIStubController.answer(request(packer.prompt(batch), 300));
+        
+        assertEquals(2, packer.parse(answer).size());
+        assertTrue(packer.parse(answer).containsKey(9L));
+    }
+    
+    @Test
+    void testTokens_ConcatenateToContent() {
+        String content = "Option A leads clearly.\nTurnout was high.";
+        
+        List<String> tokens = AIStubController.tokens(content, null);
+        
+        assertEquals(7, tokens.size());
+        assertEquals(content, String.join("", tokens));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ResponseEntity<Object> complete(String provider, AIStubController.ChatRequest request) throws Exception {
+        Object result = controller.chatCompletions(provider, request);
+        return ((CompletableFuture<ResponseEntity<Object>>) result).get(5, TimeUnit.SECONDS);
+    }
+    
+    private static AIStubController.ChatRequest request(String prompt, Integer maxTokens) {
+        AIStubController.Message message = new AIStubController.Message();
+        message.setRole("user");
+        message.setContent(prompt);
+        AIStubController.ChatRequest request = new AIStubController.ChatRequest();
+        request.setModel("gpt-3.5-turbo");
+        request.setMessages(List.of(message));
+        request.setMaxTokens(maxTokens);
+        return request;
+    }
+    
+    private static Vote vote(Long id) {
+        Vote vote = new Vote();
+        vote.setId(id);
+        vote.setTitle("Poll " + id);
+        vote.setOptions(List.of(VoteOption.builder().optionText("Yes").voteCount(3).build()));
+        return vote;
+    }
+}
@@ -0,0 +1,97 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.voting.api.dto.ApiResponse;
+import com.voting.infrastructure.security.SecurityAuditEvent;
+import com.voting.infrastructure.security.SecurityAuditStore;
+import com.voting.infrastructure.security.SecurityRoles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityAuditControllerTest {
+    
+    @Mock
+    private SecurityAuditStore securityAuditStore;
+    
+    @Mock
+    private SecurityRoles securityRoles;
+    
+    private SecurityAuditController controller;
+    private MockHttpServletRequest httpRequest;
+    
+    @BeforeEach
+    void setUp() {
+        controller = new SecurityAuditController(securityAuditStore, securityRoles);
+        httpRequest = new MockHttpServletRequest();
+    }
+    
+    @Test
+    void testQueryAudit_PassesFiltersToStore() {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-01-08T00:00:00Z");
+        SecurityAuditEvent event = SecurityAuditEvent.audit("VOTE_DESCRIPTION_CHECK", false, "HIGH", 5L, null);
+        when(securityAuditStore.query(from, to, 5L, null, "HIGH", 50)).thenReturn(List.of(event));
+        
+        ResponseEntity<ApiResponse<List<SecurityAuditEvent>>> response =
+                controller.queryAudit(from, to, 5L, null, "HIGH", 50, httpRequest);
+        
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(event), response.getBody().getData());
+    }
+    
+    @Test
+    void testQueryAudit_RejectsInvertedRange() {
+        Instant from = Instant.parse("2026-01-08T00:00:00Z");
+        Instant to = Instant.parse("2026-01-01T00:00:00Z");
+        
+        ResponseEntity<ApiResponse<List<SecurityAuditEvent>>> response =
+                controller.queryAudit(from, to, null, null, null, 100, httpRequest);
+        
+        assertEquals(400, response.getStatusCode().value());
+        verify(securityAuditStore, never()).query(any(), any(), any(), any(), any(), anyInt());
+    }
+    
+    @Test
+    void testQueryAudit_RejectsMissingToken() {
+        doThrow(new SecurityException("Missing or invalid Authorization header"))
+                .when(securityRoles).require(httpRequest, SecurityRoles.Role.ADMIN, SecurityRoles.Role.INVESTIGATOR);
+        
+        ResponseEntity<ApiResponse<List<SecurityAuditEvent>>> response =
+                controller.queryAudit(null, null, null, null, null, 100, httpRequest);
+        
+        assertEquals(401, response.getStatusCode().value());
+        verify(securityAuditStore, never()).query(any(), any(), any(), any(), any(), anyInt());
+    }
+    
+    @Test
+    void testQueryAudit_RejectsCallerWithoutRole() {
+        doThrow(new AccessDeniedException("Requires one of the roles [ADMIN, INVESTIGATOR]"))
+                .when(securityRoles).require(httpRequest, SecurityRoles.Role.ADMIN, SecurityRoles.Role.INVESTIGATOR);
+        
+        ResponseEntity<ApiResponse<List<SecurityAuditEvent>>> response =
+                controller.queryAudit(null, null, null, null, null, 100, httpRequest);
+        
+        assertEquals(403, response.getStatusCode().value());
+        verify(securityAuditStore, never()).query(any(), any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,91 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.api.controller;
+
+import com.voting.api.dto.ApiResponse;
+import com.voting.infrastructure.security.SecurityRoles;
+import com.voting.infrastructure.security.ThreatCategory;
+import com.voting.infrastructure.security.ThreatRuleRegistry;
+import com.voting.infrastructure.security.ThreatRuleSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityRulesControllerTest {
+    
+    @Mock
+    private ThreatRuleRegistry threatRuleRegistry;
+    
+    @Mock
+    private SecurityRoles securityRoles;
+    
+    private SecurityRulesController controller;
+    private MockHttpServletRequest httpRequest;
+    
+    @BeforeEach
+    void setUp() {
+        controller = new SecurityRulesController(threatRuleRegistry, securityRoles);
+        httpRequest = new MockHttpServletRequest();
+    }
+    
+    @Test
+    void testGetRules_ReturnsVersionAndHitCounts() {
+        ThreatRuleSet rules = ThreatRuleSet.defaults();
+        rules.recordHit(ThreatCategory.SQL_INJECTION, "drop");
+        when(threatRuleRegistry.current()).thenReturn(rules);
+        
+        ResponseEntity<ApiResponse<SecurityRulesController.RuleSetResponse>> response = controller.getRules(httpRequest);
+        
+        SecurityRulesController.RuleSetResponse body = response.getBody().getData();
+        assertEquals(rules.getVersion(), body.getVersion());
+        assertEquals("built-in", body.getSource());
+        assertEquals(1L, body.getHits().get("SQL_INJECTION").get("drop"));
+    }
+    
+    @Test
+    void testReloadRules_ReportsWhetherRulesChanged() {
+        when(threatRuleRegistry.reloadIfChanged()).thenReturn(false);
+        when(threatRuleRegistry.current()).thenReturn(ThreatRuleSet.defaults());
+        
+        ResponseEntity<ApiResponse<SecurityRulesController.RuleSetResponse>> response = controller.reloadRules(httpRequest);
+        
+        assertEquals("Threat rules unchanged", response.getBody().getMessage());
+    }
+    
+    @Test
+    void testGetRules_RejectsMissingTokenWithoutRuleText() {
+        doThrow(new SecurityException("Missing or invalid Authorization header"))
+                .when(securityRoles).require(httpRequest, SecurityRoles.Role.ADMIN);
+        
+        ResponseEntity<ApiResponse<SecurityRulesController.RuleSetResponse>> response = controller.getRules(httpRequest);
+        
+        assertEquals(401, response.getStatusCode().value());
+        assertNull(response.getBody().getData());
+        verifyNoInteractions(threatRuleRegistry);
+    }
+    
+    @Test
+    void testReloadRules_RejectsCallerWithoutAdminRole() {
+        doThrow(new AccessDeniedException("Requires one of the roles [ADMIN]"))
+                .when(securityRoles).require(httpRequest, SecurityRoles.Role.ADMIN);
+        
+        ResponseEntity<ApiResponse<SecurityRulesController.RuleSetResponse>> response = controller.reloadRules(httpRequest);
+        
+        assertEquals(403, response.getStatusCode().value());
+        verify(threatRuleRegistry, never()).reloadIfChanged();
+    }
+}
@@ -0,0 +1,96 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPromptPackerTest {
+    
+    @Test
+    void testPack_RespectsMaxPollsPerPrompt() {
+        BatchPromptPacker packer = new BatchPromptPacker(10_000, 150, 2);
+        
+        List<List<Vote>> batches = packer.pack(List.of(vote(1L), vote(2L), vote(3L), vote(4L), vote(5L)));
+        
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(2).size());
+    }
+    
+    @Test
+    void testPack_RespectsTokenBudget() {
+        List<Vote> votes = List.of(vote(1L), vote(2L), vote(3L));
+        String onePoll = new BatchPromptPacker(10_000, 150, 10).prompt(List.of(votes.get(0)));
+        // Room for the instructions and exactly one poll
+        BatchPromptPacker packer = new BatchPromptPacker(BatchPromptPacker.estimateTokens(onePoll) + 1, 150, 10);
+        
+        List<List<Vote>> batches = packer.pack(votes);
+        
+        assertEquals(3, batches.size());
+        batches.forEach(batch -> assertEquals(1, batch.size()));
+    }
+    
+    @Test
+    void testPack_OversizedPollGetsOwnBatch() {
+        BatchPromptPacker packer = new BatchPromptPacker(1, 150, 10);
+        
+        List<List<Vote>> batches = packer.pack(List.of(vote(1L), vote(2L)));
+        
+        assertEquals(2, batches.size());
+    }
+    
+    @Test
+    void testPrompt_ContainsEveryPoll() {
+        BatchPromptPacker packer = new BatchPromptPacker(10_000, 150, 10);
+        
+        String prompt = packer.prompt(List.of(vote(7L), vote(8L)));
+        
+        assertTrue(prompt.contains("Poll 7: Poll number 7"));
+        assertTrue(prompt.contains("Poll 8: Poll number 8"));
+        assertTrue(prompt.contains("- Yes: 7 votes"));
+        assertEquals(300, packer.maxTokens(List.of(vote(7L), vote(8L))));
+    }
+    
+    @Test
+    void testParse_SplitsSectionsById() {
+        BatchPromptPacker packer = new BatchPromptPacker(10_000, 150, 10);
+        String response = "Here are the insights.\n\n"
+                + "### Poll 7\nYes won clearly.\n\n"
+                + "### Poll 8: Budget\nA close race.\n";
+        
+        Map<Long, String> sections = packer.parse(response);
+        
+        assertEquals(2, sections.size());
+        assertEquals("Yes won clearly.", sections.get(7L));
+        assertEquals("A close race.", sections.get(8L));
+    }
+    
+    @Test
+    void testParse_MissingSectionsAreAbsent() {
+        BatchPromptPacker packer = new BatchPromptPacker(10_000, 150, 10);
+        
+        assertTrue(packer.parse("No structured answer").isEmpty());
+        assertTrue(packer.parse("### Poll 3\n   \n").isEmpty());
+        assertTrue(packer.parse(null).isEmpty());
+    }
+    
+    private static Vote vote(Long id) {
+        Vote vote = new Vote();
+        vote.setId(id);
+        vote.setTitle("Poll number " + id);
+        List<VoteOption> options = new ArrayList<>();
+        options.add(VoteOption.builder().optionText("Yes").voteCount(id.intValue()).build());
+        options.add(VoteOption.builder().optionText("No").voteCount(1).build());
+        vote.setOptions(options);
+        return vote;
+    }
+}
@@ -0,0 +1,65 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.valueobject.VoteStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterialChangePolicyTest {
+    
+    private final MaterialChangePolicy policy = new MaterialChangePolicy();
+    
+    @Test
+    void testRequiresRegeneration_NoBaseline() {
+        assertTrue(policy.requiresRegeneration(null, tally(1, 0)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_UnchangedTally() {
+        assertFalse(policy.requiresRegeneration(tally(10, 5), tally(10, 5)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_SmallShiftIsNotMaterial() {
+        assertFalse(policy.requiresRegeneration(tally(60, 40), tally(63, 41)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_LeaderChange() {
+        assertTrue(policy.requiresRegeneration(tally(50, 49), tally(50, 51)));
+        assertTrue(policy.requiresRegeneration(tally(50, 49), tally(50, 50)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_ShareShift() {
+        // 70% -> 60% with the same leader
+        assertTrue(policy.requiresRegeneration(tally(7, 3), tally(9, 6)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_ManyNewBallots() {
+        assertTrue(policy.requiresRegeneration(tally(600, 400), tally(630, 420)));
+    }
+    
+    @Test
+    void testRequiresRegeneration_TallyReset() {
+        assertTrue(policy.requiresRegeneration(tally(10, 5), tally(3, 1)));
+    }
+    
+    private static VoteStatistics tally(long first, long second) {
+        long total = first + second;
+        double firstShare = total > 0 ? 100.0 * first / total : 0;
+        return VoteStatistics.builder()
+                .totalVotes(total)
+                .leaderOptionId(first == second ? null : first > second ? 1L : 2L)
+                .options(List.of(
+                        new VoteStatistics.OptionShare(1L, "Option A", first, firstShare),
+                        new VoteStatistics.OptionShare(2L, "Option B", second, total > 0 ? 100 - firstShare : 0)))
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.application.event.VoteDeletedEvent;
+import com.voting.application.event.VoteSavedEvent;
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PollDuplicateIndexTest {
+    
+    @Mock
+    private VoteRepository voteRepository;
+    
+    private PollDuplicateIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new PollDuplicateIndex();
+        ReflectionTestUtils.setField(index, "voteRepository", voteRepository);
+    }
+    
+    @Test
+    void testRebuild_IndexesExistingPolls() {
+        when(voteRepository.findAll()).thenReturn(List.of(
+                vote(1L, "Best programming language?", "Which language is most productive for backend work"),
+                vote(2L, "Office lunch on Friday", "Pizza or sushi for the team lunch")));
+        
+        index.rebuild();
+        
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L), index.findDuplicates(index.signature(
+                "Best programming language", "Which language is the most productive for backend work?")));
+    }
+    
+    @Test
+    void testFindDuplicates_IgnoresCaseAndPunctuation() {
+        index.add(1L, index.signature("Office lunch on Friday", "Pizza or sushi for the team lunch"));
+        
+        assertEquals(List.of(1L), index.findDuplicates(index.signature(
+                "OFFICE LUNCH, on friday!!", "Pizza  or sushi -- for the team lunch")));
+    }
+    
+    @Test
+    void testFindDuplicates_UnrelatedPollsDoNotMatch() {
+        index.add(1L, index.signature("Best programming language?", "Which language is most productive for backend work"));
+        
+        assertTrue(index.findDuplicates(index.signature(
+                "Office lunch on Friday", "Pizza or sushi for the team lunch")).isEmpty());
+    }
+    
+    @Test
+    void testFindDuplicates_MostSimilarFirst() {
+        index.add(1L, index.signature("Should we move the standup to 10am?", "Daily standup meeting time for the whole team"));
+        index.add(2L, index.signature("Should we move the standup to 10am", "Daily standup meeting time for the team"));
+        
+        List<Long> duplicates = index.findDuplicates(index.signature(
+                "Should we move the standup to 10am", "Daily standup meeting time for the team"));
+        
+        assertEquals(List.of(2L, 1L), duplicates);
+    }
+    
+    @Test
+    void testFindDuplicates_CappedAtMaxResults() {
+        ReflectionTestUtils.setField(index, "maxResults", 2);
+        for (long id = 1; id <= 4; id++) {
+            index.add(id, index.signature("Team offsite location", "Mountains or the beach"));
+        }
+        
+        assertEquals(2, index.findDuplicates(index.signature("Team offsite location", "Mountains or the beach")).size());
+    }
+    
+    @Test
+    void testFindDuplicates_BlankTextNeverMatches() {
+        index.add(1L, index.signature("?!", null));
+        
+        assertEquals(0, index.size());
+        assertTrue(index.findDuplicates(index.signature("...", "")).isEmpty());
+    }
+    
+    @Test
+    void testFindDuplicates_Disabled() {
+        ReflectionTestUtils.setField(index, "enabled", false);
+        index.rebuild();
+        index.add(1L, index.signature("Team offsite location", "Mountains or the beach"));
+        
+        assertTrue(index.findDuplicates(index.signature("Team offsite location", "Mountains or the beach")).isEmpty());
+        verify(voteRepository, never()).findAll();
+    }
+    
+    @Test
+    void testOnVoteSaved_IndexesPoll() {
+        index.onVoteSaved(new VoteSavedEvent(1L, index.signature("Team offsite location", "Mountains or the beach")));
+        
+        assertEquals(List.of(1L), index.findDuplicates(index.signature("Team offsite location", "Mountains or the beach")));
+    }
+    
+    @Test
+    void testOnVoteDeleted_RemovesPollFromIndex() {
+        index.add(1L, index.signature("Team offsite location", "Mountains or the beach"));
+        index.add(2L, index.signature("Team offsite location?", "Mountains or the beach"));
+        
+        index.onVoteDeleted(new VoteDeletedEvent(1L));
+        index.remove(99L);
+        
+        assertEquals(1, index.size());
+        assertEquals(List.of(2L), index.findDuplicates(index.signature("Team offsite location", "Mountains or the beach")));
+        
+        index.remove(2L);
+        assertTrue(index.findDuplicates(index.signature("Team offsite location", "Mountains or the beach")).isEmpty());
+    }
+    
+    @Test
+    void testNormalize() {
+        assertEquals("best language 2024", PollDuplicateIndex.normalize("  Best  language -- 2024?! "));
+        assertEquals("", PollDuplicateIndex.normalize(null));
+    }
+    
+    private Vote vote(Long id, String title, String description) {
+        return Vote.builder().id(id).title(title).description(description).build();
+    }
+}
@@ -0,0 +1,88 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.infrastructure.ai.OpenAIServiceImpl;
+import com.voting.infrastructure.ai.XAIServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecureAIVoteAnalysisServiceTest {
+    
+    @Mock
+    private PromptSecurityPort promptSecurityPort;
+    
+    @Mock
+    private OpenAIServiceImpl openAiService;
+    
+    @Mock
+    private XAIServiceImpl xAiService;
+    
+    private SecureAIVoteAnalysisService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new SecureAIVoteAnalysisService(promptSecurityPort, openAiService, xAiService);
+        ReflectionTestUtils.setField(service, "aiTaskExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(service, "compareTimeout", Duration.ofMillis(300));
+        
+        when(promptSecurityPort.validateVoteDescription(anyString(), anyLong()))
+                .thenAnswer(invocation -> SecurityCheckResult.passed(invocation.getArgument(0)));
+        when(promptSecurityPort.validateVoteAnalysis(anyString(), anyLong()))
+                .thenAnswer(invocation -> SecurityCheckResult.passed(invocation.getArgument(0)));
+    }
+    
+    @Test
+    void testCompareAIAnalyses_ProvidersRunConcurrently() {
+        when(openAiService.analyzeVoteAsync("Poll")).thenReturn(delayed("OpenAI view", 200));
+        when(xAiService.analyzeVoteAsync("Poll")).thenReturn(delayed("Grok view", 200));
+        
+        SecureAIVoteAnalysisService.ComparativeAnalysis result = service.compareAIAnalyses("Poll", 1L, 10L);
+        
+        assertEquals("OpenAI view", result.getOpenAiAnalysis());
+        assertEquals("Grok view", result.getGrokAnalysis());
+        assertTrue(result.isAllPassed());
+        assertFalse(result.isOpenAiTimedOut());
+        assertFalse(result.isGrokTimedOut());
+        assertTrue(result.getElapsedMillis() < 300, "expected max, not sum, of provider latencies");
+    }
+    
+    @Test
+    void testCompareAIAnalyses_SlowProviderReturnsPartialResult() {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        when(openAiService.analyzeVoteAsync("Poll")).thenReturn(CompletableFuture.completedFuture("OpenAI view"));
+        when(xAiService.analyzeVoteAsync("Poll")).thenReturn(slow);
+        
+        SecureAIVoteAnalysisService.ComparativeAnalysis result = service.compareAIAnalyses("Poll", 1L, 10L);
+        
+        assertEquals("OpenAI view", result.getOpenAiAnalysis());
+        assertNull(result.getGrokAnalysis());
+        assertTrue(result.isGrokTimedOut());
+        assertEquals(0, result.getGrokSecurityScore());
+        assertFalse(result.isAllPassed());
+        assertTrue(slow.isCancelled());
+    }
+    
+    private static CompletableFuture<String> delayed(String value, long millis) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,191 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.service;
+
+import com.voting.application.event.BallotCastEvent;
+import com.voting.domain.model.BlockchainRecord;
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteOption;
+import com.voting.domain.port.BlockchainRepository;
+import com.voting.domain.port.VoteRepository;
+import com.voting.domain.valueobject.VoteStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteStatisticsEngineTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 10, 0);
+    
+    @Mock
+    private VoteRepository voteRepository;
+    
+    @Mock
+    private BlockchainRepository blockchainRepository;
+    
+    private VoteStatisticsEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new VoteStatisticsEngine();
+        ReflectionTestUtils.setField(engine, "voteRepository", voteRepository);
+        ReflectionTestUtils.setField(engine, "blockchainRepository", blockchainRepository);
+    }
+    
+    @Test
+    void testSnapshot_ComputesLeaderMarginAndShares() {
+        stubVote(1L, 6, 3, 1);
+        
+        VoteStatistics statistics = engine.snapshot(1L);
+        
+        assertEquals(10, statistics.getTotalVotes());
+        assertEquals("Option 1", statistics.getLeaderOptionText());
+        assertFalse(statistics.isTie());
+        assertEquals(3, statistics.getMarginVotes());
+        assertEquals(30.0, statistics.getMarginPoints(), 1e-9);
+        assertEquals(60.0, statistics.getOptions().get(0).getShare(), 1e-9);
+        assertEquals(10.0, statistics.getOptions().get(2).getShare(), 1e-9);
+    }
+    
+    @Test
+    void testSnapshot_EntropyBounds() {
+        stubVote(1L, 5, 5);
+        stubVote(2L, 8, 0);
+        
+        VoteStatistics even = engine.snapshot(1L);
+        VoteStatistics unanimous = engine.snapshot(2L);
+        
+        assertEquals(1.0, even.getEntropyBits(), 1e-9);
+        assertEquals(1.0, even.getNormalizedEntropy(), 1e-9);
+        assertTrue(even.isTie());
+        assertNull(even.getLeaderOptionId());
+        assertEquals(0.0, unanimous.getEntropyBits(), 1e-9);
+        assertEquals(0.0, unanimous.getNormalizedEntropy(), 1e-9);
+    }
+    
+    @Test
+    void testOnBallotCast_UpdatesLoadedTallyIncrementally() {
+        stubVote(1L, 1, 1);
+        engine.snapshot(1L);
+        
+        engine.onBallotCast(new BallotCastEvent(1L, 11L, 100L, START.plusHours(2)));
+        engine.onBallotCast(new BallotCastEvent(1L, 11L, 101L, START.plusHours(2).plusMinutes(5)));
+        VoteStatistics statistics = engine.snapshot(1L);
+        
+        assertEquals(4, statistics.getTotalVotes());
+        assertEquals("Option 1", statistics.getLeaderOptionText());
+        assertEquals(2, statistics.getMarginVotes());
+        assertEquals(-(0.75 * Math.log(0.75) + 0.25 * Math.log(0.25)) / Math.log(2), statistics.getEntropyBits(), 1e-9);
+        assertEquals(START.plusHours(2).plusMinutes(5), statistics.getLastBallotAt());
+        assertEquals(2, statistics.getTurnout().get(statistics.getTurnout().size() - 1).getBallots());
+        // Loaded once; ballots never trigger a reload
+        verify(voteRepository, times(1)).findById(1L);
+    }
+    
+    @Test
+    void testOnBallotCast_IgnoresBallotsAlreadyLoaded() {
+        stubVote(1L, 2, 0);
+        engine.snapshot(1L);
+        
+        // Record 2 was part of the loaded tally
+        engine.onBallotCast(new BallotCastEvent(1L, 11L, 2L, START));
+        
+        assertEquals(2, engine.snapshot(1L).getTotalVotes());
+    }
+    
+    @Test
+    void testOnBallotCast_IgnoresBallotsUpToHighestLoadedRecord() {
+        stubVote(1L, 2, 0);
+        engine.snapshot(1L);
+        
+        // Records 1 and 2 were loaded; record 3 was committed after the load
+        engine.onBallotCast(new BallotCastEvent(1L, 12L, 1L, START));
+        engine.onBallotCast(new BallotCastEvent(1L, 12L, 3L, START.plusMinutes(5)));
+        VoteStatistics statistics = engine.snapshot(1L);
+        
+        assertEquals(3, statistics.getTotalVotes());
+        assertEquals(1, statistics.getOptions().get(1).getVotes());
+    }
+    
+    @Test
+    void testSnapshot_EvictsLeastRecentlyUsedPoll() {
+        ReflectionTestUtils.setField(engine, "maxPolls", 2);
+        stubVote(1L, 1, 0);
+        stubVote(2L, 1, 0);
+        stubVote(3L, 1, 0);
+        
+        engine.snapshot(1L);
+        engine.snapshot(2L);
+        engine.snapshot(1L);
+        engine.snapshot(3L);
+        engine.snapshot(1L);
+        engine.snapshot(2L);
+        
+        assertEquals(2, engine.loadedPolls());
+        verify(voteRepository, times(1)).findById(1L);
+        verify(voteRepository, times(2)).findById(2L);
+    }
+    
+    @Test
+    void testOnBallotCast_PollNotLoaded() {
+        engine.onBallotCast(new BallotCastEvent(1L, 11L, 100L, START));
+        
+        verifyNoInteractions(voteRepository);
+    }
+    
+    @Test
+    void testSnapshot_TurnoutBuckets() {
+        stubVote(1L, 3, 0);
+        
+        VoteStatistics statistics = engine.snapshot(1L);
+        
+        assertEquals(2, statistics.getTurnout().size());
+        assertEquals(START, statistics.getTurnout().get(0).getStart());
+        assertEquals(2, statistics.getTurnout().get(0).getBallots());
+        assertEquals(START.plusHours(1), statistics.getTurnout().get(1).getStart());
+    }
+    
+    @Test
+    void testSnapshot_VoteNotFound() {
+        when(voteRepository.findById(9L)).thenReturn(Optional.empty());
+        
+        assertThrows(IllegalArgumentException.class, () -> engine.snapshot(9L));
+        assertThrows(IllegalArgumentException.class, () -> engine.snapshot(null));
+    }
+    
+    /**
+     * Options get ids 11, 12, ...; one blockchain record per ballot, 40 minutes apart, ids 1, 2, ...
+     */
+    private void stubVote(Long voteId, int... counts) {
+        List<VoteOption> options = new ArrayList<>();
+        int ballots = 0;
+        for (int i = 0; i < counts.length; i++) {
+            options.add(VoteOption.builder().id(11L + i).optionText("Option " + (i + 1)).voteCount(counts[i]).build());
+            ballots += counts[i];
+        }
+        Vote vote = Vote.builder().id(voteId).title("Poll " + voteId).options(options).build();
+        
+        List<BlockchainRecord> records = new ArrayList<>();
+        for (int option = 0, i = 0; option < counts.length; option++) {
+            for (int ballot = 0; ballot < counts[option]; ballot++, i++) {
+                records.add(BlockchainRecord.builder().id(i + 1L).voteOption(options.get(option))
+                        .timestamp(START.plusMinutes(40L * i)).build());
+            }
+        }
+        when(voteRepository.findById(voteId)).thenReturn(Optional.of(vote));
+        when(blockchainRepository.findByVoteId(voteId)).thenReturn(records);
+    }
+}
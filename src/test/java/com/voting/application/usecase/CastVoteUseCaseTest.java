@@ -1,5 +1,6 @@
 package com.voting.application.usecase;
 
+import com.voting.application.event.BallotCastEvent;
 import com.voting.application.service.BlockchainService;
 import com.voting.domain.model.BlockchainRecord;
 import com.voting.domain.model.User;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -38,6 +40,9 @@ class CastVoteUseCaseTest {
     @Mock
     private BlockchainRepository blockchainRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     private CastVoteUseCase castVoteUseCase;
     
     @BeforeEach
@@ -46,7 +51,8 @@ class CastVoteUseCaseTest {
                 voteRepository, 
                 userRepository, 
                 blockchainService, 
-                blockchainRepository
+                blockchainRepository,
+                eventPublisher
         );
     }
     
@@ -81,6 +87,7 @@ class CastVoteUseCaseTest {
         assertEquals(1, option.getVoteCount());
         verify(voteRepository).save(vote);
         verify(blockchainRepository).save(blockchainRecord);
+        verify(eventPublisher).publishEvent(any(BallotCastEvent.class));
     }
     
     @Test
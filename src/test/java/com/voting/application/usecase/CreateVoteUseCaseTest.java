@@ -3,7 +3,10 @@
  */
 package com.voting.application.usecase;
 
-import com.voting.application.service.AIService;
+import com.voting.application.event.VoteCreatedEvent;
+import com.voting.application.event.VoteSavedEvent;
+import com.voting.application.service.PollDuplicateIndex;
+import com.voting.domain.model.AIEnhancementStatus;
 import com.voting.domain.model.User;
 import com.voting.domain.model.Vote;
 import com.voting.domain.model.VoteOption;
@@ -12,8 +15,10 @@ import com.voting.domain.port.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,7 +26,6 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,13 +38,16 @@ class CreateVoteUseCaseTest {
     private UserRepository userRepository;
     
     @Mock
-    private AIService aiService;
+    private ApplicationEventPublisher eventPublisher;
+    
+    private PollDuplicateIndex duplicateIndex;
     
     private CreateVoteUseCase createVoteUseCase;
     
     @BeforeEach
     void setUp() {
-        createVoteUseCase = new CreateVoteUseCase(voteRepository, userRepository, aiService);
+        duplicateIndex = new PollDuplicateIndex();
+        createVoteUseCase = new CreateVoteUseCase(voteRepository, userRepository, eventPublisher, duplicateIndex);
     }
     
     @Test
@@ -84,7 +91,7 @@ class CreateVoteUseCaseTest {
     }
     
     @Test
-    void testExecute_VoteCreationWithAIEnhancement() {
+    void testExecute_VoteCreationWithAIEnhancement_IsDeferred() {
         Long creatorId = 1L;
         User creator = User.builder()
                 .id(creatorId)
@@ -94,68 +101,46 @@ class CreateVoteUseCaseTest {
         
         String title = "Best programming language?";
         String description = "Which language is most productive";
-        String aiEnhanced = "Which programming language?";
         List<String> options = List.of("Java", "Python", "Go");
         LocalDateTime startDate = LocalDateTime.now();
         LocalDateTime endDate = LocalDateTime.now().plusDays(7);
         
-        Vote expectedVote = Vote.builder()
-                .id(1L)
-                .title(title)
-                .description(description)
-                .aiEnhancedDescription(aiEnhanced)
-                .creator(creator)
-                .startDate(startDate)
-                .endDate(endDate)
-                .active(true)
-                .build();
-        
         when(userRepository.findById(creatorId)).thenReturn(Optional.of(creator));
-        when(aiService.enhanceVoteDescription(title, description)).thenReturn(aiEnhanced);
-        when(voteRepository.save(any(Vote.class))).thenReturn(expectedVote);
+        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> {
+            Vote vote = invocation.getArgument(0);
+            vote.setId(1L);
+            return vote;
+        });
         
         Vote result = createVoteUseCase.execute(creatorId, title, description, options, startDate, endDate, true);
         
         assertNotNull(result);
         assertEquals(title, result.getTitle());
-        assertEquals(aiEnhanced, result.getAiEnhancedDescription());
-        verify(aiService).enhanceVoteDescription(title, description);
-        verify(voteRepository).save(any(Vote.class));
+        assertNull(result.getAiEnhancedDescription());
+        assertEquals(AIEnhancementStatus.PENDING, result.getAiEnhancementStatus());
+        
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        VoteCreatedEvent event = events.getAllValues().stream()
+                .filter(VoteCreatedEvent.class::isInstance).map(VoteCreatedEvent.class::cast).findFirst().orElseThrow();
+        assertEquals(1L, event.getVoteId());
+        assertEquals(title, event.getTitle());
+        assertEquals(description, event.getDescription());
     }
     
     @Test
-    void testExecute_AIEnhancementFails_ContinuesCreation() {
+    void testExecute_WithoutAIEnhancement_PublishesNoEnhancementEvent() {
         Long creatorId = 1L;
-        User creator = User.builder()
-                .id(creatorId)
-                .email("creator@example.com")
-                .name("Vote Creator")
-                .build();
-        
-        String title = "Test Vote";
-        String description = "Test description";
-        List<String> options = List.of("Option 1", "Option 2");
-        
-        Vote expectedVote = Vote.builder()
-                .id(1L)
-                .title(title)
-                .description(description)
-                .aiEnhancedDescription(null)
-                .creator(creator)
-                .active(true)
-                .build();
+        User creator = User.builder().id(creatorId).email("test@example.com").name("Test").build();
         
         when(userRepository.findById(creatorId)).thenReturn(Optional.of(creator));
-        when(aiService.enhanceVoteDescription(anyString(), anyString()))
-                .thenThrow(new RuntimeException("AI Service down"));
-        when(voteRepository.save(any(Vote.class))).thenReturn(expectedVote);
+        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
-        Vote result = createVoteUseCase.execute(creatorId, title, description, options, 
-                LocalDateTime.now(), LocalDateTime.now().plusDays(1), true);
+        Vote result = createVoteUseCase.execute(creatorId, "Test Vote", "Test description",
+                List.of("Option 1", "Option 2"), LocalDateTime.now(), LocalDateTime.now().plusDays(1), false);
         
-        assertNotNull(result);
-        assertNull(result.getAiEnhancedDescription());
-        verify(voteRepository).save(any(Vote.class));
+        assertEquals(AIEnhancementStatus.NONE, result.getAiEnhancementStatus());
+        verify(eventPublisher, never()).publishEvent(any(VoteCreatedEvent.class));
     }
     
     @Test
@@ -225,6 +210,60 @@ class CreateVoteUseCaseTest {
         
         assertNotNull(result);
         assertEquals("", result.getDescription());
-        verify(aiService, never()).enhanceVoteDescription(anyString(), anyString());
+        verify(eventPublisher, never()).publishEvent(any(VoteCreatedEvent.class));
+    }
+    
+    @Test
+    void testExecute_ReportsNearDuplicatePolls() {
+        Long creatorId = 1L;
+        User creator = User.builder().id(creatorId).email("test@example.com").name("Test").build();
+        
+        when(userRepository.findById(creatorId)).thenReturn(Optional.of(creator));
+        // Stands in for the commit that delivers the event to the index
+        doAnswer(invocation -> {
+            duplicateIndex.onVoteSaved(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(VoteSavedEvent.class));
+        long[] nextId = {1L};
+        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> {
+            Vote vote = invocation.getArgument(0);
+            vote.setId(nextId[0]++);
+            return vote;
+        });
+        
+        Vote first = createVoteUseCase.execute(creatorId, "Best programming language?", "Which language is most productive",
+                List.of("Java", "Go"), LocalDateTime.now(), LocalDateTime.now().plusDays(1), false);
+        Vote unrelated = createVoteUseCase.execute(creatorId, "Office lunch on Friday", "Pizza or sushi",
+                List.of("Pizza", "Sushi"), LocalDateTime.now(), LocalDateTime.now().plusDays(1), false);
+        Vote repeat = createVoteUseCase.execute(creatorId, "Best programming language", "Which language is the most productive?",
+                List.of("Java", "Go"), LocalDateTime.now(), LocalDateTime.now().plusDays(1), false);
+        
+        assertTrue(first.getPossibleDuplicateIds().isEmpty());
+        assertTrue(unrelated.getPossibleDuplicateIds().isEmpty());
+        assertEquals(List.of(1L), repeat.getPossibleDuplicateIds());
+        assertEquals(3, duplicateIndex.size());
+    }
+    
+    @Test
+    void testExecute_IndexesPollOnlyThroughCommitEvent() {
+        Long creatorId = 1L;
+        User creator = User.builder().id(creatorId).email("test@example.com").name("Test").build();
+        
+        when(userRepository.findById(creatorId)).thenReturn(Optional.of(creator));
+        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation -> {
+            Vote vote = invocation.getArgument(0);
+            vote.setId(7L);
+            return vote;
+        });
+        
+        createVoteUseCase.execute(creatorId, "Office lunch on Friday", "Pizza or sushi",
+                List.of("Pizza", "Sushi"), LocalDateTime.now(), LocalDateTime.now().plusDays(1), false);
+        
+        // Nothing is indexed until the transaction commits and the event is delivered
+        assertEquals(0, duplicateIndex.size());
+        ArgumentCaptor<VoteSavedEvent> saved = ArgumentCaptor.forClass(VoteSavedEvent.class);
+        verify(eventPublisher).publishEvent(saved.capture());
+        assertEquals(7L, saved.getValue().getVoteId());
+        assertTrue(saved.getValue().getSignature().hasText());
     }
 }
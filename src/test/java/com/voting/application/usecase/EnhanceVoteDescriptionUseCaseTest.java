@@ -0,0 +1,101 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import com.voting.application.event.VoteCreatedEvent;
+import com.voting.application.event.VoteDescriptionEnhancedEvent;
+import com.voting.application.service.AIService;
+import com.voting.domain.model.AIEnhancementStatus;
+import com.voting.domain.port.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnhanceVoteDescriptionUseCaseTest {
+    
+    @Mock
+    private VoteRepository voteRepository;
+    
+    @Mock
+    private AIService aiService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private EnhanceVoteDescriptionUseCase enhanceVoteDescriptionUseCase;
+    
+    @BeforeEach
+    void setUp() {
+        enhanceVoteDescriptionUseCase = new EnhanceVoteDescriptionUseCase(voteRepository, aiService, eventPublisher, Runnable::run);
+    }
+    
+    @Test
+    void testExecute_EnhancementCompleted() {
+        String enhanced = "Which programming language makes your team most productive?";
+        when(aiService.requestEnhancement("Best language?", "Which is most productive"))
+                .thenReturn(CompletableFuture.completedFuture(enhanced));
+        
+        AIEnhancementStatus status = enhanceVoteDescriptionUseCase.execute(1L, "Best language?", "Which is most productive");
+        
+        assertEquals(AIEnhancementStatus.COMPLETED, status);
+        verify(voteRepository).updateAiEnhancement(1L, enhanced, AIEnhancementStatus.COMPLETED);
+        
+        ArgumentCaptor<VoteDescriptionEnhancedEvent> event = ArgumentCaptor.forClass(VoteDescriptionEnhancedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getVoteId());
+        assertEquals(AIEnhancementStatus.COMPLETED, event.getValue().getStatus());
+        assertEquals(enhanced, event.getValue().getAiEnhancedDescription());
+    }
+    
+    @Test
+    void testExecute_AIEnhancementFails_MarksFailed() {
+        when(aiService.requestEnhancement("Test Vote", "Test description"))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("AI Service down")));
+        
+        AIEnhancementStatus status = enhanceVoteDescriptionUseCase.execute(2L, "Test Vote", "Test description");
+        
+        assertEquals(AIEnhancementStatus.FAILED, status);
+        verify(voteRepository).updateAiEnhancement(2L, null, AIEnhancementStatus.FAILED);
+        verify(eventPublisher).publishEvent(any(VoteDescriptionEnhancedEvent.class));
+        verify(aiService, never()).enhanceVoteDescription(any(), any());
+    }
+    
+    @Test
+    void testOnVoteCreated_RunsEnhancementOnExecutor() {
+        Executor executor = mock(Executor.class);
+        enhanceVoteDescriptionUseCase = new EnhanceVoteDescriptionUseCase(voteRepository, aiService, eventPublisher, executor);
+        
+        enhanceVoteDescriptionUseCase.onVoteCreated(new VoteCreatedEvent(3L, "Title", "Description"));
+        
+        verify(executor).execute(any(Runnable.class));
+        verifyNoInteractions(aiService, voteRepository);
+    }
+    
+    @Test
+    void testOnVoteCreated_ExecutorSaturated_MarksFailed() {
+        Executor saturated = task -> {
+            throw new TaskRejectedException("AI executor saturated");
+        };
+        enhanceVoteDescriptionUseCase = new EnhanceVoteDescriptionUseCase(voteRepository, aiService, eventPublisher, saturated);
+        
+        enhanceVoteDescriptionUseCase.onVoteCreated(new VoteCreatedEvent(4L, "Title", "Description"));
+        
+        verify(voteRepository).updateAiEnhancement(4L, null, AIEnhancementStatus.FAILED);
+        verify(eventPublisher).publishEvent(any(VoteDescriptionEnhancedEvent.class));
+        verifyNoInteractions(aiService);
+    }
+}
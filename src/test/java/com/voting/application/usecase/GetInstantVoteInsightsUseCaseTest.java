@@ -0,0 +1,146 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import com.voting.application.service.MaterialChangePolicy;
+import com.voting.application.service.VoteStatisticsEngine;
+import com.voting.domain.valueobject.VoteInsights;
+import com.voting.domain.valueobject.VoteInsights.NarrativeStatus;
+import com.voting.domain.valueobject.VoteStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetInstantVoteInsightsUseCaseTest {
+    
+    @Mock
+    private VoteStatisticsEngine statisticsEngine;
+    
+    @Mock
+    private GetVoteInsightsUseCase getVoteInsightsUseCase;
+    
+    private GetInstantVoteInsightsUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        useCase = new GetInstantVoteInsightsUseCase(statisticsEngine, getVoteInsightsUseCase, new MaterialChangePolicy(), 1000);
+    }
+    
+    @Test
+    void testExecute_ReturnsStatisticsWhileNarrativePending() {
+        when(statisticsEngine.snapshot(1L)).thenReturn(statistics(1L, 10));
+        CompletableFuture<String> narrative = new CompletableFuture<>();
+        when(getVoteInsightsUseCase.executeAsync(1L)).thenReturn(narrative);
+        
+        VoteInsights first = useCase.execute(1L, true);
+        VoteInsights second = useCase.execute(1L, true);
+        
+        assertEquals(10, first.getStatistics().getTotalVotes());
+        assertEquals(NarrativeStatus.PENDING, first.getNarrativeStatus());
+        assertNull(first.getNarrative());
+        assertEquals(NarrativeStatus.PENDING, second.getNarrativeStatus());
+        verify(getVoteInsightsUseCase, times(1)).executeAsync(1L);
+        
+        narrative.complete("Option A leads.");
+        VoteInsights ready = useCase.execute(1L, true);
+        
+        assertEquals(NarrativeStatus.READY, ready.getNarrativeStatus());
+        assertEquals("Option A leads.", ready.getNarrative());
+    }
+    
+    @Test
+    void testExecute_MinorTallyChangeKeepsNarrative() {
+        when(statisticsEngine.snapshot(1L)).thenReturn(statistics(1L, 10), statistics(1L, 11));
+        when(getVoteInsightsUseCase.executeAsync(1L)).thenReturn(CompletableFuture.completedFuture("Narrative"));
+        
+        useCase.execute(1L, true);
+        VoteInsights insights = useCase.execute(1L, true);
+        
+        assertEquals(NarrativeStatus.READY, insights.getNarrativeStatus());
+        assertEquals("Narrative", insights.getNarrative());
+        assertEquals(1, insights.getNarrativeBallotsBehind());
+        verify(getVoteInsightsUseCase, times(1)).executeAsync(1L);
+    }
+    
+    @Test
+    void testExecute_MaterialChangeServesPreviousNarrativeWhilePending() {
+        when(statisticsEngine.snapshot(1L)).thenReturn(statistics(1L, 10), statistics(1L, 70));
+        CompletableFuture<String> regenerated = new CompletableFuture<>();
+        when(getVoteInsightsUseCase.executeAsync(1L))
+                .thenReturn(CompletableFuture.completedFuture("Early narrative"))
+                .thenReturn(regenerated);
+        
+        useCase.execute(1L, true);
+        VoteInsights insights = useCase.execute(1L, true);
+        
+        assertEquals(NarrativeStatus.PENDING, insights.getNarrativeStatus());
+        assertEquals("Early narrative", insights.getNarrative());
+        assertEquals(60, insights.getNarrativeBallotsBehind());
+        verify(getVoteInsightsUseCase, times(2)).executeAsync(1L);
+    }
+    
+    @Test
+    void testExecute_FailedNarrativeReportedThenRetried() {
+        when(statisticsEngine.snapshot(1L)).thenReturn(statistics(1L, 10));
+        when(getVoteInsightsUseCase.executeAsync(1L))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("provider down")))
+                .thenReturn(CompletableFuture.completedFuture("Recovered"));
+        
+        VoteInsights failed = useCase.execute(1L, true);
+        VoteInsights retried = useCase.execute(1L, true);
+        
+        assertEquals(NarrativeStatus.UNAVAILABLE, failed.getNarrativeStatus());
+        assertEquals(NarrativeStatus.READY, retried.getNarrativeStatus());
+        assertEquals("Recovered", retried.getNarrative());
+    }
+    
+    @Test
+    void testExecute_WithoutNarration() {
+        when(statisticsEngine.snapshot(1L)).thenReturn(statistics(1L, 10));
+        
+        VoteInsights insights = useCase.execute(1L, false);
+        
+        assertEquals(NarrativeStatus.NOT_REQUESTED, insights.getNarrativeStatus());
+        verify(getVoteInsightsUseCase, never()).executeAsync(anyLong());
+    }
+    
+    @Test
+    void testExecute_VoteNotFound() {
+        when(statisticsEngine.snapshot(9L)).thenThrow(new IllegalArgumentException("Vote not found"));
+        
+        assertThrows(IllegalArgumentException.class, () -> useCase.execute(9L, true));
+        verify(getVoteInsightsUseCase, never()).executeAsync(anyLong());
+    }
+    
+    @Test
+    void testExecute_KeepsNarrativesForAtMostMaxPolls() {
+        useCase = new GetInstantVoteInsightsUseCase(statisticsEngine, getVoteInsightsUseCase, new MaterialChangePolicy(), 2);
+        when(statisticsEngine.snapshot(anyLong())).thenAnswer(invocation -> statistics(invocation.getArgument(0), 10));
+        when(getVoteInsightsUseCase.executeAsync(anyLong())).thenReturn(CompletableFuture.completedFuture("Narrative"));
+        
+        useCase.execute(1L, true);
+        useCase.execute(2L, true);
+        useCase.execute(1L, true);
+        useCase.execute(3L, true);
+        VoteInsights reused = useCase.execute(1L, true);
+        useCase.execute(2L, true);
+        
+        assertEquals(NarrativeStatus.READY, reused.getNarrativeStatus());
+        verify(getVoteInsightsUseCase, times(1)).executeAsync(1L);
+        verify(getVoteInsightsUseCase, times(2)).executeAsync(2L);
+    }
+    
+    private static VoteStatistics statistics(Long voteId, long totalVotes) {
+        return VoteStatistics.builder().voteId(voteId).totalVotes(totalVotes).build();
+    }
+}
@@ -4,16 +4,34 @@
 package com.voting.application.usecase;
 
 import com.voting.application.service.AIService;
+import com.voting.application.service.MaterialChangePolicy;
+import com.voting.application.service.VoteStatisticsEngine;
+import com.voting.domain.model.VoteAnalysis;
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.VoteAnalysisRepository;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.domain.valueobject.VoteStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class GetVoteInsightsUseCaseTest {
@@ -21,11 +39,25 @@ class GetVoteInsightsUseCaseTest {
     @Mock
     private AIService aiService;
     
+    @Mock
+    private VoteStatisticsEngine statisticsEngine;
+    
+    @Mock
+    private PromptSecurityPort promptSecurityPort;
+    
+    @Mock
+    private VoteAnalysisRepository voteAnalysisRepository;
+    
     private GetVoteInsightsUseCase getVoteInsightsUseCase;
     
     @BeforeEach
     void setUp() {
-        getVoteInsightsUseCase = new GetVoteInsightsUseCase(aiService);
+        getVoteInsightsUseCase = new GetVoteInsightsUseCase(aiService, statisticsEngine, promptSecurityPort,
+                voteAnalysisRepository, new MaterialChangePolicy(), 1000);
+        lenient().when(statisticsEngine.snapshot(anyLong()))
+                .thenAnswer(invocation -> tally(invocation.getArgument(0), 0, 0));
+        lenient().when(promptSecurityPort.validateVoteAnalysis(anyString(), any()))
+                .thenAnswer(invocation -> SecurityCheckResult.passed(invocation.getArgument(0)));
     }
     
     @Test
@@ -84,12 +116,13 @@ class GetVoteInsightsUseCaseTest {
     void testExecute_VoteNotFound() {
         Long voteId = 999L;
         
-        when(aiService.generateVoteInsights(voteId))
+        when(statisticsEngine.snapshot(voteId))
                 .thenThrow(new IllegalArgumentException("Vote not found"));
         
         assertThrows(IllegalArgumentException.class, () ->
                 getVoteInsightsUseCase.execute(voteId)
         );
+        verify(aiService, never()).generateVoteInsights(anyLong());
     }
     
     @Test
@@ -104,6 +137,19 @@ class GetVoteInsightsUseCaseTest {
         );
     }
     
+    @Test
+    void testExecute_FailedGenerationIsNotServedAgain() {
+        Long voteId = 1L;
+        when(statisticsEngine.snapshot(voteId)).thenReturn(tally(voteId, 60, 40));
+        when(aiService.generateVoteInsights(voteId))
+                .thenThrow(new RuntimeException("AI service unavailable"))
+                .thenReturn("Option A leads");
+        
+        assertThrows(RuntimeException.class, () -> getVoteInsightsUseCase.execute(voteId));
+        assertEquals("Option A leads", getVoteInsightsUseCase.execute(voteId));
+        verify(aiService, times(2)).generateVoteInsights(voteId);
+    }
+    
     @Test
     void testExecute_InsightsWithSentimentAnalysis() {
         Long voteId = 4L;
@@ -137,7 +183,7 @@ class GetVoteInsightsUseCaseTest {
     
     @Test
     void testExecute_NullVoteId() {
-        when(aiService.generateVoteInsights(null))
+        when(statisticsEngine.snapshot(null))
                 .thenThrow(new IllegalArgumentException("Vote ID cannot be null"));
         
         assertThrows(IllegalArgumentException.class, () ->
@@ -163,4 +209,121 @@ class GetVoteInsightsUseCaseTest {
         assertTrue(result.contains("Insight point 0"));
         assertTrue(result.contains("Insight point 49"));
     }
+    
+    @Test
+    void testExecute_ConcurrentCallersShareOneProviderCall() throws Exception {
+        Long voteId = 7L;
+        when(statisticsEngine.snapshot(voteId)).thenReturn(tally(voteId, 10, 5));
+        
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger providerCalls = new AtomicInteger();
+        when(aiService.generateVoteInsights(voteId)).thenAnswer(invocation -> {
+            providerCalls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "Option A leads";
+        });
+        
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> getVoteInsightsUseCase.execute(voteId)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            
+            for (Future<String> result : results) {
+                assertEquals("Option A leads", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(1, providerCalls.get());
+        verify(promptSecurityPort, times(1)).validateVoteAnalysis("Option A leads", voteId);
+    }
+    
+    @Test
+    void testExecute_MinorTallyChangeServesPreviousInsights() {
+        Long voteId = 8L;
+        when(statisticsEngine.snapshot(voteId))
+                .thenReturn(tally(voteId, 60, 40))
+                .thenReturn(tally(voteId, 61, 40))
+                .thenReturn(tally(voteId, 62, 41));
+        when(aiService.generateVoteInsights(voteId)).thenReturn("first", "second");
+        
+        assertEquals("first", getVoteInsightsUseCase.execute(voteId));
+        assertEquals("first", getVoteInsightsUseCase.execute(voteId));
+        assertEquals("first", getVoteInsightsUseCase.execute(voteId));
+        verify(aiService, times(1)).generateVoteInsights(voteId);
+    }
+    
+    @Test
+    void testExecute_LeaderChangeStartsNewCall() {
+        Long voteId = 8L;
+        when(statisticsEngine.snapshot(voteId))
+                .thenReturn(tally(voteId, 50, 49))
+                .thenReturn(tally(voteId, 50, 51));
+        when(aiService.generateVoteInsights(voteId)).thenReturn("first", "second");
+        
+        assertEquals("first", getVoteInsightsUseCase.execute(voteId));
+        assertEquals("second", getVoteInsightsUseCase.execute(voteId));
+        verify(aiService, times(2)).generateVoteInsights(voteId);
+    }
+    
+    @Test
+    void testExecute_CriticalThreatInInsightsRejected() {
+        Long voteId = 9L;
+        when(aiService.generateVoteInsights(voteId)).thenReturn("<script>alert(1)</script>");
+        when(promptSecurityPort.validateVoteAnalysis("<script>alert(1)</script>", voteId))
+                .thenReturn(SecurityCheckResult.builder().passed(false).riskLevel("CRITICAL").build());
+        
+        assertThrows(SecurityException.class, () -> getVoteInsightsUseCase.execute(voteId));
+    }
+    
+    @Test
+    void testExecute_ServesStoredAnalysis() {
+        Long voteId = 10L;
+        when(voteAnalysisRepository.findByVoteId(voteId)).thenReturn(Optional.of(VoteAnalysis.builder()
+                .voteId(voteId)
+                .analysis("Stored: Option A won decisively.")
+                .build()));
+        
+        assertEquals("Stored: Option A won decisively.", getVoteInsightsUseCase.execute(voteId));
+        verify(aiService, never()).generateVoteInsights(anyLong());
+    }
+    
+    @Test
+    void testExecute_KeepsLatestInsightsForAtMostMaxPolls() {
+        getVoteInsightsUseCase = new GetVoteInsightsUseCase(aiService, statisticsEngine, promptSecurityPort,
+                voteAnalysisRepository, new MaterialChangePolicy(), 2);
+        when(aiService.generateVoteInsights(anyLong())).thenReturn("insights");
+        
+        getVoteInsightsUseCase.execute(1L);
+        getVoteInsightsUseCase.execute(2L);
+        getVoteInsightsUseCase.execute(1L);
+        getVoteInsightsUseCase.execute(3L);
+        getVoteInsightsUseCase.execute(1L);
+        getVoteInsightsUseCase.execute(2L);
+        
+        // Poll 2 was the least recently used when poll 3 came in, so only it is generated again
+        verify(aiService, times(1)).generateVoteInsights(1L);
+        verify(aiService, times(2)).generateVoteInsights(2L);
+    }
+    
+    /**
+     * Two-option tally with the option ids 1 and 2.
+     */
+    private static VoteStatistics tally(Long voteId, long first, long second) {
+        long total = first + second;
+        double firstShare = total > 0 ? 100.0 * first / total : 0;
+        return VoteStatistics.builder()
+                .voteId(voteId)
+                .totalVotes(total)
+                .leaderOptionId(first == second ? null : first > second ? 1L : 2L)
+                .options(List.of(
+                        new VoteStatistics.OptionShare(1L, "Option A", first, firstShare),
+                        new VoteStatistics.OptionShare(2L, "Option B", second, total > 0 ? 100 - firstShare : 0)))
+                .build();
+    }
 }
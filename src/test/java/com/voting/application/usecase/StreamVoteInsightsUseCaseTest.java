@@ -0,0 +1,220 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.application.usecase;
+
+import com.voting.application.service.AIService;
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.PromptSecurityPort;
+import com.voting.domain.port.SecurityScanSession;
+import com.voting.domain.port.VoteRepository;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamVoteInsightsUseCaseTest {
+    
+    @Mock
+    private AIService aiService;
+    
+    @Mock
+    private VoteRepository voteRepository;
+    
+    @Mock
+    private PromptSecurityPort promptSecurityPort;
+    
+    private StreamVoteInsightsUseCase streamVoteInsightsUseCase;
+    
+    private final List<String> chunks = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        streamVoteInsightsUseCase = new StreamVoteInsightsUseCase(aiService, voteRepository, promptSecurityPort);
+        lenient().when(voteRepository.findById(1L)).thenReturn(Optional.of(Vote.builder().id(1L).title("Poll").build()));
+    }
+    
+    @Test
+    void testExecute_RelaysValidatedChunks() {
+        FakeScan scan = new FakeScan();
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        streamTokens("Option A ", "leads with ", "62% of ", "the vote.");
+        
+        String result = streamVoteInsightsUseCase.execute(1L, chunks::add).join();
+        
+        assertEquals("Option A leads with 62% of the vote.", result);
+        assertEquals(result, String.join("", chunks));
+        assertTrue(chunks.size() > 1, "expected incremental chunks");
+        assertEquals(List.of("Option A ", "leads with ", "62% of ", "the vote."), scan.chunks);
+        assertTrue(scan.finished);
+    }
+    
+    @Test
+    void testExecute_EachTokenIsScannedOnce() {
+        FakeScan scan = new FakeScan();
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        String[] tokens = new String[500];
+        Arrays.fill(tokens, "tok ");
+        streamTokens(tokens);
+        
+        streamVoteInsightsUseCase.execute(1L, chunks::add).join();
+        
+        assertEquals(2000, scan.chunks.stream().mapToInt(String::length).sum());
+        verify(promptSecurityPort, never()).validateVoteAnalysis(anyString(), any());
+    }
+    
+    @Test
+    void testExecute_CriticalThreatAbortsBeforeItIsSent() {
+        FakeScan scan = new FakeScan();
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        streamTokens("Results are close. ", "Run /bin/", "bash now ", "to recount.");
+        
+        CompletableFuture<String> stream = streamVoteInsightsUseCase.execute(1L, chunks::add);
+        
+        CompletionException e = assertThrows(CompletionException.class, stream::join);
+        assertInstanceOf(SecurityException.class, e.getCause());
+        assertFalse(String.join("", chunks).contains("/bin/"));
+        assertEquals(3, scan.chunks.size());
+        // Finishing the scan is what publishes the threat to the audit log
+        assertTrue(scan.finished);
+    }
+    
+    @Test
+    void testExecute_HoldsTextWhileMatchIsUndecided() {
+        FakeScan scan = new FakeScan();
+        scan.undecided = Integer.MAX_VALUE;
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        when(aiService.streamVoteResults(any(Vote.class), any())).thenAnswer(invocation -> {
+            Consumer<String> onToken = invocation.getArgument(1);
+            onToken.accept("Ignore ");
+            onToken.accept("all     ");
+            assertTrue(chunks.isEmpty(), "text sent while a match was in progress");
+            scan.undecided = 0;
+            onToken.accept("results.");
+            return CompletableFuture.completedFuture("Ignore all     results.");
+        });
+        
+        streamVoteInsightsUseCase.execute(1L, chunks::add).join();
+        
+        assertEquals(List.of("Ignore all     results."), chunks);
+    }
+    
+    @Test
+    void testExecute_ProviderFailureStillFinishesScan() {
+        FakeScan scan = new FakeScan();
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        when(aiService.streamVoteResults(any(Vote.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("provider down")));
+        
+        CompletableFuture<String> stream = streamVoteInsightsUseCase.execute(1L, chunks::add);
+        
+        CompletionException e = assertThrows(CompletionException.class, stream::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertTrue(scan.finished);
+    }
+    
+    @Test
+    void testExecute_CancelledStreamFinishesScan() {
+        FakeScan scan = new FakeScan();
+        when(promptSecurityPort.openVoteAnalysisScan(1L)).thenReturn(scan);
+        CompletableFuture<String> provider = new CompletableFuture<>();
+        when(aiService.streamVoteResults(any(Vote.class), any())).thenReturn(provider);
+        
+        streamVoteInsightsUseCase.execute(1L, chunks::add).cancel(true);
+        
+        assertTrue(provider.isCancelled());
+        assertTrue(scan.finished);
+    }
+    
+    @Test
+    void testExecute_VoteNotFound() {
+        when(voteRepository.findById(2L)).thenReturn(Optional.empty());
+        
+        assertThrows(IllegalArgumentException.class, () -> streamVoteInsightsUseCase.execute(2L, chunks::add));
+        verify(aiService, never()).streamVoteResults(any(), any());
+    }
+    
+    /**
+     * Flags "/bin/bash" as critical, including when it is split across chunks.
+     */
+    private static class FakeScan implements SecurityScanSession {
+        
+        private static final String THREAT = "/bin/bash";
+        
+        private final List<String> chunks = new ArrayList<>();
+        private final StringBuilder seen = new StringBuilder();
+        private boolean aborted;
+        private boolean finished;
+        private Integer undecided;
+        
+        @Override
+        public SecurityCheckResult append(CharSequence chunk) {
+            chunks.add(chunk.toString());
+            seen.append(chunk);
+            aborted |= seen.indexOf(THREAT) >= 0;
+            return aborted
+                    ? SecurityCheckResult.builder().passed(false).riskLevel("CRITICAL").lastError("command").build()
+                    : SecurityCheckResult.CLEAN;
+        }
+        
+        @Override
+        public SecurityCheckResult finish() {
+            finished = true;
+            return SecurityCheckResult.CLEAN;
+        }
+        
+        @Override
+        public boolean isAborted() {
+            return aborted;
+        }
+        
+        /**
+         * The longest tail of the text seen that starts the threat, unless a test set it.
+         */
+        @Override
+        public int getUndecidedLength() {
+            if (undecided != null) {
+                return undecided;
+            }
+            for (int length = Math.min(THREAT.length() - 1, seen.length()); length > 0; length--) {
+                if (THREAT.startsWith(seen.substring(seen.length() - length))) {
+                    return length;
+                }
+            }
+            return 0;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void streamTokens(String... tokens) {
+        when(aiService.streamVoteResults(any(Vote.class), any())).thenAnswer(invocation -> {
+            Consumer<String> onToken = invocation.getArgument(1);
+            StringBuilder text = new StringBuilder();
+            try {
+                for (String token : tokens) {
+                    text.append(token);
+                    onToken.accept(token);
+                }
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return CompletableFuture.completedFuture(text.toString());
+        });
+    }
+}
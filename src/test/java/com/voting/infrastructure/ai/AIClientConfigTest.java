@@ -0,0 +1,93 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.sun.net.httpserver.HttpServer;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIClientConfigTest {
+    
+    private AIClientConfig config;
+    private HttpServer server;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        
+        config = new AIClientConfig();
+        ReflectionTestUtils.setField(config, "openaiApiKey", "test-key");
+        ReflectionTestUtils.setField(config, "openaiApiUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        ReflectionTestUtils.setField(config, "maxIdleConnections", 5);
+        ReflectionTestUtils.setField(config, "keepAlive", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(config, "maxRequests", 8);
+        ReflectionTestUtils.setField(config, "maxRequestsPerHost", 4);
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "readTimeout", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(config, "writeTimeout", Duration.ofSeconds(7));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    void testAiHttpClient_UsesConfiguredTimeoutsAndLimits() {
+        Dispatcher dispatcher = config.aiHttpDispatcher();
+        OkHttpClient client = config.aiHttpClient(config.aiConnectionPool(), dispatcher);
+        
+        assertEquals(2_000, client.connectTimeoutMillis());
+        assertEquals(20_000, client.readTimeoutMillis());
+        assertEquals(7_000, client.writeTimeoutMillis());
+        assertEquals(8, dispatcher.getMaxRequests());
+        assertEquals(4, dispatcher.getMaxRequestsPerHost());
+    }
+    
+    @Test
+    void testOpenAiApi_SharesPoolAndSendsApiKey() {
+        AtomicReference<String> authorization = new AtomicReference<>();
+        server.createContext("/v1/chat/completions", exchange -> {
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] body = ("{\"id\":\"1\",\"object\":\"chat.completion\",\"model\":\"gpt-3.5-turbo\","
+                    + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Option A leads\"}}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        ConnectionPool pool = config.aiConnectionPool();
+        OpenAiApi api = config.openAiApi(config.aiHttpClient(pool, config.aiHttpDispatcher()));
+        
+        ChatCompletionResult result = api.createChatCompletion(ChatCompletionRequest.builder()
+                        .model("gpt-3.5-turbo")
+                        .messages(List.of(new ChatMessage("user", "Analyze poll 1")))
+                        .build())
+                .blockingGet();
+        
+        assertEquals("Option A leads", result.getChoices().get(0).getMessage().getContent());
+        assertEquals("Bearer test-key", authorization.get());
+        // The connection went back to the shared pool rather than a client-private one
+        assertEquals(1, pool.connectionCount());
+    }
+}
@@ -0,0 +1,101 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private AIMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new AIMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+    }
+
+    @Test
+    void testTimed_RecordsOutcomeWhenFutureCompletes() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> timed = metrics.timed("openai", "analyze", () -> call);
+        assertNull(registry.find("ai.provider.latency").timer());
+
+        call.complete("ok");
+
+        assertSame(call, timed);
+        assertEquals(1, registry.get("ai.provider.latency")
+                .tags("provider", "openai", "operation", "analyze", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void testTimed_TagsFailuresByKind() {
+        metrics.timed("xai", "enhance", () -> CompletableFuture.failedFuture(new TimeoutException()));
+        metrics.timed("xai", "enhance", () -> CompletableFuture.failedFuture(new SocketTimeoutException("read")));
+        metrics.timed("xai", "enhance", () -> CompletableFuture.failedFuture(new IOException("xAI API returned HTTP 429")));
+        metrics.timed("xai", "enhance", () -> CompletableFuture.failedFuture(new IOException("xAI API returned HTTP 500")));
+        metrics.timed("xai", "enhance", () -> CompletableFuture.failedFuture(
+                new AIProviderUnavailableException("xai", "circuit open")));
+        metrics.timed("xai", "enhance", () -> new CompletableFuture<>()).cancel(true);
+
+        assertEquals(2, count("timeout"));
+        assertEquals(1, count("rate_limited"));
+        assertEquals(1, count("error"));
+        assertEquals(1, count("rejected"));
+        assertEquals(1, count("cancelled"));
+    }
+
+    @Test
+    void testTimed_RecordsCallThatThrows() {
+        assertThrows(IllegalStateException.class, () -> metrics.timed("xai", "complete", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, registry.get("ai.provider.latency").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void testRecordTokens_CountsPromptAndCompletionSeparately() {
+        metrics.recordTokens("openai", "analyze", 120, 80);
+        metrics.recordTokens("openai", "analyze", 30, 20);
+
+        assertEquals(150, registry.get("ai.provider.tokens").tags("operation", "analyze", "type", "prompt").counter().count());
+        assertEquals(100, registry.get("ai.provider.tokens").tags("operation", "analyze", "type", "completion").counter().count());
+    }
+
+    @Test
+    void testRecordCacheLookup_CountsHitsAndMisses() {
+        metrics.recordCacheLookup("openai", "enhance", true);
+        metrics.recordCacheLookup("openai", "enhance", false);
+        metrics.recordCacheLookup("openai", "enhance", false);
+
+        assertEquals(1, registry.get("ai.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2, registry.get("ai.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testRecordFallback_UnwrapsCompletionException() {
+        metrics.recordFallback("router", "analyze", new CompletionException(new TimeoutException("deadline")));
+
+        assertEquals(1, registry.get("ai.provider.fallbacks")
+                .tags("provider", "router", "operation", "analyze", "reason", "timeout").counter().count());
+    }
+
+    private long count(String outcome) {
+        return registry.get("ai.provider.latency").tags("provider", "xai", "outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,256 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIOutboundSchedulerTest {
+    
+    private AIOutboundScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private MockEnvironment environment;
+    private MutableClock clock;
+    private List<String> sent;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        environment = new MockEnvironment().withProperty("ai.outbound.openai.requests-per-minute", "1");
+        clock = new MutableClock();
+        sent = new ArrayList<>();
+        scheduler = new AIOutboundScheduler();
+        ReflectionTestUtils.setField(scheduler, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "environment", environment);
+        ReflectionTestUtils.setField(scheduler, "clock", clock);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "maxQueueDepth", 3);
+        ReflectionTestUtils.setField(scheduler, "maxBatchQueued", 2);
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(scheduler, "defaultRetryAfter", Duration.ofSeconds(10));
+    }
+    
+    @Test
+    void testSubmit_SendsImmediatelyWithinQuota() {
+        assertEquals("first", submit("openai", AIPriority.INTERACTIVE, "first").join());
+        assertEquals(0, scheduler.queueDepth("openai"));
+    }
+    
+    @Test
+    void testSubmit_QueuesUntilQuotaRefills() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> second = submit("openai", AIPriority.INTERACTIVE, "second");
+        
+        assertFalse(second.isDone());
+        assertEquals(1, scheduler.queueDepth("openai"));
+        
+        clock.advance(Duration.ofSeconds(30));
+        scheduler.drain("openai");
+        assertFalse(second.isDone());
+        
+        clock.advance(Duration.ofSeconds(30));
+        scheduler.drain("openai");
+        assertEquals("second", second.join());
+    }
+    
+    @Test
+    void testSubmit_TokenQuotaAppliesToEstimatedTokens() {
+        environment.setProperty("ai.outbound.xai.tokens-per-minute", "1000");
+        
+        CompletableFuture<String> first = scheduler.submit("xai", AIPriority.INTERACTIVE, 800, () -> call("first"));
+        CompletableFuture<String> second = scheduler.submit("xai", AIPriority.INTERACTIVE, 800, () -> call("second"));
+        
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        clock.advance(Duration.ofSeconds(36));
+        scheduler.drain("xai");
+        assertEquals("second", second.join());
+    }
+    
+    @Test
+    void testDrain_InteractiveBeforeBatch() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> batch = submit("openai", AIPriority.BATCH, "batch");
+        CompletableFuture<String> interactive = submit("openai", AIPriority.INTERACTIVE, "interactive");
+        
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.drain("openai");
+        
+        assertTrue(interactive.isDone());
+        assertFalse(batch.isDone());
+        assertEquals(List.of("first", "interactive"), sent);
+    }
+    
+    @Test
+    void testSubmit_ShedsBatchBeyondLimit() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        submit("openai", AIPriority.BATCH, "batch-1");
+        submit("openai", AIPriority.BATCH, "batch-2");
+        CompletableFuture<String> shed = submit("openai", AIPriority.BATCH, "batch-3");
+        
+        CompletionException e = assertThrows(CompletionException.class, shed::join);
+        assertInstanceOf(AIProviderUnavailableException.class, e.getCause());
+        assertEquals(1.0, meterRegistry.get("ai.provider.calls.shed")
+                .tag("provider", "openai").tag("priority", "BATCH").counter().count());
+    }
+    
+    @Test
+    void testSubmit_InteractiveDisplacesNewestBatchWhenFull() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> older = submit("openai", AIPriority.BATCH, "batch-1");
+        submit("openai", AIPriority.INTERACTIVE, "interactive-1");
+        CompletableFuture<String> newer = submit("openai", AIPriority.BATCH, "batch-2");
+        
+        CompletableFuture<String> interactive = submit("openai", AIPriority.INTERACTIVE, "interactive-2");
+        
+        assertFalse(interactive.isCompletedExceptionally());
+        assertFalse(older.isDone());
+        assertThrows(CompletionException.class, newer::join);
+        assertEquals(3, scheduler.queueDepth("openai"));
+    }
+    
+    @Test
+    void testSubmit_InteractiveShedWhenQueueFullOfInteractive() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        for (int i = 0; i < 3; i++) {
+            submit("openai", AIPriority.INTERACTIVE, "queued-" + i);
+        }
+        
+        CompletableFuture<String> shed = submit("openai", AIPriority.INTERACTIVE, "one-too-many");
+        
+        assertThrows(CompletionException.class, shed::join);
+        assertEquals(1.0, meterRegistry.get("ai.provider.calls.shed")
+                .tag("provider", "openai").tag("priority", "INTERACTIVE").counter().count());
+    }
+    
+    @Test
+    void testDrain_FailsCallsThatWaitedTooLong() {
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofSeconds(10));
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> waiting = submit("openai", AIPriority.INTERACTIVE, "waiting");
+        
+        clock.advance(Duration.ofSeconds(11));
+        scheduler.drain("openai");
+        
+        CompletionException e = assertThrows(CompletionException.class, waiting::join);
+        assertTrue(e.getCause().getMessage().contains("queue wait exceeded"));
+        assertEquals(List.of("first"), sent);
+    }
+    
+    @Test
+    void testDrain_SkipsCancelledCalls() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> cancelled = submit("openai", AIPriority.INTERACTIVE, "cancelled");
+        
+        cancelled.cancel(true);
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.drain("openai");
+        
+        assertEquals(List.of("first"), sent);
+        assertEquals(0, scheduler.queueDepth("openai"));
+    }
+    
+    @Test
+    void testOnRateLimited_PausesUnlimitedProvider() {
+        scheduler.onRateLimited("xai", Duration.ofSeconds(5));
+        CompletableFuture<String> paused = submit("xai", AIPriority.INTERACTIVE, "paused");
+        
+        assertFalse(paused.isDone());
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.drain("xai");
+        assertEquals("paused", paused.join());
+    }
+    
+    @Test
+    void testSubmit_SchedulesDrainForQueuedCallDeadline() {
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofSeconds(5));
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        submit("openai", AIPriority.INTERACTIVE, "waiting");
+        
+        // The quota refills in a minute, but the queued call times out first
+        assertEquals(clock.millis() + 5_000, scheduler.nextDrainAt("openai"));
+    }
+    
+    @Test
+    void testSubmit_EarlierDeadlineMovesScheduledDrainForward() {
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        submit("openai", AIPriority.BATCH, "batch");
+        assertEquals(clock.millis() + 60_000, scheduler.nextDrainAt("openai"));
+        
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofSeconds(2));
+        submit("openai", AIPriority.INTERACTIVE, "hurried");
+        
+        assertEquals(clock.millis() + 2_000, scheduler.nextDrainAt("openai"));
+    }
+    
+    @Test
+    void testOnRateLimited_SchedulesDrainForQueuedCallDeadline() {
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofSeconds(5));
+        scheduler.onRateLimited("xai", Duration.ofMinutes(2));
+        submit("xai", AIPriority.INTERACTIVE, "paused");
+        
+        assertEquals(clock.millis() + 5_000, scheduler.nextDrainAt("xai"));
+        
+        scheduler.onRateLimited("xai", Duration.ofMinutes(5));
+        assertEquals(clock.millis() + 5_000, scheduler.nextDrainAt("xai"));
+    }
+    
+    @Test
+    void testSubmit_QueuedCallTimesOutWithoutManualDrain() {
+        ReflectionTestUtils.setField(scheduler, "clock", Clock.systemUTC());
+        ReflectionTestUtils.setField(scheduler, "maxQueueWait", Duration.ofMillis(100));
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        CompletableFuture<String> waiting = submit("openai", AIPriority.INTERACTIVE, "waiting");
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("queue wait exceeded"));
+        assertEquals(0, scheduler.queueDepth("openai"));
+    }
+    
+    @Test
+    void testSubmit_FailedResultCancelsCall() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> result = scheduler.submit("openai", AIPriority.INTERACTIVE, 10, () -> call);
+        
+        result.completeExceptionally(new TimeoutException("caller gave up"));
+        
+        assertTrue(call.isCancelled());
+    }
+    
+    @Test
+    void testSubmit_DisabledPassesThrough() {
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+        
+        submit("openai", AIPriority.INTERACTIVE, "first");
+        submit("openai", AIPriority.INTERACTIVE, "second");
+        
+        assertEquals(List.of("first", "second"), sent);
+    }
+    
+    private CompletableFuture<String> submit(String provider, AIPriority priority, String value) {
+        return scheduler.submit(provider, priority, 10, () -> call(value));
+    }
+    
+    private CompletableFuture<String> call(String value) {
+        synchronized (sent) {
+            sent.add(value);
+        }
+        return CompletableFuture.completedFuture(value);
+    }
+}
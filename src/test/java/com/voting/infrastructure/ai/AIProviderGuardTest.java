@@ -0,0 +1,123 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIProviderGuardTest {
+    
+    private AIProviderGuard guard;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        guard = new AIProviderGuard();
+        ReflectionTestUtils.setField(guard, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(guard, "clock", clock);
+        ReflectionTestUtils.setField(guard, "windowSize", 4);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(guard, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(guard, "halfOpenProbes", 1);
+        ReflectionTestUtils.setField(guard, "maxConcurrentCalls", 2);
+    }
+    
+    @Test
+    void testCall_OpensAfterFailureRateAndFailsFast() {
+        failCalls(4);
+        
+        AtomicInteger invoked = new AtomicInteger();
+        CompletableFuture<String> rejected = guard.call("openai", Duration.ofSeconds(1), () -> {
+            invoked.incrementAndGet();
+            return CompletableFuture.completedFuture("never");
+        });
+        
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState("openai"));
+        assertEquals(0, invoked.get());
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(AIProviderUnavailableException.class, e.getCause());
+        assertEquals(1.0, meterRegistry.get("ai.provider.calls.rejected")
+                .tag("provider", "openai").tag("reason", "circuit_open").counter().count());
+        assertEquals(2.0, meterRegistry.get("ai.provider.circuit.state").tag("provider", "openai").gauge().value());
+    }
+    
+    @Test
+    void testCall_HalfOpenProbeClosesCircuit() {
+        failCalls(4);
+        clock.advance(Duration.ofSeconds(31));
+        
+        String result = guard.call("openai", Duration.ofSeconds(1),
+                () -> CompletableFuture.completedFuture("recovered")).join();
+        
+        assertEquals("recovered", result);
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState("openai"));
+        assertEquals(1.0, meterRegistry.get("ai.provider.circuit.transitions")
+                .tag("provider", "openai").tag("from", "HALF_OPEN").tag("to", "CLOSED").counter().count());
+    }
+    
+    @Test
+    void testCall_HalfOpenProbeFailureReopens() {
+        failCalls(4);
+        clock.advance(Duration.ofSeconds(31));
+        
+        failCalls(1);
+        
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState("openai"));
+    }
+    
+    @Test
+    void testCall_BulkheadRejectsExcessConcurrency() {
+        CompletableFuture<String> first = guard.call("xai", Duration.ofSeconds(5), CompletableFuture::new);
+        CompletableFuture<String> second = guard.call("xai", Duration.ofSeconds(5), CompletableFuture::new);
+        CompletableFuture<String> third = guard.call("xai", Duration.ofSeconds(5), CompletableFuture::new);
+        
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        CompletionException e = assertThrows(CompletionException.class, third::join);
+        assertTrue(e.getCause().getMessage().contains("bulkhead full"));
+        
+        first.complete("done");
+        assertEquals("done", guard.call("xai", Duration.ofSeconds(5),
+                () -> CompletableFuture.completedFuture("done")).join());
+    }
+    
+    @Test
+    void testCall_DeadlineFailsSlowCall() {
+        CompletableFuture<String> slow = guard.call("xai", Duration.ofMillis(50), CompletableFuture::new);
+        
+        CompletionException e = assertThrows(CompletionException.class, slow::join);
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+    
+    @Test
+    void testCall_CancelledCallsDoNotTripCircuit() {
+        for (int i = 0; i < 4; i++) {
+            guard.call("openai", Duration.ofSeconds(5), CompletableFuture::new).cancel(true);
+        }
+        
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState("openai"));
+    }
+    
+    private void failCalls(int count) {
+        for (int i = 0; i < count; i++) {
+            guard.call("openai", Duration.ofSeconds(1),
+                    () -> CompletableFuture.<String>failedFuture(new IOException("HTTP 503")));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIResponseCacheTest {
+    
+    private AIResponseCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        cache = newCache(3, Duration.ofMinutes(10));
+    }
+    
+    @Test
+    void testGet_ReturnsStoredResponse() {
+        cache.put("openai", "gpt-3.5-turbo", "Analyze poll 1", "Option A leads");
+        
+        assertEquals("Option A leads", cache.get("openai", "gpt-3.5-turbo", "Analyze poll 1"));
+    }
+    
+    @Test
+    void testGet_KeyIncludesProviderAndModel() {
+        cache.put("openai", "gpt-3.5-turbo", "Analyze poll 1", "Option A leads");
+        
+        assertNull(cache.get("xai", "gpt-3.5-turbo", "Analyze poll 1"));
+        assertNull(cache.get("openai", "gpt-4", "Analyze poll 1"));
+        assertNull(cache.get("openai", "gpt-3.5-turbo", "Analyze poll 2"));
+    }
+    
+    @Test
+    void testGet_ExpiredEntryIsDropped() {
+        cache.put("openai", "gpt-3.5-turbo", "prompt", "response");
+        
+        ReflectionTestUtils.setField(cache, "clock",
+                Clock.fixed(Instant.now().plus(Duration.ofMinutes(11)), ZoneOffset.UTC));
+        
+        assertNull(cache.get("openai", "gpt-3.5-turbo", "prompt"));
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        cache.put("openai", "m", "p1", "r1");
+        cache.put("openai", "m", "p2", "r2");
+        cache.put("openai", "m", "p3", "r3");
+        cache.get("openai", "m", "p1");
+        cache.put("openai", "m", "p4", "r4");
+        
+        assertEquals(3, cache.size());
+        assertEquals("r1", cache.get("openai", "m", "p1"));
+        assertNull(cache.get("openai", "m", "p2"));
+        assertEquals("r4", cache.get("openai", "m", "p4"));
+    }
+    
+    @Test
+    void testPersist_SurvivesRestart(@TempDir Path dir) {
+        String file = dir.resolve("cache.json").toString();
+        ReflectionTestUtils.setField(cache, "persistenceEnabled", true);
+        ReflectionTestUtils.setField(cache, "persistenceFile", file);
+        cache.put("xai", "grok-beta", "prompt", "persisted response");
+        cache.persist();
+        
+        AIResponseCache restarted = newCache(3, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(restarted, "persistenceEnabled", true);
+        ReflectionTestUtils.setField(restarted, "persistenceFile", file);
+        restarted.load();
+        
+        assertEquals("persisted response", restarted.get("xai", "grok-beta", "prompt"));
+    }
+    
+    @Test
+    void testDisabledCache_NeverStores() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.put("openai", "m", "p", "r");
+        
+        assertNull(cache.get("openai", "m", "p"));
+    }
+    
+    private AIResponseCache newCache(int maxEntries, Duration ttl) {
+        AIResponseCache responseCache = new AIResponseCache();
+        ReflectionTestUtils.setField(responseCache, "enabled", true);
+        ReflectionTestUtils.setField(responseCache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(responseCache, "ttl", ttl);
+        return responseCache;
+    }
+}
@@ -0,0 +1,37 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock that only moves when a test advances it.
+ */
+class MutableClock extends Clock {
+    
+    private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+    
+    @Override
+    public ZoneOffset getZone() {
+        return ZoneOffset.UTC;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+    
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
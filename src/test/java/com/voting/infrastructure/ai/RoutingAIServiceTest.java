@@ -0,0 +1,279 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.voting.domain.model.Vote;
+import com.voting.domain.port.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingAIServiceTest {
+    
+    @Mock
+    private AIProviderGuard providerGuard;
+    
+    private FakeProvider openAi;
+    private FakeProvider xAi;
+    private RoutingAIService router;
+    
+    @BeforeEach
+    void setUp() {
+        openAi = new FakeProvider("openai");
+        xAi = new FakeProvider("xai");
+        router = new RoutingAIService();
+        ReflectionTestUtils.setField(router, "providers", List.of(openAi, xAi));
+        ReflectionTestUtils.setField(router, "providerGuard", providerGuard);
+        AIMetrics metrics = new AIMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "metrics", metrics);
+        ReflectionTestUtils.setField(router, "windowSize", 10);
+        ReflectionTestUtils.setField(router, "minSamples", 3);
+        ReflectionTestUtils.setField(router, "maxErrorRate", 0.5);
+        ReflectionTestUtils.setField(router, "hedgeEnabled", true);
+        ReflectionTestUtils.setField(router, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(router, "defaultHedgeDelay", Duration.ofMillis(100));
+        lenient().when(providerGuard.getState(anyString())).thenReturn(CircuitBreaker.State.CLOSED);
+    }
+    
+    @Test
+    void testRoute_PrefersFasterProvider() {
+        openAi.response = () -> delayed("openai", 60);
+        xAi.response = () -> CompletableFuture.completedFuture("xai");
+        ReflectionTestUtils.setField(router, "hedgeEnabled", false);
+        for (int i = 0; i < 3; i++) {
+            router.enhanceVoteDescription("Title", "Description");
+            ReflectionTestUtils.setField(router, "providers", List.of(xAi, openAi));
+            router.enhanceVoteDescription("Title", "Description");
+            ReflectionTestUtils.setField(router, "providers", List.of(openAi, xAi));
+        }
+        
+        assertEquals("xai", router.rank().get(0).getProviderName());
+        assertEquals("xai", router.enhanceVoteDescription("Title", "Description"));
+    }
+    
+    @Test
+    void testRoute_HedgesSlowPrimaryAndCancelsLoser() {
+        CompletableFuture<String> stuck = new CompletableFuture<>();
+        openAi.response = () -> stuck;
+        xAi.response = () -> delayed("xai", 20);
+        
+        long started = System.nanoTime();
+        String result = router.enhanceVoteDescription("Title", "Description");
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        
+        assertEquals("xai", result);
+        assertTrue(elapsed < 1000);
+        assertTrue(stuck.isCancelled());
+    }
+    
+    @Test
+    void testRoute_PrimaryFailureHedgesImmediately() {
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.completedFuture("xai");
+        ReflectionTestUtils.setField(router, "defaultHedgeDelay", Duration.ofSeconds(30));
+        
+        assertEquals("xai", router.analyzeVoteResults(Vote.builder().title("Poll").build()));
+    }
+    
+    @Test
+    void testRoute_BothFailFallsBack() {
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 500"));
+        
+        assertEquals("Description", router.enhanceVoteDescription("Title", "Description"));
+        assertTrue(router.analyzeVoteResults(Vote.builder().title("Poll").build())
+                .startsWith("Error generating analysis"));
+    }
+    
+    @Test
+    void testGenerateVoteInsights_BothFailThrowsInsteadOfFallbackText() {
+        VoteRepository voteRepository = mock(VoteRepository.class);
+        when(voteRepository.findById(1L)).thenReturn(Optional.of(Vote.builder().id(1L).title("Poll").build()));
+        ReflectionTestUtils.setField(router, "voteRepository", voteRepository);
+        openAi.response = () -> CompletableFuture.failedFuture(new AIProviderUnavailableException("openai", "circuit open"));
+        xAi.response = () -> CompletableFuture.failedFuture(new AIProviderUnavailableException("xai", "circuit open"));
+        
+        assertThrows(AIProviderUnavailableException.class, () -> router.generateVoteInsights(1L));
+    }
+    
+    @Test
+    void testRequestEnhancement_BothFailWithoutFallback() {
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 500"));
+        
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> router.requestEnhancement("Title", "Description").join());
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+    
+    @Test
+    void testRoute_SkipsUnconfiguredAndOpenCircuit() {
+        openAi.configured = false;
+        xAi.response = () -> CompletableFuture.completedFuture("xai");
+        
+        assertEquals(List.of(xAi), router.rank());
+        
+        openAi.configured = true;
+        lenient().when(providerGuard.getState("openai")).thenReturn(CircuitBreaker.State.OPEN);
+        assertEquals(List.of(xAi), router.rank());
+    }
+    
+    @Test
+    void testRank_ExcludedProviderIsProbedAndComesBackOnceRecovered() {
+        MutableClock clock = new MutableClock();
+        ReflectionTestUtils.setField(router, "clock", clock);
+        ReflectionTestUtils.setField(router, "probeInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(router, "hedgeEnabled", false);
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.completedFuture("xai");
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CompletionException.class, () -> router.requestEnhancement("Title", "Description").join());
+        }
+        
+        assertEquals(List.of(xAi), router.rank());
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(List.of(xAi), router.rank());
+        
+        openAi.response = () -> CompletableFuture.completedFuture("openai");
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals("openai", router.requestEnhancement("Title", "Description").join());
+        
+        assertTrue(router.rank().contains(openAi));
+        assertTrue(router.rank().contains(openAi));
+    }
+    
+    @Test
+    void testRank_FailedProbeWaitsAnotherInterval() {
+        MutableClock clock = new MutableClock();
+        ReflectionTestUtils.setField(router, "clock", clock);
+        ReflectionTestUtils.setField(router, "probeInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(router, "hedgeEnabled", false);
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.completedFuture("xai");
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CompletionException.class, () -> router.requestEnhancement("Title", "Description").join());
+        }
+        assertEquals(List.of(xAi), router.rank());
+        
+        clock.advance(Duration.ofSeconds(30));
+        assertThrows(CompletionException.class, () -> router.requestEnhancement("Title", "Description").join());
+        
+        assertEquals(List.of(xAi), router.rank());
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(List.of(openAi, xAi), router.rank());
+    }
+    
+    @Test
+    void testRoute_CancelledHedgeLoserCountsAsLatencySample() {
+        CompletableFuture<String> stuck = new CompletableFuture<>();
+        openAi.response = () -> stuck;
+        xAi.response = () -> delayed("xai", 20);
+        
+        assertEquals("xai", router.enhanceVoteDescription("Title", "Description"));
+        
+        ProviderLatencyStats openAiStats = statsOf("openai");
+        assertEquals(0, openAiStats.samples());
+        assertEquals(0, openAiStats.errorRate());
+        assertTrue(openAiStats.percentile(0.95) >= 100);
+    }
+    
+    @Test
+    void testAnalyze_NoProviderConfigured() {
+        openAi.configured = false;
+        xAi.configured = false;
+        
+        assertEquals("AI analysis unavailable - API key not configured",
+                router.analyzeVoteResults(Vote.builder().title("Poll").build()));
+        assertEquals("Description", router.enhanceVoteDescription("Title", "Description"));
+    }
+    
+    @Test
+    void testStream_FailsOverWhenNoTokenWasRelayed() {
+        openAi.response = () -> CompletableFuture.failedFuture(new IOException("HTTP 503"));
+        xAi.response = () -> CompletableFuture.completedFuture("xai stream");
+        List<String> tokens = new ArrayList<>();
+        
+        String result = router.streamVoteResults(Vote.builder().title("Poll").build(), tokens::add).join();
+        
+        assertEquals("xai stream", result);
+        assertEquals(List.of("xai stream"), tokens);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ProviderLatencyStats statsOf(String provider) {
+        return ((Map<String, ProviderLatencyStats>) ReflectionTestUtils.getField(router, "stats")).get(provider);
+    }
+    
+    private static CompletableFuture<String> delayed(String value, long millis) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+    
+    private static class FakeProvider implements AIProvider {
+        
+        private final String name;
+        private boolean configured = true;
+        private Supplier<CompletableFuture<String>> response;
+        
+        FakeProvider(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public String getProviderName() {
+            return name;
+        }
+        
+        @Override
+        public boolean isConfigured() {
+            return configured;
+        }
+        
+        @Override
+        public CompletableFuture<String> requestEnhancement(String title, String description) {
+            return response.get();
+        }
+        
+        @Override
+        public CompletableFuture<String> requestAnalysis(Vote vote) {
+            return response.get();
+        }
+        
+        @Override
+        public CompletableFuture<String> requestCompletion(String prompt, int maxTokens, Duration timeout) {
+            return response.get();
+        }
+        
+        @Override
+        public CompletableFuture<String> streamAnalysis(Vote vote, Consumer<String> onDelta) {
+            CompletableFuture<String> future = response.get();
+            future.thenAccept(onDelta);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.voting.domain.model.Vote;
+import com.voting.domain.model.VoteOption;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class XAIServiceImplTest {
+    
+    @Mock
+    private AIOutboundScheduler outboundScheduler;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private Dispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+    private XAIServiceImpl service;
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        
+        dispatcher = new Dispatcher();
+        meterRegistry = new SimpleMeterRegistry();
+        AIMetrics metrics = new AIMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", meterRegistry);
+        AIProviderGuard providerGuard = new AIProviderGuard();
+        ReflectionTestUtils.setField(providerGuard, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(providerGuard, "windowSize", 20);
+        ReflectionTestUtils.setField(providerGuard, "minimumCalls", 10);
+        ReflectionTestUtils.setField(providerGuard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(providerGuard, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(providerGuard, "halfOpenProbes", 1);
+        ReflectionTestUtils.setField(providerGuard, "maxConcurrentCalls", 4);
+        lenient().when(outboundScheduler.submit(eq("xai"), any(), anyInt(), any())).thenAnswer(invocation -> {
+            Supplier<CompletableFuture<String>> call = invocation.getArgument(3);
+            return call.get();
+        });
+        
+        service = new XAIServiceImpl();
+        ReflectionTestUtils.setField(service, "aiHttpClient", new OkHttpClient.Builder().dispatcher(dispatcher).build());
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "responseCache", new AIResponseCache());
+        ReflectionTestUtils.setField(service, "providerGuard", providerGuard);
+        ReflectionTestUtils.setField(service, "outboundScheduler", outboundScheduler);
+        ReflectionTestUtils.setField(service, "metrics", metrics);
+        ReflectionTestUtils.setField(service, "xaiApiKey", "xai-key");
+        ReflectionTestUtils.setField(service, "xaiApiUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(service, "model", "grok-beta");
+        ReflectionTestUtils.setField(service, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "readTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(service, "enhanceTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "analyzeTimeout", Duration.ofSeconds(30));
+        service.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+    
+    @Test
+    void testRequestAnalysis_SendsChatRequestAndParsesReply() throws Exception {
+        AtomicReference<String> authorization = new AtomicReference<>();
+        AtomicReference<JsonNode> body = new AtomicReference<>();
+        server.createContext("/v1/chat/completions", exchange -> {
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            body.set(objectMapper.readTree(exchange.getRequestBody()));
+            respond(exchange, 200, "{\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Yes leads\"}}],"
+                    + "\"usage\":{\"prompt_tokens\":40,\"completion_tokens\":12,\"total_tokens\":52}}");
+        });
+        
+        String result = service.requestAnalysis(vote()).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("Yes leads", result);
+        assertEquals("Bearer xai-key", authorization.get());
+        assertEquals("grok-beta", body.get().get("model").asText());
+        assertEquals(300, body.get().get("max_tokens").asInt());
+        assertFalse(body.get().has("stream"));
+        assertTrue(body.get().get("messages").get(0).get("content").asText().contains("- Yes: 3 votes"));
+        assertEquals(12.0, meterRegistry.get("ai.provider.tokens")
+                .tag("provider", "xai").tag("type", "completion").counter().count());
+    }
+    
+    @Test
+    void testRequestAnalysis_RateLimitedPausesScheduler() {
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "7");
+            respond(exchange, 429, "{}");
+        });
+        
+        CompletionException e = assertThrows(CompletionException.class, () -> service.requestAnalysis(vote()).join());
+        
+        assertTrue(e.getCause().getMessage().contains("HTTP 429"));
+        verify(outboundScheduler).onRateLimited("xai", Duration.ofSeconds(7));
+    }
+    
+    @Test
+    void testRequestAnalysis_ReplyWithoutContentFails() {
+        server.createContext("/v1/chat/completions", exchange -> respond(exchange, 200, "{\"choices\":[]}"));
+        
+        CompletionException e = assertThrows(CompletionException.class, () -> service.requestAnalysis(vote()).join());
+        
+        assertEquals("Invalid response from xAI API", e.getCause().getMessage());
+    }
+    
+    @Test
+    void testAnalyzeVoteResultsAsync_FallsBackOnError() {
+        server.createContext("/v1/chat/completions", exchange -> respond(exchange, 500, "{}"));
+        
+        String result = service.analyzeVoteResultsAsync(vote()).join();
+        
+        assertEquals("Error generating analysis: xAI API returned HTTP 500", result);
+    }
+    
+    @Test
+    void testStreamAnalysis_ParsesServerSentEvents() throws Exception {
+        AtomicReference<JsonNode> body = new AtomicReference<>();
+        server.createContext("/v1/chat/completions", exchange -> {
+            body.set(objectMapper.readTree(exchange.getRequestBody()));
+            respond(exchange, 200, "data: {\"choices\":[{\"delta\":{\"content\":\"Yes \"}}]}\n\n"
+                    + ": keep-alive\n\n"
+                    + "data: {\"choices\":[{\"delta\":{\"content\":\"leads\"}}]}\n\n"
+                    + "data: [DONE]\n\n");
+        });
+        List<String> deltas = new ArrayList<>();
+        
+        String result = service.streamAnalysis(vote(), deltas::add).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("Yes leads", result);
+        assertEquals(List.of("Yes ", "leads"), deltas);
+        assertTrue(body.get().get("stream").asBoolean());
+    }
+    
+    @Test
+    void testAnalyzeVoteAsync_CancellingReleasesHttpCall() throws Exception {
+        CountDownLatch received = blockingEndpoint();
+        
+        CompletableFuture<String> result = service.analyzeVoteAsync("Poll");
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        result.cancel(true);
+        
+        awaitNoRunningCalls();
+    }
+    
+    @Test
+    void testAnalyzeVoteResultsAsync_CallerTimeoutReleasesHttpCall() throws Exception {
+        CountDownLatch received = blockingEndpoint();
+        
+        CompletableFuture<String> result = service.analyzeVoteResultsAsync(vote()).orTimeout(200, TimeUnit.MILLISECONDS);
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        
+        assertThrows(CompletionException.class, result::join);
+        awaitNoRunningCalls();
+    }
+    
+    private CountDownLatch blockingEndpoint() {
+        CountDownLatch received = new CountDownLatch(1);
+        server.createContext("/v1/chat/completions", exchange -> {
+            received.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        return received;
+    }
+    
+    private void awaitNoRunningCalls() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.runningCallsCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.runningCallsCount());
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static Vote vote() {
+        Vote vote = Vote.builder().id(1L).title("Adopt Java 21?").build();
+        vote.getOptions().add(VoteOption.builder().optionText("Yes").voteCount(3).build());
+        vote.getOptions().add(VoteOption.builder().optionText("No").voteCount(1).build());
+        return vote;
+    }
+}
@@ -0,0 +1,90 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.persistence;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.infrastructure.security.SecurityAuditWriter;
+import com.voting.infrastructure.security.SecurityScanMetrics;
+import com.voting.infrastructure.security.SecurityVerdictCache;
+import com.voting.infrastructure.security.ThreatRuleRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a security check on clean and hostile input. Run {@link #main} from the test
+ * classpath; the GC profiler's {@code gc.alloc.rate.norm} is the allocation per check,
+ * which should stay near zero for clean input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UPSSSecurityAdapterBenchmark {
+
+    @Param({"64", "4096", "32768"})
+    private int length;
+
+    private UPSSSecurityAdapter adapter;
+    private String clean;
+    private String hostile;
+
+    @Setup
+    public void setUp() {
+        adapter = new UPSSSecurityAdapter();
+        ReflectionTestUtils.setField(adapter, "upssEnabled", true);
+        ReflectionTestUtils.setField(adapter, "maxInputLength", 32768);
+        ReflectionTestUtils.setField(adapter, "auditLoggingEnabled", false);
+        ReflectionTestUtils.setField(adapter, "verdictCache", new SecurityVerdictCache());
+        ReflectionTestUtils.setField(adapter, "auditWriter", new SecurityAuditWriter());
+        ThreatRuleRegistry ruleRegistry = new ThreatRuleRegistry();
+        SecurityScanMetrics scanMetrics = new SecurityScanMetrics();
+        ReflectionTestUtils.setField(scanMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scanMetrics, "ruleRegistry", ruleRegistry);
+        ReflectionTestUtils.setField(adapter, "ruleRegistry", ruleRegistry);
+        ReflectionTestUtils.setField(adapter, "scanMetrics", scanMetrics);
+
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append("Which lunch option should the team pick for Friday? ");
+        }
+        clean = text.substring(0, length);
+        hostile = clean.substring(0, length - 8) + " DROP --";
+    }
+
+    @Benchmark
+    public SecurityCheckResult cleanPrompt() {
+        return adapter.validatePrompt(clean);
+    }
+
+    @Benchmark
+    public SecurityCheckResult hostilePrompt() {
+        return adapter.validatePrompt(hostile);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UPSSSecurityAdapterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,309 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.persistence;
+
+import com.voting.domain.port.SecurityScanSession;
+import com.voting.domain.valueobject.BatchSecurityCheckResult;
+import com.voting.domain.valueobject.SecurityCheckResult;
+import com.voting.infrastructure.security.SecurityAuditEvent;
+import com.voting.infrastructure.security.SecurityAuditWriter;
+import com.voting.infrastructure.security.SecurityScanMetrics;
+import com.voting.infrastructure.security.SecurityVerdictCache;
+import com.voting.infrastructure.security.ThreatCategory;
+import com.voting.infrastructure.security.ThreatRuleRegistry;
+import com.voting.infrastructure.security.ThreatRuleSet;
+import com.voting.infrastructure.security.ThreatScanner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UPSSSecurityAdapterTest {
+
+    private UPSSSecurityAdapter adapter;
+    private SecurityVerdictCache verdictCache;
+    private ThreatRuleRegistry ruleRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private SecurityScanMetrics scanMetrics;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new UPSSSecurityAdapter();
+        verdictCache = new SecurityVerdictCache();
+        ReflectionTestUtils.setField(adapter, "upssEnabled", true);
+        ReflectionTestUtils.setField(adapter, "maxInputLength", 100);
+        ReflectionTestUtils.setField(adapter, "auditLoggingEnabled", true);
+        ReflectionTestUtils.setField(adapter, "verdictCache", verdictCache);
+        ReflectionTestUtils.setField(adapter, "auditWriter", new SecurityAuditWriter());
+        ruleRegistry = new ThreatRuleRegistry();
+        ReflectionTestUtils.setField(adapter, "ruleRegistry", ruleRegistry);
+        meterRegistry = new SimpleMeterRegistry();
+        scanMetrics = new SecurityScanMetrics();
+        ReflectionTestUtils.setField(scanMetrics, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(scanMetrics, "ruleRegistry", ruleRegistry);
+        ReflectionTestUtils.setField(adapter, "scanMetrics", scanMetrics);
+    }
+
+    @Test
+    void testValidatePrompt_CleanInputReturnsSharedResult() {
+        SecurityCheckResult result = adapter.validatePrompt("Which lunch option do you prefer?");
+
+        assertSame(SecurityCheckResult.CLEAN, result);
+        assertTrue(result.isPassed());
+        assertEquals("Which lunch option do you prefer?", result.sanitizedOr("Which lunch option do you prefer?"));
+        assertEquals(0, verdictCache.size());
+    }
+
+    @Test
+    void testClean_CannotBeModified() {
+        assertThrows(UnsupportedOperationException.class, () -> SecurityCheckResult.CLEAN.setPassed(false));
+        assertThrows(UnsupportedOperationException.class, () -> SecurityCheckResult.CLEAN.addContext("userId", 1L));
+        assertThrows(UnsupportedOperationException.class, () -> SecurityCheckResult.CLEAN.getDetectedThreats().put("X", "y"));
+    }
+
+    @Test
+    void testValidatePrompt_ThreatGetsFullResult() {
+        SecurityCheckResult result = adapter.validatePrompt("'; DROP TABLE votes; --");
+
+        assertFalse(result.isPassed());
+        assertEquals("HIGH", result.getRiskLevel());
+        assertEquals(Map.of("SQL_INJECTION", "SQL injection pattern detected"), result.getDetectedThreats());
+        assertNotNull(result.getInputHash());
+        assertNotNull(result.getCheckId());
+        assertEquals("PROMPT", result.getContext().get("checkType"));
+        assertEquals(Map.of("SQL_INJECTION", 7), result.getContext().get("threatOffsets"));
+    }
+
+    @Test
+    void testValidatePrompt_RepeatedThreatReusesVerdict() {
+        SecurityCheckResult first = adapter.validatePrompt("run cmd.exe now");
+        SecurityCheckResult second = adapter.validatePrompt("run cmd.exe now");
+
+        assertEquals(1, verdictCache.size());
+        assertNotSame(first, second);
+        assertNotSame(first.getDetectedThreats(), second.getDetectedThreats());
+        assertEquals(first.getDetectedThreats(), second.getDetectedThreats());
+        assertEquals("CRITICAL", second.getRiskLevel());
+    }
+
+    @Test
+    void testValidatePrompt_CountsRuleHitsIncludingCachedVerdicts() {
+        adapter.validatePrompt("run cmd.exe now");
+        adapter.validatePrompt("run cmd.exe now");
+        adapter.validatePrompts(List.of("cmd.exe"), 7L, false);
+
+        Map<String, Map<String, Long>> hits = ruleRegistry.current().getHitCounts();
+        assertEquals(3L, hits.get("COMMAND_EXECUTION").get("cmd.exe"));
+        assertEquals(0L, hits.get("COMMAND_EXECUTION").get("powershell"));
+    }
+
+    @Test
+    void testValidatePrompt_CountsEveryMatchingRuleOfACategory() {
+        adapter.validatePrompt("union select then drop");
+        adapter.validatePrompts(List.of("drop and delete"), 7L, false);
+
+        Map<String, Long> hits = ruleRegistry.current().getHitCounts().get("SQL_INJECTION");
+        assertEquals(1L, hits.get("union"));
+        assertEquals(1L, hits.get("select"));
+        assertEquals(2L, hits.get("drop"));
+        assertEquals(1L, hits.get("delete"));
+        assertEquals(0L, hits.get("insert"));
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_CountsRulesFoundAfterTheirCategory() {
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        scan.append("select the ");
+        scan.append("winner, then drop it");
+        scan.finish();
+
+        Map<String, Long> hits = ruleRegistry.current().getHitCounts().get("SQL_INJECTION");
+        assertEquals(1L, hits.get("select"));
+        assertEquals(1L, hits.get("drop"));
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_StaysCleanWithoutAllocatingResults() {
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        assertSame(SecurityCheckResult.CLEAN, scan.append("Option A leads "));
+        assertSame(SecurityCheckResult.CLEAN, scan.append("with 62% of the vote."));
+        assertSame(SecurityCheckResult.CLEAN, scan.finish());
+        assertFalse(scan.isAborted());
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_FindsThreatAcrossChunksAndAbortsOnCritical() {
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        SecurityCheckResult high = scan.append("try ../et");
+        assertFalse(high.isPassed());
+        assertEquals("HIGH", high.getRiskLevel());
+        assertFalse(scan.isAborted());
+
+        scan.append("c then /bin/");
+        SecurityCheckResult critical = scan.append("bash -i");
+        assertTrue(scan.isAborted());
+        assertEquals(Map.of("PATH_TRAVERSAL", 7, "COMMAND_EXECUTION", 25), critical.getContext().get("threatOffsets"));
+        assertSame(critical, scan.append("ignored after abort; drop table"));
+
+        SecurityCheckResult result = scan.finish();
+        assertEquals(2, result.getThreatCount());
+        assertEquals(28, result.getContext().get("inputLength"));
+        assertEquals(1L, ruleRegistry.current().getHitCounts().get("COMMAND_EXECUTION").get("/bin/bash"));
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_UndecidedLengthFollowsLongestCriticalRule() {
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        scan.append("Option A leads ");
+        assertEquals(0, scan.getUndecidedLength());
+        scan.append("then /bi");
+        ThreatScanner scanner = ruleRegistry.current().getScanner();
+        assertEquals(Math.max(scanner.longestMatch(ThreatCategory.CODE_EXECUTION),
+                scanner.longestMatch(ThreatCategory.COMMAND_EXECUTION)), scan.getUndecidedLength());
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_UnboundedCriticalRuleHoldsUntilStartState() {
+        ReflectionTestUtils.setField(ruleRegistry, "current",
+                ThreatRuleSet.parse(List.of("COMMAND_EXECUTION=rm\\s+-rf"), "test"));
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        scan.append("then rm      ");
+        assertEquals(Integer.MAX_VALUE, scan.getUndecidedLength());
+        scan.append("-f only");
+        assertEquals(0, scan.getUndecidedLength());
+        assertFalse(scan.isAborted());
+    }
+
+    @Test
+    void testOpenVoteAnalysisScan_AbortedStreamIsAuditedOnFinish() {
+        SecurityAuditWriter auditWriter = mock(SecurityAuditWriter.class);
+        ReflectionTestUtils.setField(adapter, "auditWriter", auditWriter);
+        SecurityScanSession scan = adapter.openVoteAnalysisScan(3L);
+
+        scan.append("run /bin/bash -i");
+        assertTrue(scan.isAborted());
+        verifyNoInteractions(auditWriter);
+        scan.finish();
+
+        ArgumentCaptor<SecurityAuditEvent> events = ArgumentCaptor.forClass(SecurityAuditEvent.class);
+        verify(auditWriter, times(2)).publish(events.capture());
+        SecurityAuditEvent threat = events.getAllValues().get(0);
+        assertEquals(SecurityAuditEvent.SECURITY_EVENT, threat.kind());
+        assertEquals("CRITICAL", threat.riskLevel());
+        assertEquals(3L, threat.voteId());
+        assertEquals("VOTE_ANALYSIS_CHECK", events.getAllValues().get(1).action());
+    }
+
+    @Test
+    void testOpenAIResponseScan_HasNoLengthLimit() {
+        SecurityScanSession scan = adapter.openAIResponseScan();
+        for (int i = 0; i < 50; i++) {
+            assertSame(SecurityCheckResult.CLEAN, scan.append("a".repeat(100)));
+        }
+
+        assertSame(SecurityCheckResult.CLEAN, scan.finish());
+    }
+
+    @Test
+    void testValidatePrompt_RecordsScanMetricsPerCheckType() {
+        adapter.validatePrompt("Which lunch option do you prefer?");
+        adapter.validatePrompt("run cmd.exe now");
+        adapter.validateAIResponse("Fine.");
+
+        assertEquals(1, meterRegistry.get("security.scan.duration")
+                .tags("checkType", "PROMPT", "result", "passed").timer().count());
+        assertEquals(1, meterRegistry.get("security.scan.duration")
+                .tags("checkType", "PROMPT", "result", "failed").timer().count());
+        assertEquals(1, meterRegistry.get("security.scan.duration")
+                .tags("checkType", "AI_OUTPUT", "result", "passed").timer().count());
+        assertEquals(1.0, meterRegistry.get("security.rule.matches")
+                .tags("category", "COMMAND_EXECUTION", "rule", "0").counter().count());
+    }
+
+    @Test
+    void testValidatePrompt_CountsSlowScans() {
+        ReflectionTestUtils.setField(scanMetrics, "slowScanThreshold", Duration.ZERO);
+
+        adapter.validatePrompt("Which lunch option do you prefer?");
+
+        assertEquals(1.0, meterRegistry.get("security.scan.slow").tags("checkType", "PROMPT").counter().count());
+    }
+
+    @Test
+    void testValidatePrompt_TooLongInputFails() {
+        SecurityCheckResult result = adapter.validatePrompt("a".repeat(101));
+
+        assertFalse(result.isPassed());
+        assertEquals("HIGH", result.getRiskLevel());
+        assertTrue(result.getLastError().startsWith("Input exceeds maximum length"));
+    }
+
+    @Test
+    void testValidatePrompts_ReturnsVerdictPerField() {
+        BatchSecurityCheckResult result = adapter.validatePrompts(List.of("Title", "", "Option A", "../etc/passwd"), 7L, false);
+
+        assertFalse(result.isPassed());
+        assertEquals(4, result.getVerdicts().size());
+        assertSame(BatchSecurityCheckResult.FieldVerdict.PASSED, result.getVerdicts().get(0));
+        assertSame(BatchSecurityCheckResult.FieldVerdict.PASSED, result.getVerdicts().get(1));
+        assertEquals(3, result.firstFailedIndex());
+        assertEquals(Map.of("PATH_TRAVERSAL", "Path traversal pattern detected"),
+                result.getVerdicts().get(3).getDetectedThreats());
+    }
+
+    @Test
+    void testValidatePrompts_StopsAtFirstCriticalWhenAsked() {
+        List<String> fields = List.of("Title", "select one", "bash -c id", "Option", "Option");
+
+        BatchSecurityCheckResult failFast = adapter.validatePrompts(fields, 7L, true);
+        BatchSecurityCheckResult complete = adapter.validatePrompts(fields, 7L, false);
+
+        assertTrue(failFast.isStoppedEarly());
+        assertEquals(3, failFast.getVerdicts().size());
+        assertEquals(1, failFast.firstFailedIndex());
+        assertFalse(complete.isStoppedEarly());
+        assertEquals(5, complete.getVerdicts().size());
+    }
+
+    @Test
+    void testValidatePrompts_AuditsEveryFailedFieldWithUser() {
+        SecurityAuditWriter auditWriter = mock(SecurityAuditWriter.class);
+        ReflectionTestUtils.setField(adapter, "auditWriter", auditWriter);
+
+        BatchSecurityCheckResult result = adapter.validatePrompts(
+                List.of("Title", "select one", "Option", "../etc/passwd"), 7L, false);
+
+        ArgumentCaptor<SecurityAuditEvent> events = ArgumentCaptor.forClass(SecurityAuditEvent.class);
+        verify(auditWriter, times(2)).publish(events.capture());
+        assertEquals(List.of("SQL_INJECTION"), events.getAllValues().get(0).threats());
+        assertEquals(List.of("PATH_TRAVERSAL"), events.getAllValues().get(1).threats());
+        for (SecurityAuditEvent event : events.getAllValues()) {
+            assertEquals(SecurityAuditEvent.SECURITY_EVENT, event.kind());
+            assertEquals(7L, event.userId());
+            assertEquals(result.getCheckId(), event.checkId());
+        }
+    }
+
+    @Test
+    void testValidatePrompts_CountsSlowFields() {
+        ReflectionTestUtils.setField(scanMetrics, "slowScanThreshold", Duration.ZERO);
+
+        adapter.validatePrompts(List.of("Title", "Option A"), 7L, false);
+
+        assertEquals(2.0, meterRegistry.get("security.scan.slow").tags("checkType", "PROMPT_BATCH").counter().count());
+    }
+}
@@ -0,0 +1,147 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityAuditStoreTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private SecurityAuditStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+        at(START);
+    }
+
+    @Test
+    void testQuery_FiltersByUserVoteAndRiskLevel() throws Exception {
+        store.append(List.of(
+                event(START, "HIGH", 1L, 10L),
+                event(START, "LOW", 1L, 11L),
+                event(START, "HIGH", 2L, 10L),
+                event(START, "CRITICAL", 1L, null)));
+
+        assertEquals(3, store.query(null, null, 1L, null, null, 100).size());
+        assertEquals(2, store.query(null, null, null, 10L, null, 100).size());
+        assertEquals(2, store.query(null, null, null, null, "high", 100).size());
+        List<SecurityAuditEvent> both = store.query(null, null, 1L, 10L, "HIGH", 100);
+        assertEquals(1, both.size());
+        assertEquals(1L, both.get(0).userId());
+        assertEquals(10L, both.get(0).voteId());
+        assertTrue(store.query(null, null, 3L, null, null, 100).isEmpty());
+    }
+
+    @Test
+    void testQuery_ReturnsNewestFirstAcrossPartitionsAndHonoursTimeRange() throws Exception {
+        store.append(List.of(event(START, "HIGH", 1L, null)));
+        at(START.plus(Duration.ofHours(1)));
+        store.append(List.of(event(START.plus(Duration.ofHours(1)), "HIGH", 1L, null)));
+        at(START.plus(Duration.ofHours(2)));
+        store.append(List.of(event(START.plus(Duration.ofHours(2)), "HIGH", 1L, null)));
+
+        assertEquals(3, store.segmentCount());
+        List<SecurityAuditEvent> all = store.query(null, null, 1L, null, null, 100);
+        assertEquals(START.plus(Duration.ofHours(2)).toEpochMilli(), all.get(0).timestamp());
+        assertEquals(START.toEpochMilli(), all.get(2).timestamp());
+
+        List<SecurityAuditEvent> window = store.query(START.plus(Duration.ofMinutes(30)),
+                START.plus(Duration.ofMinutes(90)), 1L, null, null, 100);
+        assertEquals(1, window.size());
+        assertEquals(START.plus(Duration.ofHours(1)).toEpochMilli(), window.get(0).timestamp());
+        assertEquals(2, store.query(null, null, null, null, null, 2).size());
+    }
+
+    @Test
+    void testAppend_StartsNewSegmentWhenMaxBytesReached() throws Exception {
+        ReflectionTestUtils.setField(store, "rotateMaxBytes", 10L);
+
+        store.append(List.of(event(START, "LOW", 1L, null)));
+        store.append(List.of(event(START, "LOW", 1L, null)));
+
+        assertEquals(2, store.segmentCount());
+        assertTrue(Files.exists(dir.resolve("audit-20260101T0000Z.jsonl")));
+        assertTrue(Files.exists(dir.resolve("audit-20260101T0000Z-1.jsonl")));
+        assertEquals(2, store.query(null, null, 1L, null, null, 100).size());
+    }
+
+    @Test
+    void testLoad_RebuildsIndexesAndSkipsTruncatedLine() throws Exception {
+        store.append(List.of(event(START, "HIGH", 1L, 10L), event(START, "LOW", 2L, 10L)));
+        store.close();
+        Files.writeString(dir.resolve("audit-20260101T0000Z.jsonl"), "{\"timestamp\":1,\"ki",
+                StandardOpenOption.APPEND);
+
+        SecurityAuditStore reloaded = newStore();
+        reloaded.load();
+        ReflectionTestUtils.setField(reloaded, "clock", Clock.fixed(START, ZoneOffset.UTC));
+        reloaded.append(List.of(event(START, "HIGH", 1L, 11L)));
+
+        assertEquals(2, reloaded.segmentCount());
+        assertEquals(2, reloaded.query(null, null, 1L, null, "HIGH", 100).size());
+        assertEquals(2, reloaded.query(null, null, null, 10L, null, 100).size());
+    }
+
+    @Test
+    void testAppend_DropsSegmentsOlderThanRetention() throws Exception {
+        ReflectionTestUtils.setField(store, "retention", Duration.ofHours(2));
+        store.append(List.of(event(START, "HIGH", 1L, null)));
+        at(START.plus(Duration.ofHours(1)));
+        store.append(List.of(event(START.plus(Duration.ofHours(1)), "HIGH", 1L, null)));
+        at(START.plus(Duration.ofHours(3)));
+        store.append(List.of(event(START.plus(Duration.ofHours(3)), "HIGH", 1L, null)));
+
+        assertEquals(2, store.segmentCount());
+        assertFalse(Files.exists(dir.resolve("audit-20260101T0000Z.jsonl")));
+        assertTrue(Files.exists(dir.resolve("audit-20260101T0100Z.jsonl")));
+        List<SecurityAuditEvent> kept = store.query(null, null, 1L, null, null, 100);
+        assertEquals(2, kept.size());
+        assertEquals(START.plus(Duration.ofHours(1)).toEpochMilli(), kept.get(1).timestamp());
+    }
+
+    @Test
+    void testAppend_ZeroRetentionKeepsEverySegment() throws Exception {
+        ReflectionTestUtils.setField(store, "retention", Duration.ZERO);
+        store.append(List.of(event(START, "HIGH", 1L, null)));
+        at(START.plus(Duration.ofDays(365)));
+        store.append(List.of(event(START.plus(Duration.ofDays(365)), "HIGH", 1L, null)));
+
+        assertEquals(2, store.segmentCount());
+        assertEquals(2, store.query(null, null, 1L, null, null, 100).size());
+    }
+
+    private SecurityAuditStore newStore() {
+        SecurityAuditStore created = new SecurityAuditStore();
+        ReflectionTestUtils.setField(created, "dir", dir.toString());
+        return created;
+    }
+
+    private void at(Instant now) {
+        ReflectionTestUtils.setField(store, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static SecurityAuditEvent event(Instant at, String riskLevel, Long userId, Long voteId) {
+        return new SecurityAuditEvent(at.toEpochMilli(), SecurityAuditEvent.SECURITY_EVENT, "PROMPT",
+                "LOW".equals(riskLevel), riskLevel, 0, List.of(), userId, voteId, "SC_1", "abc", null);
+    }
+}
@@ -0,0 +1,72 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityAuditWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private SecurityAuditWriter writer;
+    private SecurityAuditStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new SecurityAuditStore();
+        ReflectionTestUtils.setField(store, "dir", dir.toString());
+        writer = new SecurityAuditWriter();
+        ReflectionTestUtils.setField(writer, "store", store);
+    }
+
+    @Test
+    void testPublish_DroppedWhenNotStarted() {
+        assertFalse(writer.publish(SecurityAuditEvent.audit("VOTE_ANALYSIS_CHECK", true, "LOW", null, 1L)));
+    }
+
+    @Test
+    void testPublish_BackgroundThreadAppendsToStore() {
+        SecurityCheckResult result = SecurityCheckResult.failed("Security threats detected: 1 threat(s)", "HIGH");
+        result.addThreat("SQL_INJECTION", "SQL injection pattern detected");
+
+        writer.start();
+        try {
+            assertTrue(writer.publish(SecurityAuditEvent.of(result, "PROMPT", 7L, null)));
+            assertTrue(writer.publish(SecurityAuditEvent.audit("VOTE_DESCRIPTION_CHECK", false, "HIGH", 7L, null)));
+        } finally {
+            writer.stop();
+        }
+
+        List<SecurityAuditEvent> events = store.query(null, null, 7L, null, null, 10);
+        assertEquals(2, events.size());
+        assertEquals("AUDIT", events.get(0).kind());
+        assertEquals("SECURITY_EVENT", events.get(1).kind());
+        assertEquals("PROMPT", events.get(1).action());
+        assertEquals(List.of("SQL_INJECTION"), events.get(1).threats());
+        assertEquals(2, writer.writtenCount());
+        assertEquals(0, writer.droppedCount());
+    }
+
+    @Test
+    void testPublish_DropsWhenBufferFull() {
+        ReflectionTestUtils.setField(writer, "buffer", new AuditRingBuffer<SecurityAuditEvent>(2));
+        SecurityAuditEvent event = SecurityAuditEvent.audit("VOTE_ANALYSIS_CHECK", true, "LOW", null, 1L);
+
+        assertTrue(writer.publish(event));
+        assertTrue(writer.publish(event));
+        assertFalse(writer.publish(event));
+        assertEquals(1, writer.droppedCount());
+        assertEquals(2, writer.queueDepth());
+    }
+}
@@ -0,0 +1,62 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityRolesTest {
+    
+    private JwtUtil jwtUtil;
+    private SecurityRoles securityRoles;
+    
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        securityRoles = new SecurityRoles();
+        ReflectionTestUtils.setField(securityRoles, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(securityRoles, "admins", List.of("admin@example.com"));
+        ReflectionTestUtils.setField(securityRoles, "investigators", List.of(" Analyst@Example.com"));
+    }
+    
+    @Test
+    void testRequire_GrantsConfiguredRoles() {
+        assertEquals("admin@example.com",
+                securityRoles.require(request("admin@example.com"), SecurityRoles.Role.ADMIN));
+        assertEquals("analyst@example.com", securityRoles.require(request("analyst@example.com"),
+                SecurityRoles.Role.ADMIN, SecurityRoles.Role.INVESTIGATOR));
+    }
+    
+    @Test
+    void testRequire_DeniesCallerWithoutRole() {
+        assertThrows(AccessDeniedException.class,
+                () -> securityRoles.require(request("analyst@example.com"), SecurityRoles.Role.ADMIN));
+        assertThrows(AccessDeniedException.class,
+                () -> securityRoles.require(request("voter@example.com"), SecurityRoles.Role.INVESTIGATOR));
+    }
+    
+    @Test
+    void testRequire_RejectsMissingOrInvalidToken() {
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        String token = jwtUtil.generateToken("admin@example.com", 1L);
+        forged.addHeader("Authorization", "Bearer " + token.substring(0, token.length() - 2) + "xx");
+        
+        assertThrows(SecurityException.class, () -> securityRoles.require(anonymous, SecurityRoles.Role.ADMIN));
+        assertThrows(SecurityException.class, () -> securityRoles.require(forged, SecurityRoles.Role.ADMIN));
+    }
+    
+    private MockHttpServletRequest request(String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(email, 1L));
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityScanMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ThreatRuleRegistry ruleRegistry;
+    private SecurityScanMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ruleRegistry = new ThreatRuleRegistry();
+        metrics = new SecurityScanMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+        ReflectionTestUtils.setField(metrics, "ruleRegistry", ruleRegistry);
+    }
+
+    @Test
+    void testRecordScan_TimesByCheckTypeAndResult() {
+        metrics.recordScan("PROMPT", true, 40, 2_000);
+        metrics.recordScan("PROMPT", true, 60, 4_000);
+        metrics.recordScan("PROMPT", false, 10, 8_000);
+
+        Timer passed = registry.get("security.scan.duration").tags("checkType", "PROMPT", "result", "passed").timer();
+        assertEquals(2, passed.count());
+        assertEquals(6_000, passed.totalTime(TimeUnit.NANOSECONDS), 0.1);
+        assertEquals(1, registry.get("security.scan.duration").tags("result", "failed").timer().count());
+        assertEquals(110, registry.get("security.scan.length").tags("checkType", "PROMPT").summary().totalAmount(), 0.1);
+    }
+
+    @Test
+    void testIsSlow_ComparesWithThreshold() {
+        ReflectionTestUtils.setField(metrics, "slowScanThreshold", Duration.ofMillis(1));
+
+        assertFalse(metrics.isSlow(999_999));
+        assertTrue(metrics.isSlow(1_000_001));
+    }
+
+    @Test
+    void testRecordSlowScan_CountsByCheckType() {
+        metrics.recordSlowScan("AI_OUTPUT", 30_000, 12_000_000, "abc123");
+
+        assertEquals(1.0, registry.get("security.scan.slow").tags("checkType", "AI_OUTPUT").counter().count());
+    }
+
+    @Test
+    void testRecordRuleMatch_TagsByCategoryAndRuleIndex() {
+        ThreatRuleSet rules = ruleRegistry.current();
+
+        metrics.recordRuleMatch(rules, ThreatCategory.COMMAND_EXECUTION, "/bin/bash");
+        metrics.recordRuleMatch(rules, ThreatCategory.COMMAND_EXECUTION, "/bin/bash");
+        metrics.recordRuleMatch(rules, ThreatCategory.COMMAND_EXECUTION, "not a rule");
+
+        assertEquals(2.0, registry.get("security.rule.matches")
+                .tags("category", "COMMAND_EXECUTION", "rule", "1").counter().count());
+        assertEquals(1, registry.find("security.rule.matches").counters().size());
+    }
+
+    @Test
+    void testOnRulesReloaded_RemovesPreviousRuleSetMeters() {
+        ThreatRuleSet previous = ruleRegistry.current();
+        metrics.recordRuleMatch(previous, ThreatCategory.COMMAND_EXECUTION, "/bin/bash");
+        ThreatRuleSet loaded = ThreatRuleSet.parse(List.of("COMMAND_EXECUTION=nc -e"), "rules.txt");
+        ReflectionTestUtils.setField(ruleRegistry, "current", loaded);
+
+        metrics.onRulesReloaded(new ThreatRulesReloadedEvent(previous, loaded));
+        // A check still running against the previous set does not bring its meters back
+        metrics.recordRuleMatch(previous, ThreatCategory.COMMAND_EXECUTION, "/bin/bash");
+
+        assertTrue(registry.find("security.rule.matches").counters().isEmpty());
+        metrics.recordRuleMatch(loaded, ThreatCategory.COMMAND_EXECUTION, "nc -e");
+        assertEquals(1.0, registry.get("security.rule.matches")
+                .tags("category", "COMMAND_EXECUTION", "rule", "0").counter().count());
+    }
+
+    @Test
+    void testRegisterRuleGauges_ReportActiveAutomaton() {
+        metrics.registerRuleGauges();
+
+        ThreatRuleSet rules = ruleRegistry.current();
+        assertEquals(rules.getStateCount(), registry.get("security.rules.states").gauge().value(), 0.1);
+        assertEquals(rules.getRuleCount(), registry.get("security.rules.count").gauge().value(), 0.1);
+        assertTrue(registry.get("security.rules.compile-time").gauge().value() >= 0);
+    }
+}
@@ -0,0 +1,71 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityVerdictCacheTest {
+
+    private SecurityVerdictCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SecurityVerdictCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void testGet_ReturnsVerdictForSameTypeDigestAndRules() {
+        SecurityCheckResult verdict = SecurityCheckResult.failed("Security threats detected: 1 threat(s)", "HIGH");
+        cache.put("PROMPT", "abc", "v1", verdict);
+
+        assertSame(verdict, cache.get("PROMPT", "abc", "v1"));
+        assertNull(cache.get("AI_OUTPUT", "abc", "v1"));
+        assertNull(cache.get("PROMPT", "abd", "v1"));
+    }
+
+    @Test
+    void testGet_IgnoresVerdictsOfOtherRuleSet() {
+        cache.put("PROMPT", "abc", "v1", SecurityCheckResult.passed("hello"));
+
+        assertNull(cache.get("PROMPT", "abc", "v2"));
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        cache.put("PROMPT", "a", "v1", SecurityCheckResult.passed("a"));
+        cache.put("PROMPT", "b", "v1", SecurityCheckResult.passed("b"));
+        cache.get("PROMPT", "a", "v1");
+        cache.put("PROMPT", "c", "v1", SecurityCheckResult.passed("c"));
+
+        assertNotNull(cache.get("PROMPT", "a", "v1"));
+        assertNull(cache.get("PROMPT", "b", "v1"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testGet_DisabledCacheNeverHits() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.put("PROMPT", "a", "v1", SecurityCheckResult.passed("a"));
+
+        assertNull(cache.get("PROMPT", "a", "v1"));
+    }
+
+    @Test
+    void testRuleSetVersion_ChangesWithRules() {
+        ThreatScanner defaults = ThreatScanner.defaults();
+        ThreatScanner narrower = ThreatScanner.compile(Map.of(ThreatCategory.SQL_INJECTION, List.of("drop")));
+
+        assertEquals(defaults.getVersion(), ThreatScanner.defaults().getVersion());
+        assertNotEquals(defaults.getVersion(), narrower.getVersion());
+    }
+}
@@ -0,0 +1,123 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import com.voting.domain.valueobject.SecurityCheckResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatRuleRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private ThreatRuleRegistry registry;
+    private SecurityVerdictCache verdictCache;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("rules.txt");
+        verdictCache = new SecurityVerdictCache();
+        registry = new ThreatRuleRegistry();
+        ReflectionTestUtils.setField(registry, "file", file.toString());
+        ReflectionTestUtils.setField(registry, "verdictCache", verdictCache);
+        ReflectionTestUtils.setField(registry, "eventPublisher", (ApplicationEventPublisher) events::add);
+    }
+
+    @Test
+    void testParse_ReadsCategoryRulesAndSkipsComments() {
+        ThreatRuleSet rules = ThreatRuleSet.parse(List.of(
+                "# comment",
+                "",
+                "SQL_INJECTION = drop table",
+                "COMMAND_EXECUTION=bash\\s+-c",
+                "SQL_INJECTION=drop table"), "rules.txt");
+
+        assertEquals(2, rules.getRuleCount());
+        assertTrue(rules.getScanner().scan("please DROP  TABLE x").isEmpty());
+        assertTrue(rules.getScanner().scan("please drop table x").containsKey(ThreatCategory.SQL_INJECTION));
+        assertTrue(rules.getScanner().scan("bash \t-c id").containsKey(ThreatCategory.COMMAND_EXECUTION));
+        assertEquals(Map.of("SQL_INJECTION", Map.of("drop table", 0L), "COMMAND_EXECUTION", Map.of("bash\\s+-c", 0L)),
+                rules.getHitCounts());
+    }
+
+    @Test
+    void testParse_RejectsBadLinesWithLineNumber() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> ThreatRuleSet.parse(List.of("SQL_INJECTION=drop", "XSS=<script"), "rules.txt"));
+        assertEquals("rules.txt:2: unknown threat category XSS", unknown.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ThreatRuleSet.parse(List.of("drop"), "rules.txt"));
+        assertThrows(IllegalArgumentException.class, () -> ThreatRuleSet.parse(List.of("SQL_INJECTION=\\d"), "rules.txt"));
+        assertThrows(IllegalArgumentException.class, () -> ThreatRuleSet.parse(List.of("# nothing"), "rules.txt"));
+    }
+
+    @Test
+    void testRecordHit_CountsKnownRulesOnly() {
+        ThreatRuleSet rules = ThreatRuleSet.defaults();
+
+        rules.recordHit(ThreatCategory.PATH_TRAVERSAL, "../");
+        rules.recordHit(ThreatCategory.PATH_TRAVERSAL, "../");
+        rules.recordHit(ThreatCategory.PATH_TRAVERSAL, "not a rule");
+
+        assertEquals(2L, rules.getHitCounts().get("PATH_TRAVERSAL").get("../"));
+        assertEquals(ThreatScanner.defaults().getVersion(), rules.getVersion());
+    }
+
+    @Test
+    void testReloadIfChanged_SwapsRulesAndClearsVerdicts() throws Exception {
+        String defaultVersion = registry.current().getVersion();
+        verdictCache.put("PROMPT", "abc", defaultVersion, SecurityCheckResult.passed("x"));
+        Files.writeString(file, "COMMAND_EXECUTION=nc -e\n");
+
+        assertTrue(registry.reloadIfChanged());
+
+        ThreatRuleSet active = registry.current();
+        assertNotEquals(defaultVersion, active.getVersion());
+        assertEquals(file.toString(), active.getSource());
+        assertEquals(0, verdictCache.size());
+        assertEquals(1 << ThreatCategory.COMMAND_EXECUTION.ordinal(), active.getScanner().scanCategories("nc -e /bin/sh"));
+        assertEquals(0, active.getScanner().scanCategories("select * from votes"));
+        assertFalse(registry.reloadIfChanged());
+        assertEquals(1, events.size());
+        ThreatRulesReloadedEvent reloaded = (ThreatRulesReloadedEvent) events.get(0);
+        assertEquals(defaultVersion, reloaded.previous().getVersion());
+        assertSame(active, reloaded.current());
+    }
+
+    @Test
+    void testReloadIfChanged_KeepsPreviousRulesWhenFileIsInvalid() throws Exception {
+        Files.writeString(file, "COMMAND_EXECUTION=nc -e\n");
+        registry.reloadIfChanged();
+        ThreatRuleSet good = registry.current();
+
+        Files.writeString(file, "COMMAND_EXECUTION=nc -e\nUNKNOWN=x\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        assertFalse(registry.reloadIfChanged());
+        assertSame(good, registry.current());
+    }
+
+    @Test
+    void testReloadIfChanged_IgnoresMissingFile() {
+        ThreatRuleSet defaults = registry.current();
+
+        assertFalse(registry.reloadIfChanged());
+        assertSame(defaults, registry.current());
+    }
+}
@@ -0,0 +1,217 @@
+/* --------------------------------------------
+ * (c) All rights reserved.
+ */
+package com.voting.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatScannerTest {
+
+    // The per-category regexes the scanner replaced; the scanner must agree with them
+    private static final Map<ThreatCategory, Pattern> REGEX_DETECTOR = new EnumMap<>(Map.of(
+            ThreatCategory.SQL_INJECTION, Pattern.compile(
+                    "(?i)(SELECT|INSERT|UPDATE|DELETE|DROP|UNION|ALTER|EXEC|EXECUTE|SCRIPT|OR\\s+1\\s*=\\s*1)",
+                    Pattern.CASE_INSENSITIVE | Pattern.MULTILINE),
+            ThreatCategory.CODE_EXECUTION, Pattern.compile(
+                    "(?i)(eval|__import__|exec|system|os\\.system|subprocess|Popen|Runtime\\.getRuntime|ProcessBuilder)",
+                    Pattern.CASE_INSENSITIVE | Pattern.MULTILINE),
+            ThreatCategory.SCRIPT_INJECTION, Pattern.compile(
+                    "(?i)(<script|javascript:|onerror=|onload=|eval\\(|expression\\()",
+                    Pattern.CASE_INSENSITIVE | Pattern.MULTILINE),
+            ThreatCategory.COMMAND_EXECUTION, Pattern.compile(
+                    "(?i)(cmd\\.exe|/bin/bash|/bin/sh|powershell|bash -c)",
+                    Pattern.CASE_INSENSITIVE | Pattern.MULTILINE),
+            ThreatCategory.PATH_TRAVERSAL, Pattern.compile(
+                    "(\\.\\\\/|\\.\\./|\\\\x2e\\\\x2e|%2e%2e)",
+                    Pattern.CASE_INSENSITIVE)));
+
+    private static final List<String> CORPUS = List.of(
+            "",
+            "Which programming language do you prefer for backend services?",
+            "Favourite season: spring, summer, autumn or winter",
+            "'; DROP TABLE votes; --",
+            "admin' OR 1=1 --",
+            "admin' or\t\n1   =1",
+            "admin' or1=1",
+            "admin' or 1 = 2",
+            "Please eval this expression",
+            "__import__('os').system('ls')",
+            "Runtime.getRuntime().exec(\"id\")",
+            "<ScRiPt>alert(1)</script>",
+            "<img src=x onerror=alert(1)>",
+            "javascript:void(0)",
+            "run CMD.EXE /c dir",
+            "bash -c 'id'",
+            "bash  -c 'id'",
+            "bash\t-c 'id'",
+            "/bin/sh -i",
+            "PowerShell -enc AAAA",
+            "../../etc/passwd",
+            "..\\/..\\/windows",
+            "%2E%2E%2Fetc",
+            "\\x2E\\x2e/etc",
+            "évaluation of the results",
+            "SİLECT is not select",
+            "\u017Fystem and \u212Aelvin fold to ASCII only under Unicode case rules",
+            "The union of the options was updated after review",
+            "ordinary text with no threats at all, just a poll about lunch options");
+
+    private static final String[] FRAGMENTS = {
+            "sel", "ect", "SELECT", "or", " ", "\t", "\n", "1", "=", "OR 1=1", "eva", "l", "(", "exec", "ute",
+            "<scr", "ipt", "onload", "onerror", "=", "cmd", ".exe", "/bin/", "bash", "sh", " -c", "..", "/",
+            "\\", "x2e", "%2e", "%2E", "os.", "system", "Popen", "é", "a", "b", "poll", "vote", "_", "__import__"
+    };
+
+    private final ThreatScanner scanner = ThreatScanner.defaults();
+
+    @Test
+    void testScan_MatchesRegexDetectorOnCorpus() {
+        for (String input : CORPUS) {
+            assertEquals(regexCategories(input), scanner.scan(input).keySet(), input);
+        }
+    }
+
+    @Test
+    void testScan_MatchesRegexDetectorOnGeneratedInputs() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int parts = 1 + random.nextInt(12);
+            for (int p = 0; p < parts; p++) {
+                String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                input.append(random.nextBoolean() ? fragment : fragment.toUpperCase());
+            }
+            assertEquals(regexCategories(input.toString()), scanner.scan(input).keySet(), input.toString());
+        }
+    }
+
+    @Test
+    void testScanCategories_AgreesWithScan() {
+        for (String input : CORPUS) {
+            int expected = 0;
+            for (ThreatCategory category : scanner.scan(input).keySet()) {
+                expected |= 1 << category.ordinal();
+            }
+            assertEquals(expected, scanner.scanCategories(input), input);
+        }
+    }
+
+    @Test
+    void testSession_AgreesWithScanForAnyChunking() {
+        Random random = new Random(7);
+        for (String input : CORPUS) {
+            for (int round = 0; round < 20; round++) {
+                ThreatScanner.Session session = scanner.newSession();
+                int start = 0;
+                while (start < input.length()) {
+                    int end = Math.min(input.length(), start + 1 + random.nextInt(6));
+                    session.feed(input.subSequence(start, end));
+                    start = end;
+                }
+
+                Map<ThreatCategory, ThreatMatch> expected = scanner.scan(input);
+                Map<ThreatCategory, ThreatMatch> actual = session.getMatches();
+                assertEquals(expected.keySet(), actual.keySet(), input);
+                expected.forEach((category, match) -> {
+                    assertEquals(match.getRule(), actual.get(category).getRule(), input);
+                    assertEquals(match.getRules(), actual.get(category).getRules(), input);
+                    assertEquals(match.getEnd(), actual.get(category).getEnd(), input);
+                });
+                assertEquals(scanner.scanCategories(input), session.getCategories(), input);
+                assertEquals(input.length(), session.getPosition());
+            }
+        }
+    }
+
+    @Test
+    void testSession_FindsRuleSplitAcrossChunks() {
+        ThreatScanner.Session session = scanner.newSession();
+
+        assertEquals(0, session.feed("please run /bi"));
+        assertEquals(0, session.feed("n/ba"));
+        int found = session.feed("sh now");
+
+        assertEquals(1 << ThreatCategory.COMMAND_EXECUTION.ordinal(), found);
+        assertEquals(20, session.getMatches().get(ThreatCategory.COMMAND_EXECUTION).getEnd());
+    }
+
+    @Test
+    void testSession_IsAtStartOnlyWithoutMatchInProgress() {
+        ThreatScanner.Session session = scanner.newSession();
+
+        assertTrue(session.isAtStart());
+        session.feed("please run /bi");
+        assertFalse(session.isAtStart());
+        session.feed("ke ");
+        assertTrue(session.isAtStart());
+    }
+
+    @Test
+    void testLongestMatch_UnboundedWithWhitespaceRun() {
+        ThreatScanner custom = ThreatScanner.compile(Map.of(
+                ThreatCategory.COMMAND_EXECUTION, List.of("/bin/bash", "rm -rf"),
+                ThreatCategory.SQL_INJECTION, List.of("or\\s+1=1")));
+
+        assertEquals(9, custom.longestMatch(ThreatCategory.COMMAND_EXECUTION));
+        assertEquals(Integer.MAX_VALUE, custom.longestMatch(ThreatCategory.SQL_INJECTION));
+        assertEquals(0, custom.longestMatch(ThreatCategory.PATH_TRAVERSAL));
+    }
+
+    @Test
+    void testScan_ReportsRuleAndEndOfFirstMatch() {
+        Map<ThreatCategory, ThreatMatch> matches = scanner.scan("hello; DROP table; then ../etc");
+
+        ThreatMatch sql = matches.get(ThreatCategory.SQL_INJECTION);
+        assertEquals("drop", sql.getRule());
+        assertEquals(11, sql.getEnd());
+        assertEquals(27, matches.get(ThreatCategory.PATH_TRAVERSAL).getEnd());
+        assertEquals(Set.of(ThreatCategory.SQL_INJECTION, ThreatCategory.PATH_TRAVERSAL), matches.keySet());
+    }
+
+    @Test
+    void testScan_CollectsEveryMatchingRuleOfACategory() {
+        ThreatMatch sql = scanner.scan("drop the union, then DROP it and select").get(ThreatCategory.SQL_INJECTION);
+
+        assertEquals("drop", sql.getRule());
+        assertEquals(4, sql.getEnd());
+        assertEquals(List.of("drop", "union", "select"), sql.getRules());
+    }
+
+    @Test
+    void testScan_ReportsCategoriesInDeclarationOrder() {
+        Map<ThreatCategory, ThreatMatch> matches = scanner.scan("../ then bash -c then select");
+
+        assertEquals(List.of(ThreatCategory.SQL_INJECTION, ThreatCategory.COMMAND_EXECUTION, ThreatCategory.PATH_TRAVERSAL),
+                List.copyOf(matches.keySet()));
+    }
+
+    @Test
+    void testCompile_RejectsUnsupportedRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ThreatScanner.compile(Map.of(ThreatCategory.SQL_INJECTION, List.of("sel\\d"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> ThreatScanner.compile(Map.of(ThreatCategory.SQL_INJECTION, List.of("\\s*"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> ThreatScanner.compile(Map.of(ThreatCategory.SQL_INJECTION, List.of("sélect"))));
+    }
+
+    private static Set<ThreatCategory> regexCategories(String input) {
+        Set<ThreatCategory> categories = EnumSet.noneOf(ThreatCategory.class);
+        REGEX_DETECTOR.forEach((category, pattern) -> {
+            if (pattern.matcher(input).find()) {
+                categories.add(category);
+            }
+        });
+        return categories;
+    }
+}